@@ -2,8 +2,8 @@
 powershell -NoExit -Command ^
 "cd 'F:\space v2\space_game'; ^
 Remove-Item -Path 'bin\*.class' -Force -ErrorAction SilentlyContinue; ^
-javac -encoding UTF-8 -d bin -sourcepath src src\*.java; ^
+javac -encoding UTF-8 --add-modules jdk.incubator.vector -d bin -sourcepath src src\*.java; ^
 if ($LASTEXITCODE -eq 0) { ^
     cd bin; ^
-    java GameWindow ^
+    java --add-modules jdk.incubator.vector GameWindow ^
 }"
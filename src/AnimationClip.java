@@ -0,0 +1,153 @@
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+// Animation clip class
+// One line of Assets/animations.txt, its timeline flattened to one entry per tick.
+class AnimationClip {
+    static final int ONCE = 0, LOOP = 1, PINGPONG = 2, HOLD = 3;
+    
+    String name;
+    String sheet;
+    int scale = 1;
+    int mode = ONCE;
+    boolean fade;          // Alpha falls from 1 to 0 over the clip
+    int[] regions = {};    // x, y, width, height per frame
+    int[] ticks = {};      // How long each frame shows
+    
+    // Built by bind()
+    Texture source;            // The sheet the frames come from
+    int length;                // Ticks in one pass of the timeline
+    int[] frameAt;             // Frame index for each tick of the timeline
+    AlphaComposite[] fadeAt;   // Composite for each tick, null when the clip doesn't fade
+    BufferedImage[] frames;    // Cut from the sheet and scaled once, null if the sheet is missing; replaced whole on reload
+    
+    // "name key=value ...", frame= may repeat and lists x,y,width,height,ticks
+    public static AnimationClip parse(String line) {
+        String[] tokens = line.trim().split("\\s+");
+        AnimationClip clip = new AnimationClip();
+        clip.name = tokens[0];
+        List<int[]> frameList = new ArrayList<>();
+        for (int t = 1; t < tokens.length; t++) {
+            int eq = tokens[t].indexOf('=');
+            if (eq < 0) {
+                throw new IllegalArgumentException("expected key=value, got " + tokens[t]);
+            }
+            String key = tokens[t].substring(0, eq);
+            String value = tokens[t].substring(eq + 1);
+            switch (key) {
+                case "sheet": clip.sheet = value; break;
+                case "scale": clip.scale = Integer.parseInt(value); break;
+                case "mode": clip.mode = parseMode(value); break;
+                case "fade": clip.fade = value.equals("1"); break;
+                case "frame": frameList.add(parseFrame(value)); break;
+                default: throw new IllegalArgumentException("unknown clip key " + key);
+            }
+        }
+        
+        if (clip.sheet == null || frameList.isEmpty()) {
+            throw new IllegalArgumentException("clip needs a sheet and at least one frame: " + line);
+        }
+        if (clip.scale < 1) {
+            throw new IllegalArgumentException("scale must be positive: " + line);
+        }
+        clip.regions = new int[frameList.size() * 4];
+        clip.ticks = new int[frameList.size()];
+        for (int f = 0; f < frameList.size(); f++) {
+            int[] frame = frameList.get(f);
+            System.arraycopy(frame, 0, clip.regions, f * 4, 4);
+            clip.ticks[f] = frame[4];
+        }
+        return clip;
+    }
+    
+    private static int parseMode(String value) {
+        switch (value) {
+            case "once": return ONCE;
+            case "loop": return LOOP;
+            case "pingpong": return PINGPONG;
+            case "hold": return HOLD;
+            default: throw new IllegalArgumentException("unknown clip mode " + value);
+        }
+    }
+    
+    private static int[] parseFrame(String value) {
+        String[] parts = value.split(",");
+        if (parts.length != 5) {
+            throw new IllegalArgumentException("frame needs x,y,width,height,ticks, got " + value);
+        }
+        int[] frame = new int[5];
+        for (int i = 0; i < 5; i++) {
+            frame[i] = Integer.parseInt(parts[i]);
+        }
+        if (frame[2] < 1 || frame[3] < 1 || frame[4] < 1) {
+            throw new IllegalArgumentException("frame size and ticks must be positive, got " + value);
+        }
+        return frame;
+    }
+    
+    // Flatten the timeline and cut the frames out of the sheet
+    void bind(BufferedImage sheetImage) {
+        int frameCount = ticks.length;
+        int[] order = new int[mode == PINGPONG ? Math.max(1, frameCount * 2 - 2) : frameCount];
+        for (int f = 0; f < order.length; f++) {
+            order[f] = f < frameCount ? f : frameCount * 2 - 2 - f; // Back down without repeating the ends
+        }
+        
+        length = 0;
+        for (int f : order) {
+            length += ticks[f];
+        }
+        frameAt = new int[length];
+        int tick = 0;
+        for (int f : order) {
+            Arrays.fill(frameAt, tick, tick + ticks[f], f);
+            tick += ticks[f];
+        }
+        
+        fadeAt = null;
+        if (fade) {
+            fadeAt = new AlphaComposite[length];
+            for (int t = 0; t < length; t++) {
+                fadeAt[t] = AlphaComposite.getInstance(AlphaComposite.SRC_OVER, 1.0f - t / (float)length);
+            }
+        }
+        
+        frames = cut(sheetImage);
+    }
+    
+    // The frames from one version of the sheet, null without one
+    BufferedImage[] cut(BufferedImage sheetImage) {
+        if (sheetImage == null) return null;
+        int frameCount = ticks.length;
+        for (int f = 0; f < frameCount; f++) {
+            int x = regions[f * 4], y = regions[f * 4 + 1], w = regions[f * 4 + 2], h = regions[f * 4 + 3];
+            if (x + w > sheetImage.getWidth() || y + h > sheetImage.getHeight()) {
+                throw new IllegalArgumentException("clip " + name + " frame " + f + " is outside the " + sheet + " sheet");
+            }
+        }
+        BufferedImage[] cut = new BufferedImage[frameCount];
+        for (int f = 0; f < frameCount; f++) {
+            int x = regions[f * 4], y = regions[f * 4 + 1], w = regions[f * 4 + 2], h = regions[f * 4 + 3];
+            cut[f] = new BufferedImage(w * scale, h * scale, BufferedImage.TYPE_INT_ARGB_PRE);
+            Graphics2D g = cut[f].createGraphics();
+            g.drawImage(sheetImage, 0, 0, w * scale, h * scale, x, y, x + w, y + h, null); // Nearest neighbour, like the game scales tiles
+            g.dispose();
+        }
+        return cut;
+    }
+    
+    // Position on the timeline for an age in ticks, -1 once a play-once clip is over
+    int tickAt(int age) {
+        if (age < 0) return 0;
+        if (age < length) return age;
+        switch (mode) {
+            case LOOP:
+            case PINGPONG: return age % length;
+            case HOLD: return length - 1;
+            default: return -1;
+        }
+    }
+}
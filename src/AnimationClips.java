@@ -0,0 +1,134 @@
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+// Animation clip table
+// Read once from Assets/animations.txt; netplay peers and saves need the same file.
+class AnimationClips implements SheetListener {
+    static final Path FILE = Paths.get("../Assets/animations.txt");
+    static final String[] DEFAULTS = {
+        "explosion_small  sheet=explosion scale=2 mode=once fade=1 frame=16,48,16,16,10",
+        "explosion_medium sheet=explosion scale=4 mode=once fade=1 frame=48,48,16,16,10",
+        "explosion_large  sheet=explosion scale=2 mode=once fade=1 frame=64,16,64,64,10",
+        "explosion_boss   sheet=explosion scale=4 mode=once fade=1 frame=64,16,64,64,20",
+        "boss_health      sheet=all scale=2 mode=hold frame=624,0,48,16,20 frame=672,0,48,16,20 frame=720,0,48,16,20"
+            + " frame=768,0,48,16,20 frame=816,0,48,16,20 frame=864,0,48,16,20"
+    };
+    static final String[] REQUIRED = {"explosion_small", "explosion_medium", "explosion_large", "explosion_boss", "boss_health"};
+    
+    final AnimationClip[] clips;
+    
+    public AnimationClips(List<AnimationClip> list) {
+        if (list.isEmpty() || list.size() > 127) {
+            throw new IllegalArgumentException("need 1-127 clips, got " + list.size());
+        }
+        clips = list.toArray(new AnimationClip[0]);
+        for (String name : REQUIRED) {
+            if (find(name) < 0) {
+                throw new IllegalArgumentException("missing clip " + name);
+            }
+        }
+    }
+    
+    private int find(String name) {
+        for (int i = 0; i < clips.length; i++) {
+            if (clips[i].name.equals(name)) return i;
+        }
+        return -1;
+    }
+    
+    // Clip index for a name, for callers to keep instead of the name
+    public int id(String name) {
+        int id = find(name);
+        if (id < 0) {
+            throw new IllegalArgumentException("unknown clip " + name);
+        }
+        return id;
+    }
+    
+    public static AnimationClips load(GameAssets assets) {
+        AssetLoadEvent event = new AssetLoadEvent();
+        event.begin();
+        try {
+            AnimationClips clips = parse(Files.readAllLines(FILE));
+            clips.bind(assets);
+            GameAssets.commit(event, FILE.getFileName().toString(), "animations", true);
+            return clips;
+        } catch (IOException | IllegalArgumentException e) {
+            System.err.println("Error loading animations: " + e.getMessage());
+            GameAssets.commit(event, FILE.getFileName().toString(), "animations", false);
+            AnimationClips clips = parse(Arrays.asList(DEFAULTS));
+            clips.bind(assets);
+            return clips;
+        }
+    }
+    
+    // One clip per line, blank lines and # comments skipped
+    public static AnimationClips parse(List<String> lines) {
+        List<AnimationClip> list = new ArrayList<>();
+        for (String line : lines) {
+            int comment = line.indexOf('#');
+            if (comment >= 0) {
+                line = line.substring(0, comment);
+            }
+            if (!line.trim().isEmpty()) {
+                list.add(AnimationClip.parse(line));
+            }
+        }
+        return new AnimationClips(list);
+    }
+    
+    private void bind(GameAssets assets) {
+        for (AnimationClip clip : clips) {
+            clip.source = assets.texture(clip.sheet);
+            clip.bind(clip.source.load());
+        }
+    }
+    
+    // Watcher thread: new frames for the clips cut from the changed sheet. A sheet too small for
+    // one of them is rejected whole, by the exception
+    @Override
+    public Runnable sheetChanged(Texture texture, BufferedImage image) {
+        List<AnimationClip> changed = new ArrayList<>();
+        List<BufferedImage[]> frames = new ArrayList<>();
+        for (AnimationClip clip : clips) {
+            if (clip.source == texture) {
+                changed.add(clip);
+                frames.add(clip.cut(image));
+            }
+        }
+        if (changed.isEmpty()) return null;
+        return () -> {
+            for (int i = 0; i < changed.size(); i++) {
+                changed.get(i).frames = frames.get(i);
+            }
+        };
+    }
+    
+    // False when the clip's sheet failed to load, callers draw their own fallback
+    public boolean canDraw(int clip) {
+        return clips[clip].frames != null;
+    }
+    
+    // The frame of a clip for a position on its timeline, with the top left corner at x, y
+    public void draw(Graphics2D g, int clip, int age, int x, int y) {
+        AnimationClip c = clips[clip];
+        int tick = c.tickAt(age);
+        if (tick < 0 || c.frames == null) return;
+        BufferedImage frame = c.frames[c.frameAt[tick]];
+        if (c.fadeAt != null) {
+            Composite old = g.getComposite();
+            g.setComposite(c.fadeAt[tick]);
+            g.drawImage(frame, x, y, null);
+            g.setComposite(old);
+        } else {
+            g.drawImage(frame, x, y, null);
+        }
+    }
+}
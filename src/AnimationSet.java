@@ -0,0 +1,80 @@
+import java.awt.*;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+// Animation set class
+// Animation instances, the frame comes from (now - start) on the clip's timeline
+class AnimationSet {
+    static final int INSTANCE_BYTES = 13; // Per instance in a snapshot, see write()
+    
+    int count;
+    int[] clip = new int[64];
+    int[] x = new int[64];
+    int[] y = new int[64];
+    int[] start = new int[64];
+    
+    public void play(int clipId, int px, int py, int now) {
+        if (count == clip.length) {
+            int capacity = count * 2;
+            clip = Arrays.copyOf(clip, capacity);
+            x = Arrays.copyOf(x, capacity);
+            y = Arrays.copyOf(y, capacity);
+            start = Arrays.copyOf(start, capacity);
+        }
+        clip[count] = clipId;
+        x[count] = px;
+        y[count] = py;
+        start[count] = now;
+        count++;
+    }
+    
+    public void clear() {
+        count = 0;
+    }
+    
+    // Drop every instance whose play-once clip has finished by tick `now`
+    public void update(AnimationClips clips, int now) {
+        int i = 0;
+        while (i < count) {
+            if (clips.clips[clip[i]].tickAt(now - start[i]) < 0) {
+                int last = --count;
+                clip[i] = clip[last];
+                x[i] = x[last];
+                y[i] = y[last];
+                start[i] = start[last];
+                continue;
+            }
+            i++;
+        }
+    }
+    
+    public void draw(Graphics2D g, AnimationClips clips, int now) {
+        for (int i = 0; i < count; i++) {
+            clips.draw(g, clip[i], now - start[i], x[i], y[i]);
+        }
+    }
+    
+    public void write(ByteBuffer buf) {
+        buf.putInt(count);
+        for (int i = 0; i < count; i++) {
+            buf.put((byte)clip[i]);
+            buf.putInt(x[i]);
+            buf.putInt(y[i]);
+            buf.putInt(start[i]);
+        }
+    }
+    
+    public void read(ByteBuffer buf) {
+        int n = buf.getInt();
+        if (n < 0 || n > buf.remaining() / INSTANCE_BYTES) {
+            throw new IllegalArgumentException("animation count " + n + " doesn't fit the snapshot");
+        }
+        count = 0;
+        for (int k = 0; k < n; k++) {
+            int clipId = buf.get();
+            int px = buf.getInt();
+            int py = buf.getInt();
+            play(clipId, px, py, buf.getInt());
+        }
+    }
+}
@@ -0,0 +1,167 @@
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+// Archetype class
+// Every entity of one kind in parallel component arrays, oldest first.
+class Archetype {
+    static final int ENTITY_BYTES = 29; // Per entity in a snapshot, see write()
+    
+    int count;
+    float[] x, y;          // Position
+    float[] vx, vy;        // Velocity per tick
+    int[] width, height;   // Hitbox, also the drawn size
+    int[] kind;            // Rock level, enemy move pattern, bullet type... selects the sprite layout
+    int[] health;
+    int[] age;             // Ticks since spawn
+    int[] curve;           // Velocity curve applied each tick, 0 = straight line (see BulletPatterns)
+    int[] path;            // Movement path followed on top of the velocity, 0 = none (see MovePaths)
+    boolean[] dead;
+    boolean[] asleep;      // Far outside the camera, skipped by movement and collision (see World.sleep)
+    
+    final int minX, maxX, minY, maxY; // Entities leaving this box are culled by the lifetime system
+    final SpriteLayout[] layouts;     // Indexed by kind
+    
+    public Archetype(int capacity, int minY, int maxY, SpriteLayout... layouts) {
+        this(capacity, Integer.MIN_VALUE, Integer.MAX_VALUE, minY, maxY, layouts);
+    }
+    
+    public Archetype(int capacity, int minX, int maxX, int minY, int maxY, SpriteLayout... layouts) {
+        this.minX = minX;
+        this.maxX = maxX;
+        this.minY = minY;
+        this.maxY = maxY;
+        this.layouts = layouts;
+        x = new float[capacity];
+        y = new float[capacity];
+        vx = new float[capacity];
+        vy = new float[capacity];
+        width = new int[capacity];
+        height = new int[capacity];
+        kind = new int[capacity];
+        health = new int[capacity];
+        age = new int[capacity];
+        curve = new int[capacity];
+        path = new int[capacity];
+        dead = new boolean[capacity];
+        asleep = new boolean[capacity];
+    }
+    
+    public int spawn(float x, float y, float vx, float vy, int width, int height, int kind, int health) {
+        if (count == this.x.length) {
+            grow();
+        }
+        int i = count++;
+        this.x[i] = x;
+        this.y[i] = y;
+        this.vx[i] = vx;
+        this.vy[i] = vy;
+        this.width[i] = width;
+        this.height[i] = height;
+        this.kind[i] = kind;
+        this.health[i] = health;
+        this.age[i] = 0;
+        this.curve[i] = 0;
+        this.path[i] = 0;
+        this.dead[i] = false;
+        this.asleep[i] = false;
+        return i;
+    }
+    
+    public void kill(int i) {
+        dead[i] = true;
+    }
+    
+    public void clear() {
+        count = 0;
+    }
+    
+    // Close the gaps left by dead entities, stable so spawn order survives
+    public void compact() {
+        int live = 0;
+        for (int i = 0; i < count; i++) {
+            if (dead[i]) continue;
+            if (live != i) {
+                move(i, live);
+            }
+            live++;
+        }
+        count = live;
+    }
+    
+    // Drop the oldest entities until at most max are left (call after compact)
+    public void trimOldest(int max) {
+        int excess = count - max;
+        if (excess <= 0) return;
+        for (int i = excess; i < count; i++) {
+            move(i, i - excess);
+        }
+        count = max;
+    }
+    
+    private void move(int from, int to) {
+        x[to] = x[from];
+        y[to] = y[from];
+        vx[to] = vx[from];
+        vy[to] = vy[from];
+        width[to] = width[from];
+        height[to] = height[from];
+        kind[to] = kind[from];
+        health[to] = health[from];
+        age[to] = age[from];
+        curve[to] = curve[from];
+        path[to] = path[from];
+        dead[to] = false;
+        asleep[to] = asleep[from];
+    }
+    
+    private void grow() {
+        int capacity = x.length * 2;
+        x = Arrays.copyOf(x, capacity);
+        y = Arrays.copyOf(y, capacity);
+        vx = Arrays.copyOf(vx, capacity);
+        vy = Arrays.copyOf(vy, capacity);
+        width = Arrays.copyOf(width, capacity);
+        height = Arrays.copyOf(height, capacity);
+        kind = Arrays.copyOf(kind, capacity);
+        health = Arrays.copyOf(health, capacity);
+        age = Arrays.copyOf(age, capacity);
+        curve = Arrays.copyOf(curve, capacity);
+        path = Arrays.copyOf(path, capacity);
+        dead = Arrays.copyOf(dead, capacity);
+        asleep = Arrays.copyOf(asleep, capacity);
+    }
+    
+    // Snapshot support, dead entities are never written (callers compact first). Sleep isn't
+    // written either, World.sleep works it out again from the camera before it is used
+    public void write(ByteBuffer buf) {
+        buf.putInt(count);
+        for (int i = 0; i < count; i++) {
+            buf.putFloat(x[i]);
+            buf.putFloat(y[i]);
+            buf.putFloat(vx[i]);
+            buf.putFloat(vy[i]);
+            buf.putShort((short)width[i]);
+            buf.putShort((short)height[i]);
+            buf.put((byte)kind[i]);
+            buf.putShort((short)health[i]);
+            buf.putInt(age[i]);
+            buf.put((byte)curve[i]);
+            buf.put((byte)path[i]);
+        }
+    }
+    
+    public void read(ByteBuffer buf) {
+        int n = buf.getInt();
+        if (n < 0 || n > buf.remaining() / ENTITY_BYTES) {
+            throw new IllegalArgumentException("entity count " + n + " doesn't fit the snapshot");
+        }
+        count = 0;
+        for (int k = 0; k < n; k++) {
+            int i = spawn(buf.getFloat(), buf.getFloat(), buf.getFloat(), buf.getFloat(),
+                buf.getShort(), buf.getShort(), buf.get(), buf.getShort());
+            age[i] = buf.getInt();
+            curve[i] = buf.get();
+            path[i] = buf.get();
+        }
+    }
+}
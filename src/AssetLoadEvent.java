@@ -0,0 +1,14 @@
+import jdk.jfr.Category;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+// Flight Recorder event for one asset file loaded
+@Name("void.AssetLoad")
+@Label("Asset Load")
+@Category({"VOID", "Assets"})
+class AssetLoadEvent extends Event {
+    @Label("Name") String name;
+    @Label("Kind") String kind;
+    @Label("Loaded") boolean loaded;
+}
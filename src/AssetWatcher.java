@@ -0,0 +1,77 @@
+import java.io.IOException;
+import java.nio.file.*;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+// Asset watcher
+// Runs a callback on its own thread once a watched file in Assets has been saved.
+class AssetWatcher implements Runnable {
+    static final Path DIR = Paths.get("../Assets");
+    static final long SETTLE_MILLIS = 150;
+    
+    private final WatchService service;
+    private final Map<String, Runnable> callbacks = new ConcurrentHashMap<>();
+    
+    private AssetWatcher(WatchService service) {
+        this.service = service;
+    }
+    
+    // Null if the platform can't watch the directory, assets then just don't reload
+    static AssetWatcher start() {
+        try {
+            WatchService service = FileSystems.getDefault().newWatchService();
+            DIR.register(service, StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY);
+            AssetWatcher watcher = new AssetWatcher(service);
+            Thread thread = new Thread(watcher, "asset-watcher");
+            thread.setDaemon(true);
+            thread.start();
+            return watcher;
+        } catch (IOException | UnsupportedOperationException e) {
+            System.err.println("Error watching assets: " + e.getMessage());
+            return null;
+        }
+    }
+    
+    // Run onChange after the file (a name in Assets) changes
+    public void watch(String fileName, Runnable onChange) {
+        callbacks.put(fileName, onChange);
+    }
+    
+    @Override
+    public void run() {
+        Set<String> changed = new HashSet<>();
+        while (true) {
+            try {
+                // Block for the first event, then keep collecting until things settle
+                WatchKey key = changed.isEmpty() ? service.take() : service.poll(SETTLE_MILLIS, TimeUnit.MILLISECONDS);
+                if (key == null) {
+                    for (String name : changed) {
+                        Runnable callback = callbacks.get(name);
+                        if (callback != null) {
+                            callback.run();
+                        }
+                    }
+                    changed.clear();
+                    continue;
+                }
+                for (WatchEvent<?> event : key.pollEvents()) {
+                    if (event.context() instanceof Path) {
+                        changed.add(((Path) event.context()).getFileName().toString());
+                    }
+                }
+                if (!key.reset()) {
+                    System.err.println("Error watching assets: directory no longer accessible");
+                    return;
+                }
+            } catch (InterruptedException | ClosedWatchServiceException e) {
+                return;
+            } catch (RuntimeException e) {
+                System.err.println("Error reloading assets: " + e.getMessage()); // Keep watching
+                changed.clear();
+            }
+        }
+    }
+}
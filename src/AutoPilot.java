@@ -0,0 +1,176 @@
+import java.util.Arrays;
+
+// Auto pilot bot
+// Dodges what would hit the ship soonest and lines the guns up with a target.
+class AutoPilot implements BotPolicy {
+    private static final int LOOKAHEAD = 40;   // Ticks to look ahead for hits
+    private static final int LOOKAHEAD_STEP = 4;
+    private static final int MARGIN = 6;       // Extra pixels kept around the ship
+    private static final int HOME_OFFSET = 140; // Preferred distance from the bottom of the screen
+    
+    private static final InputAction[] MOVES = {
+        InputAction.MOVE_LEFT, InputAction.MOVE_RIGHT, InputAction.MOVE_UP, InputAction.MOVE_DOWN
+    };
+    
+    // Hostiles that can reach the ship within the lookahead, whichever way it moves
+    private int[] nearGroup = new int[64]; // Index into World.hostiles
+    private int[] nearIndex = new int[64];
+    private int nearCount;
+    
+    @Override
+    public void drive(SpaceGame game, InputSystem input) {
+        if (game.isGameOver() || game.isGameWon()) {
+            setHeld(input, 0);
+            return;
+        }
+        
+        Player player = game.getPlayer();
+        int targetX = chooseTargetX(game, player);
+        int homeY = SpaceGame.WORLD_HEIGHT - HOME_OFFSET;
+        findNearby(game.getWorld(), player);
+        
+        int bestMask = 0;
+        double bestCost = Double.MAX_VALUE;
+        for (int dx = -1; dx <= 1; dx++) {
+            for (int dy = -1; dy <= 1; dy++) {
+                double danger = danger(game, player, dx, dy);
+                int endX = clamp(player.x + dx * player.speed * LOOKAHEAD_STEP, 0, SpaceGame.WORLD_WIDTH - player.width);
+                int endY = clamp(player.y + dy * player.speed * LOOKAHEAD_STEP, 0, SpaceGame.WORLD_HEIGHT - player.height);
+                double cost = danger * 1000
+                    + Math.abs(targetX - gunCenter(endX))
+                    + Math.abs(homeY - endY) * 0.5;
+                if (cost < bestCost) {
+                    bestCost = cost;
+                    bestMask = moveMask(dx, dy);
+                }
+            }
+        }
+        setHeld(input, bestMask);
+    }
+    
+    // Where the guns should line up: a power-up when hurt, else the closest thing to shoot
+    private int chooseTargetX(SpaceGame game, Player player) {
+        World world = game.getWorld();
+        if (game.getLives() < game.getTuning().maxLives) {
+            Archetype powerUps = world.healthPowerUps;
+            for (int i = 0; i < powerUps.count; i++) {
+                if (powerUps.y[i] < player.y) {
+                    return (int)powerUps.x[i] + 16;
+                }
+            }
+        }
+        
+        if (game.getBoss() != null) {
+            Boss boss = game.getBoss();
+            return boss.x + boss.width / 2;
+        }
+        
+        int gunX = gunCenter(player.x);
+        int best = gunX;
+        int bestDistance = Integer.MAX_VALUE;
+        for (Archetype targets : world.targets) {
+            for (int i = 0; i < targets.count; i++) {
+                int centerX = (int)targets.x[i] + targets.width[i] / 2;
+                int y = (int)targets.y[i];
+                int distance = Math.abs(centerX - gunX) + Math.abs(player.y - y) / 2;
+                if (y > -targets.height[i] && y < player.y && distance < bestDistance) {
+                    bestDistance = distance;
+                    best = centerX;
+                }
+            }
+        }
+        return best;
+    }
+    
+    // Keeps the hostiles whose path over the lookahead crosses the area the ship can cover in
+    // that time, the others cannot add to the danger of any move
+    private void findNearby(World world, Player player) {
+        int reach = player.speed * LOOKAHEAD + MARGIN + 1; // One more for the rounding in danger
+        float left = player.x - reach;
+        float right = player.x + player.width + reach;
+        float top = player.y - reach;
+        float bottom = player.y + player.height + reach;
+        
+        nearCount = 0;
+        for (int h = 0; h < world.hostiles.length; h++) {
+            Archetype hostile = world.hostiles[h];
+            for (int i = 0; i < hostile.count; i++) {
+                float x = hostile.x[i];
+                float y = hostile.y[i];
+                float endX = x + hostile.vx[i] * LOOKAHEAD;
+                float endY = y + hostile.vy[i] * LOOKAHEAD;
+                if (Math.max(x, endX) + hostile.width[i] < left || Math.min(x, endX) > right
+                    || Math.max(y, endY) + hostile.height[i] < top || Math.min(y, endY) > bottom) {
+                    continue;
+                }
+                if (nearCount == nearIndex.length) {
+                    nearGroup = Arrays.copyOf(nearGroup, nearCount * 2);
+                    nearIndex = Arrays.copyOf(nearIndex, nearCount * 2);
+                }
+                nearGroup[nearCount] = h;
+                nearIndex[nearCount] = i;
+                nearCount++;
+            }
+        }
+    }
+    
+    // Sum of predicted hits if the ship keeps moving in this direction, sooner hits weigh more
+    private double danger(SpaceGame game, Player player, int dx, int dy) {
+        double danger = 0;
+        World world = game.getWorld();
+        for (int t = 0; t <= LOOKAHEAD; t += LOOKAHEAD_STEP) {
+            int px = clamp(player.x + dx * player.speed * t, 0, SpaceGame.WORLD_WIDTH - player.width) - MARGIN;
+            int py = clamp(player.y + dy * player.speed * t, 0, SpaceGame.WORLD_HEIGHT - player.height) - MARGIN;
+            int pw = player.width + MARGIN * 2;
+            int ph = player.height + MARGIN * 2;
+            double weight = 1.0 / (1 + t);
+            
+            for (int n = 0; n < nearCount; n++) {
+                Archetype hostile = world.hostiles[nearGroup[n]];
+                int i = nearIndex[n];
+                int x = (int)(hostile.x[i] + hostile.vx[i] * t);
+                int y = (int)(hostile.y[i] + hostile.vy[i] * t);
+                if (overlaps(px, py, pw, ph, x, y, hostile.width[i], hostile.height[i])) danger += weight;
+            }
+            Boss boss = game.getBoss();
+            if (boss != null && overlaps(px, py, pw, ph, boss.x, boss.y, boss.width, boss.height)) {
+                danger += weight;
+            }
+        }
+        return danger;
+    }
+    
+    // Press and release only what differs from what the input system holds. Read back rather
+    // than remembered, it lets go of everything when the game is reset or suspended
+    private void setHeld(InputSystem input, int mask) {
+        int heldMask = input.heldMask();
+        for (InputAction action : MOVES) {
+            boolean want = (mask & action.bit) != 0;
+            boolean have = (heldMask & action.bit) != 0;
+            if (want != have) {
+                input.inject(action, want);
+            }
+        }
+    }
+    
+    private static int moveMask(int dx, int dy) {
+        int mask = 0;
+        if (dx < 0) mask |= InputAction.MOVE_LEFT.bit;
+        if (dx > 0) mask |= InputAction.MOVE_RIGHT.bit;
+        if (dy < 0) mask |= InputAction.MOVE_UP.bit;
+        if (dy > 0) mask |= InputAction.MOVE_DOWN.bit;
+        return mask;
+    }
+    
+    private static int gunCenter(int playerX) {
+        return playerX + 44; // Between the two guns at 24 and 48 (see SpaceGame.shootBullets)
+    }
+    
+    private static boolean overlaps(int x1, int y1, int w1, int h1, int x2, int y2, int w2, int h2) {
+        return x1 < x2 + w2 && x1 + w1 > x2 && y1 < y2 + h2 && y1 + h1 > y2;
+    }
+    
+    private static int clamp(int value, int min, int max) {
+        return Math.max(min, Math.min(max, value));
+    }
+}
@@ -0,0 +1,96 @@
+import java.lang.reflect.Method;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+// Batch simulation runner
+//   java BatchRunner [runs] [auto|random|mixed] [maxTicks] [firstSeed]
+public class BatchRunner {
+    static final int TICKS_PER_SECOND = 50;
+    
+    public static void main(String[] args) throws Exception {
+        int runs = args.length > 0 ? Integer.parseInt(args[0]) : 2000;
+        String policy = args.length > 1 ? args[1] : "mixed";
+        int maxTicks = args.length > 2 ? Integer.parseInt(args[2]) : 5 * 60 * TICKS_PER_SECOND;
+        long firstSeed = args.length > 3 ? Long.parseLong(args[3]) : 1;
+        if (!policy.equals("auto") && !policy.equals("random") && !policy.equals("mixed")) {
+            System.err.println("Error: policy must be auto, random or mixed, got " + policy);
+            return;
+        }
+        
+        int cores = Runtime.getRuntime().availableProcessors();
+        GameAssets assets = GameAssets.load(false);
+        BlockingQueue<SpaceGame> games = new ArrayBlockingQueue<>(cores);
+        for (int i = 0; i < cores; i++) {
+            SpaceGame game = new SpaceGame(null, assets, true);
+            game.setRewindRecording(false);
+            games.add(game);
+        }
+        
+        BatchStats autoStats = new BatchStats("auto");
+        BatchStats randomStats = new BatchStats("random");
+        ExecutorService executor = newExecutor(cores);
+        System.out.printf("%d runs, policy %s, at most %d ticks each, %d cores, %s%n",
+            runs, policy, maxTicks, cores, executorName(executor));
+        
+        long start = System.nanoTime();
+        for (int run = 0; run < runs; run++) {
+            long seed = firstSeed + run;
+            boolean auto = policy.equals("auto") || (policy.equals("mixed") && run % 2 == 0);
+            BatchStats stats = auto ? autoStats : randomStats;
+            executor.execute(() -> {
+                SpaceGame game;
+                try {
+                    game = games.take(); // Parks the virtual thread until a game is free
+                } catch (InterruptedException e) {
+                    return;
+                }
+                try {
+                    play(game, seed, auto ? new AutoPilot() : new RandomPilot(seed), maxTicks, stats);
+                } finally {
+                    games.add(game);
+                }
+            });
+        }
+        executor.shutdown();
+        executor.awaitTermination(1, TimeUnit.DAYS);
+        double seconds = (System.nanoTime() - start) / 1e9;
+        
+        long ticks = autoStats.ticks + randomStats.ticks;
+        System.out.printf("Done in %.1fs: %.1f runs/s, %.0f ticks/s (%.0f per core)%n",
+            seconds, runs / seconds, ticks / seconds, ticks / seconds / cores);
+        if (autoStats.runs > 0) autoStats.print();
+        if (randomStats.runs > 0) randomStats.print();
+    }
+    
+    // Virtual threads are looked up reflectively so the runner still builds and runs on 17
+    static ExecutorService newExecutor(int threads) {
+        try {
+            Method virtual = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            return (ExecutorService) virtual.invoke(null);
+        } catch (ReflectiveOperationException e) {
+            return Executors.newFixedThreadPool(threads);
+        }
+    }
+    
+    private static String executorName(ExecutorService executor) {
+        return executor.getClass().getSimpleName().startsWith("ThreadPerTask") ? "virtual threads" : "fixed thread pool";
+    }
+    
+    // One game from a fresh restart to its end (or the tick limit)
+    private static void play(SpaceGame game, long seed, BotPolicy bot, int maxTicks, BatchStats stats) {
+        game.reset();
+        game.setSeed(seed);
+        game.setBot(bot);
+        int bossAt = -1;
+        while (!game.isGameOver() && !game.isGameWon() && game.getGameTime() < maxTicks) {
+            game.tick();
+            if (bossAt < 0 && game.getBoss() != null) {
+                bossAt = game.getGameTime();
+            }
+        }
+        stats.record(game, bossAt);
+    }
+}
@@ -0,0 +1,44 @@
+// Batch stats class
+// Outcome statistics for every run played with one policy
+class BatchStats {
+    final String name;
+    long runs;
+    long ticks;
+    long wins;
+    long timeouts;
+    long reachedBoss;
+    final RunningStats survival = new RunningStats(5, 120);   // Seconds, 5 s buckets up to 10 minutes
+    final RunningStats score = new RunningStats(50, 200);
+    final RunningStats kills = new RunningStats(1, 200);
+    final RunningStats bossFight = new RunningStats(2, 150);  // Seconds from the boss appearing to its death
+    
+    public BatchStats(String name) {
+        this.name = name;
+    }
+    
+    // Called by many runs at once, each once at its end
+    public synchronized void record(SpaceGame game, int bossAt) {
+        int gameTime = game.getGameTime();
+        runs++;
+        ticks += gameTime;
+        if (game.isGameWon()) wins++;
+        if (!game.isGameOver() && !game.isGameWon()) timeouts++;
+        if (bossAt >= 0) reachedBoss++;
+        
+        survival.add((double)gameTime / BatchRunner.TICKS_PER_SECOND);
+        score.add(game.getScore());
+        kills.add(game.getKillCount());
+        if (game.isBossDefeated() && bossAt >= 0) {
+            bossFight.add((double)(gameTime - bossAt) / BatchRunner.TICKS_PER_SECOND);
+        }
+    }
+    
+    public synchronized void print() {
+        System.out.printf("%s: %d runs, %.1f%% won, %.1f%% reached the boss, %d timed out%n",
+            name, runs, 100.0 * wins / runs, 100.0 * reachedBoss / runs, timeouts);
+        System.out.printf("  %-15s %s%n", "survival (s)", survival.summary());
+        System.out.printf("  %-15s %s%n", "score", score.summary());
+        System.out.printf("  %-15s %s%n", "kills", kills.summary());
+        System.out.printf("  %-15s %s%n", "boss fight (s)", bossFight.summary());
+    }
+}
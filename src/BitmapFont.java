@@ -0,0 +1,255 @@
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.awt.image.DirectColorModel;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// Bitmap font class
+// One font at one size, rasterized once into a glyph atlas.
+class BitmapFont {
+    private static final char FIRST = 32;
+    private static final char LAST = 126;
+    private static final int COLUMNS = 16;
+    private static final int MAX_LINES = 64; // Cached lines per color before they are dropped
+    private static final int COLORS = 8;     // Colors with cached lines, the oldest color's go first
+    private static final AlphaComposite[] FADES = new AlphaComposite[256];
+    // Pixels are either fully on or off without antialiasing, and Java2D copies these with
+    // a plain masked copy instead of blending every pixel
+    private static final DirectColorModel BITMASK = new DirectColorModel(25, 0xFF0000, 0xFF00, 0xFF, 0x1000000);
+    
+    private final Font font;
+    private final boolean antialiased;
+    private BufferedImage atlas;  // White glyphs, null until first used
+    private final Map<Integer, BufferedImage> tinted = new HashMap<>();            // Atlas by RGB
+    private final int[] lineColor = new int[COLORS];                               // RGB of each slot
+    private final List<Map<String, TextLine>> lines = new ArrayList<>();           // Laid out text by slot
+    private int nextColor;
+    private int[] advance;        // Pen movement per glyph, the same rounding drawString uses
+    private int[] inkX, inkY, inkWidth, inkHeight; // Painted part of each cell, only that is copied
+    private int widest;
+    private int cellWidth, cellHeight, pad;
+    private int ascent, descent;
+    
+    public BitmapFont(Font font, boolean antialiased) {
+        this.font = font;
+        this.antialiased = antialiased;
+    }
+    
+    private void build() {
+        BufferedImage scratch = new BufferedImage(1, 1, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D sg = scratch.createGraphics();
+        applyHints(sg);
+        FontMetrics fm = sg.getFontMetrics(font);
+        sg.dispose();
+        
+        ascent = fm.getAscent();
+        descent = fm.getDescent();
+        advance = new int[LAST - FIRST + 1];
+        for (char c = FIRST; c <= LAST; c++) {
+            advance[c - FIRST] = fm.charWidth(c);
+            widest = Math.max(widest, advance[c - FIRST]);
+        }
+        // Room for bold and overhanging glyphs to spill past their advance
+        pad = Math.max(2, font.getSize() / 6);
+        cellWidth = widest + pad * 2;
+        cellHeight = ascent + descent + pad * 2;
+        
+        int rows = (advance.length + COLUMNS - 1) / COLUMNS;
+        atlas = new BufferedImage(cellWidth * COLUMNS, cellHeight * rows, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D g = atlas.createGraphics();
+        applyHints(g);
+        g.setFont(font);
+        g.setColor(Color.WHITE);
+        char[] glyph = new char[1];
+        for (int i = 0; i < advance.length; i++) {
+            glyph[0] = (char)(FIRST + i);
+            g.drawChars(glyph, 0, 1, (i % COLUMNS) * cellWidth + pad, (i / COLUMNS) * cellHeight + pad + ascent);
+        }
+        g.dispose();
+        findInk();
+    }
+    
+    // Trim each cell to the pixels the glyph actually painted, most of a cell is empty
+    private void findInk() {
+        int n = advance.length;
+        inkX = new int[n];
+        inkY = new int[n];
+        inkWidth = new int[n];
+        inkHeight = new int[n];
+        int[] cell = new int[cellWidth * cellHeight];
+        for (int i = 0; i < n; i++) {
+            atlas.getRGB((i % COLUMNS) * cellWidth, (i / COLUMNS) * cellHeight, cellWidth, cellHeight, cell, 0, cellWidth);
+            int minX = cellWidth, minY = cellHeight, maxX = -1, maxY = -1;
+            for (int y = 0; y < cellHeight; y++) {
+                for (int x = 0; x < cellWidth; x++) {
+                    if ((cell[y * cellWidth + x] >>> 24) == 0) continue;
+                    minX = Math.min(minX, x);
+                    maxX = Math.max(maxX, x);
+                    minY = Math.min(minY, y);
+                    maxY = Math.max(maxY, y);
+                }
+            }
+            if (maxX < 0) continue; // Blank, a space for instance
+            inkX[i] = minX;
+            inkY[i] = minY;
+            inkWidth[i] = maxX - minX + 1;
+            inkHeight[i] = maxY - minY + 1;
+        }
+    }
+    
+    private void applyHints(Graphics2D g) {
+        g.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, antialiased
+            ? RenderingHints.VALUE_TEXT_ANTIALIAS_ON
+            : RenderingHints.VALUE_TEXT_ANTIALIAS_OFF);
+    }
+    
+    private BufferedImage newImage(int width, int height) {
+        if (antialiased) {
+            return new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB_PRE);
+        }
+        return new BufferedImage(BITMASK, BITMASK.createCompatibleWritableRaster(width, height), false, null);
+    }
+    
+    // Copy of the atlas in one color
+    private BufferedImage atlasFor(int rgb) {
+        BufferedImage image = tinted.get(rgb);
+        if (image == null) {
+            int w = atlas.getWidth();
+            int h = atlas.getHeight();
+            int[] pixels = atlas.getRGB(0, 0, w, h, null, 0, w);
+            for (int p = 0; p < pixels.length; p++) {
+                pixels[p] = (pixels[p] & 0xFF000000) | rgb;
+            }
+            image = newImage(w, h);
+            image.setRGB(0, 0, w, h, pixels, 0, w);
+            tinted.put(rgb, image);
+        }
+        return image;
+    }
+    
+    private int index(char c) {
+        return (c < FIRST || c > LAST ? '?' : c) - FIRST;
+    }
+    
+    public int getAscent() {
+        if (atlas == null) build();
+        return ascent;
+    }
+    
+    public int getDescent() {
+        if (atlas == null) build();
+        return descent;
+    }
+    
+    public int stringWidth(String text) {
+        if (atlas == null) build();
+        int width = 0;
+        for (int i = 0; i < text.length(); i++) {
+            width += advance[index(text.charAt(i))];
+        }
+        return width;
+    }
+    
+    public int charsWidth(char[] chars, int length) {
+        if (atlas == null) build();
+        int width = 0;
+        for (int i = 0; i < length; i++) {
+            width += advance[index(chars[i])];
+        }
+        return width;
+    }
+    
+    // Same baseline and pen position as g.drawString(text, x, y) with this font
+    public void drawString(Graphics2D g, String text, int x, int y) {
+        if (atlas == null) build();
+        int rgb = g.getColor().getRGB() & 0xFFFFFF;
+        int slot = 0;
+        while (slot < lines.size() && lineColor[slot] != rgb) {
+            slot++;
+        }
+        if (slot == lines.size()) {
+            if (slot < COLORS) {
+                lines.add(new HashMap<>());
+            } else {
+                slot = nextColor; // A new color takes over the oldest slot
+                nextColor = (nextColor + 1) % COLORS;
+                lines.get(slot).clear();
+            }
+            lineColor[slot] = rgb;
+        }
+        Map<String, TextLine> cached = lines.get(slot);
+        TextLine line = cached.get(text);
+        if (line == null) {
+            if (cached.size() >= MAX_LINES) {
+                cached.clear(); // Text that keeps changing, like a port number, shouldn't pile up
+            }
+            line = newLine(text.length());
+            renderLine(line, text.toCharArray(), text.length(), rgb);
+            cached.put(text, line);
+        }
+        drawLine(g, line, x, y);
+    }
+    
+    // Blank line with room for maxChars of the widest glyph
+    TextLine newLine(int maxChars) {
+        if (atlas == null) build();
+        return new TextLine(newImage(Math.max(1, widest * maxChars) + pad * 2, cellHeight));
+    }
+    
+    // Lays chars out into a line from newLine, replacing what it held. The pen starts pad pixels
+    // in and the baseline sits at pad + ascent, like a cell of the atlas.
+    void renderLine(TextLine line, char[] chars, int length, int rgb) {
+        BufferedImage glyphs = atlasFor(rgb);
+        Graphics2D g = line.image.createGraphics();
+        g.setComposite(AlphaComposite.Clear);
+        g.fillRect(0, 0, line.image.getWidth(), line.image.getHeight());
+        g.setComposite(AlphaComposite.SrcOver);
+        int left = Integer.MAX_VALUE, top = Integer.MAX_VALUE, right = 0, bottom = 0;
+        int x = pad;
+        for (int i = 0; i < length; i++) {
+            int glyph = index(chars[i]);
+            int w = inkWidth[glyph];
+            if (w > 0) {
+                int sx = (glyph % COLUMNS) * cellWidth + inkX[glyph];
+                int sy = (glyph / COLUMNS) * cellHeight + inkY[glyph];
+                int dx = x - pad + inkX[glyph];
+                int dy = inkY[glyph];
+                int h = inkHeight[glyph];
+                g.drawImage(glyphs, dx, dy, dx + w, dy + h, sx, sy, sx + w, sy + h, null);
+                left = Math.min(left, dx);
+                top = Math.min(top, dy);
+                right = Math.max(right, dx + w);
+                bottom = Math.max(bottom, dy + h);
+            }
+            x += advance[glyph];
+        }
+        g.dispose();
+        if (left == Integer.MAX_VALUE) {
+            left = top = 0; // Nothing but spaces
+        }
+        line.set(left, top, right, bottom);
+    }
+    
+    // One blit of the painted part of the line, at the same pen position and baseline as drawString
+    void drawLine(Graphics2D g, TextLine line, int x, int y) {
+        if (line.right <= line.left) return;
+        int dx = x - pad + line.left;
+        int dy = y - ascent - pad + line.top;
+        int w = line.right - line.left;
+        int h = line.bottom - line.top;
+        int alpha = g.getColor().getAlpha();
+        if (alpha == 255) {
+            g.drawImage(line.image, dx, dy, dx + w, dy + h, line.left, line.top, line.right, line.bottom, null);
+            return;
+        }
+        if (FADES[alpha] == null) {
+            FADES[alpha] = AlphaComposite.getInstance(AlphaComposite.SRC_OVER, alpha / 255f);
+        }
+        Composite previous = g.getComposite();
+        g.setComposite(FADES[alpha]);
+        g.drawImage(line.image, dx, dy, dx + w, dy + h, line.left, line.top, line.right, line.bottom, null);
+        g.setComposite(previous);
+    }
+}
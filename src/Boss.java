@@ -1,32 +1,39 @@
 import java.awt.*;
 import java.awt.image.BufferedImage;
 import java.util.ArrayList;
-import java.util.Random;
 
 // Boss class
 class Boss {
     int x, y;
     int width = 144;  // 3 tiles * 16 * 3 scale
     int height = 192; // 4 tiles * 16 * 3 scale
-    int health = 120;
+    static final int MAX_HEALTH = 120;
+    int health = MAX_HEALTH;
     int speed = 2;
     int moveCounter = 0;
-    BufferedImage enemySheet;
-    BufferedImage allSheet;
+    MovePath sway;      // Sideways path once in position, shared and read-only
+    int swayFraction;   // Sub-pixel part of the sway so far, fixed point
+    Texture enemySheet;
+    AnimationClips animations; // Shared clip table, for the health bar
+    int healthBarClip;
     ArrayList<BossPart> parts;
-    Random random;
+    final PatternEmitters emitters = new PatternEmitters();
     
-    public Boss(int x, int y, BufferedImage sheet) {
+    public Boss(int x, int y, Texture sheet) {
         this.x = x;
         this.y = y;
         this.enemySheet = sheet;
         this.parts = new ArrayList<>();
-        this.random = new Random();
         createBossParts();
     }
     
-    public void setAllSheet(BufferedImage allSheet) {
-        this.allSheet = allSheet;
+    public void setSway(MovePath sway) {
+        this.sway = sway;
+    }
+    
+    public void setAnimations(AnimationClips animations) {
+        this.animations = animations;
+        this.healthBarClip = animations.id("boss_health");
     }
     
     private void createBossParts() {
@@ -52,39 +59,45 @@ class Boss {
         parts.add(new BossPart(96, 144, 64, 48, 16, 16));  // 12
     }
     
-    public void update() {
+    public void update(Camera camera) {
         moveCounter++;
         
-        // Move down slowly until reaching top quarter of screen
-        if (y < 50) {
+        // Move down slowly until reaching the top of the view
+        if (y < camera.y + 50) {
             y += speed;
         } else {
-            // Horizontal movement pattern
-            x += (int)(Math.sin(moveCounter * 0.02) * 3);
+            // Horizontal movement follows the sway path, whole pixels move the boss and the rest carries over
+            if (sway != null) {
+                swayFraction += sway.dx[sway.step(moveCounter - 1)];
+                x += swayFraction >> 16;
+                swayFraction &= MovePath.ONE - 1;
+            }
             
-            // Keep boss in bounds
+            // Keep boss in the world
             if (x < 0) x = 0;
-            if (x > 800 - width) x = 800 - width;
+            if (x > camera.worldWidth - width) x = camera.worldWidth - width;
         }
     }
     
-    public void shoot(ArrayList<BossBullet> bullets, BufferedImage bulletSheet) {
-        // Fire from positions 10, 11, 12 (bottom row)
-        // Position 10 - left
-        bullets.add(new BossBullet(x + 24, y + 144 + 48, bulletSheet));
-        // Position 11 - center
-        bullets.add(new BossBullet(x + 72, y + 144 + 48, bulletSheet));
-        // Position 12 - right
-        bullets.add(new BossBullet(x + 120, y + 144 + 48, bulletSheet));
+    // Bullet pattern stage, 1-3, picks which patterns the boss runs
+    public int phase() {
+        if (health > 80) return 1;
+        if (health > 40) return 2;
+        return 3;
+    }
+    
+    public void shoot(Archetype bullets, BulletPatterns patterns, Player ship1, Player ship2) {
+        emitters.update(patterns, this, bullets, ship1, ship2);
     }
     
-    public void throwSubEnemy(ArrayList<SubEnemy> subEnemies, BufferedImage enemySheet) {
+    public void throwSubEnemy(Archetype subEnemies) {
         // Spawn sub-enemy from boss position
-        subEnemies.add(new SubEnemy(x + width / 2 - 32, y + height, enemySheet));
+        subEnemies.spawn(x + width / 2 - 32, y + height, 0, 3, 64, 32, 0, 1);
     }
     
     public void draw(Graphics2D g) {
-        if (enemySheet == null) {
+        BufferedImage sheet = enemySheet.get();
+        if (sheet == null) {
             // Fallback drawing
             g.setColor(Color.MAGENTA);
             g.fillRect(x, y, width, height);
@@ -93,7 +106,7 @@ class Boss {
         
         for (BossPart part : parts) {
             try {
-                BufferedImage sprite = enemySheet.getSubimage(
+                BufferedImage sprite = sheet.getSubimage(
                     part.srcX, part.srcY, part.srcW, part.srcH
                 );
                 int scaledW = part.srcW * 3;
@@ -111,7 +124,7 @@ class Boss {
     }
     
     private void drawHealthBar(Graphics2D g) {
-        if (allSheet == null) {
+        if (animations == null || !animations.canDraw(healthBarClip)) {
             // Fallback to simple health bar
             g.setColor(Color.RED);
             g.fillRect(x, y - 20, width, 10);
@@ -121,61 +134,8 @@ class Boss {
             return;
         }
         
-        // Determine which health bar state to show (1-6)
-        int state;
-        if (health > 100) {
-            state = 1;
-        } else if (health > 80) {
-            state = 2;
-        } else if (health > 60) {
-            state = 3;
-        } else if (health > 40) {
-            state = 4;
-        } else if (health > 20) {
-            state = 5;
-        } else {
-            state = 6;
-        }
-        
-        // Get the starting X position for the health bar sprites
-        int srcX;
-        switch (state) {
-            case 1: srcX = 624; break; // Full health
-            case 2: srcX = 672; break;
-            case 3: srcX = 720; break;
-            case 4: srcX = 768; break;
-            case 5: srcX = 816; break;
-            case 6: srcX = 864; break;
-            default: srcX = 624; break;
-        }
-        
-        try {
-            // Draw 3-part health bar centered above the boss
-            int barY = y - 40;
-            int centerX = x + width / 2;
-            int barWidth = 48 * 2;
-            int startX = centerX - barWidth / 2;
-            
-            // Left part
-            BufferedImage leftSprite = allSheet.getSubimage(srcX, 0, 16, 16);
-            g.drawImage(leftSprite, startX, barY, 32, 32, null);
-            
-            // Middle part
-            BufferedImage midSprite = allSheet.getSubimage(srcX + 16, 0, 16, 16);
-            g.drawImage(midSprite, startX + 32, barY, 32, 32, null);
-            
-            // Right part
-            int rightSrcX = srcX + 32;
-            BufferedImage rightSprite = allSheet.getSubimage(rightSrcX, 0, 16, 16);
-            g.drawImage(rightSprite, startX + 64, barY, 32, 32, null);
-        } catch (Exception e) {
-            // Fallback if sprite extraction fails
-            g.setColor(Color.RED);
-            g.fillRect(x, y - 20, width, 10);
-            g.setColor(Color.GREEN);
-            int healthWidth = (int)((health / 150.0) * width);
-            g.fillRect(x, y - 20, healthWidth, 10);
-        }
+        // The bar's timeline runs on damage taken, one frame per 20 health lost, centered above the boss
+        animations.draw(g, healthBarClip, MAX_HEALTH - health, x + width / 2 - 48, y - 40);
     }
 }
 
@@ -194,133 +154,3 @@ class BossPart {
         this.srcH = srcH;
     }
 }
-
-// Boss bullet class
-class BossBullet {
-    int x, y;
-    int speed = 4;
-    BufferedImage bulletSheet;
-    int bulletType;
-    Random random;
-    
-    public BossBullet(int x, int y, BufferedImage sheet) {
-        this.x = x;
-        this.y = y;
-        this.bulletSheet = sheet;
-        this.random = new Random();
-        this.bulletType = random.nextInt(6); // 6 different bullet types
-    }
-    
-    public void update() {
-        y += speed; // Move downward
-    }
-    
-    public void draw(Graphics2D g) {
-        if (bulletSheet == null) {
-            // Fallback drawing
-            g.setColor(Color.ORANGE);
-            g.fillRect(x, y, 16, 16);
-            return;
-        }
-        
-        try {
-            BufferedImage sprite;
-            // Select bullet sprite based on type
-            switch (bulletType) {
-                case 0:
-                    sprite = bulletSheet.getSubimage(176, 16, 16, 16);
-                    break;
-                case 1:
-                    sprite = bulletSheet.getSubimage(176, 48, 16, 16);
-                    break;
-                case 2:
-                    sprite = bulletSheet.getSubimage(176, 176, 16, 16);
-                    break;
-                case 3:
-                    sprite = bulletSheet.getSubimage(48, 16, 16, 16);
-                    break;
-                case 4:
-                    sprite = bulletSheet.getSubimage(48, 48, 16, 16);
-                    break;
-                case 5:
-                    sprite = bulletSheet.getSubimage(48, 176, 16, 16);
-                    break;
-                default:
-                    sprite = bulletSheet.getSubimage(176, 16, 16, 16);
-            }
-            g.drawImage(sprite, x, y, 16, 16, null);
-        } catch (Exception e) {
-            // Fallback if sprite extraction fails
-            g.setColor(Color.ORANGE);
-            g.fillRect(x, y, 16, 16);
-        }
-    }
-}
-
-// Sub-enemy class
-class SubEnemy {
-    int x, y;
-    int width = 64;  // 2 tiles * 16 * 2 scale
-    int height = 32; // 1 tile * 16 * 2 scale
-    int speed = 3;
-    BufferedImage enemySheet;
-    ArrayList<SubEnemyPart> parts;
-    
-    public SubEnemy(int x, int y, BufferedImage sheet) {
-        this.x = x;
-        this.y = y;
-        this.enemySheet = sheet;
-        this.parts = new ArrayList<>();
-        createSubEnemyParts();
-    }
-    
-    private void createSubEnemyParts() {
-        // Sub-enemy 2x1 grid (2 parts) - scaled 2x
-        parts.add(new SubEnemyPart(0, 0, 208, 224, 16, 16));   // 1
-        parts.add(new SubEnemyPart(32, 0, 224, 224, 16, 16));  // 2
-    }
-    
-    public void update() {
-        y += speed; // Move downward
-    }
-    
-    public void draw(Graphics2D g) {
-        if (enemySheet == null) {
-            // Fallback drawing
-            g.setColor(Color.YELLOW);
-            g.fillRect(x, y, width, height);
-            return;
-        }
-        
-        for (SubEnemyPart part : parts) {
-            try {
-                BufferedImage sprite = enemySheet.getSubimage(
-                    part.srcX, part.srcY, part.srcW, part.srcH
-                );
-                int scaledW = part.srcW * 2;
-                int scaledH = part.srcH * 2;
-                g.drawImage(sprite, x + part.offsetX, y + part.offsetY, scaledW, scaledH, null);
-            } catch (Exception e) {
-                // Fallback if sprite extraction fails
-                g.setColor(Color.YELLOW);
-                g.fillRect(x + part.offsetX, y + part.offsetY, part.srcW * 2, part.srcH * 2);
-            }
-        }
-    }
-}
-
-// Helper class for sub-enemy parts
-class SubEnemyPart {
-    int offsetX, offsetY;
-    int srcX, srcY;
-    int srcW, srcH;
-    
-    public SubEnemyPart(int offsetX, int offsetY, int srcX, int srcY, int srcW, int srcH) {
-        this.offsetX = offsetX;
-        this.offsetY = offsetY;
-        this.srcX = srcX;
-        this.srcY = srcY;
-        this.srcW = srcW;
-        this.srcH = srcH;
-    }
-}
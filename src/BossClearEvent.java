@@ -0,0 +1,16 @@
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+// Flight Recorder event for clearing the arena before the boss
+@Name("void.BossArenaCleared")
+@Label("Boss Arena Cleared")
+@Category({"VOID", "Simulation"})
+@Description("Everything on screen blown up to make room for the boss")
+class BossClearEvent extends Event {
+    @Label("Enemies") int enemies;
+    @Label("Rocks") int rocks;
+    @Label("Enemy Bullets") int enemyBullets;
+}
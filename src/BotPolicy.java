@@ -0,0 +1,4 @@
+// Something that plays the game by injecting actions, called once per tick before input is sampled
+interface BotPolicy {
+    void drive(SpaceGame game, InputSystem input);
+}
@@ -0,0 +1,104 @@
+// Bullet pattern class
+// One boss emitter program, one line of Assets/boss_patterns.txt.
+class BulletPattern {
+    static final int LEFT = 1, CENTER = 2, RIGHT = 4; // Guns on the boss's bottom row
+    
+    String type;
+    int phase;             // Boss phase the pattern belongs to, 0 = any
+    int guns = CENTER;
+    boolean aimed;
+    int arms = 1;
+    float spread;          // 360 spaces the arms evenly around the circle
+    int interval = 10;     // Ticks between volleys
+    int volleys = 1;
+    int rest = 50;         // Ticks until the boss starts its next pattern, may overlap this one
+    float speed = 3;
+    float accel = 1;
+    float turn;
+    int curve;
+    float spin;
+    float sweep;
+    int period = 60;
+    int sprite;
+    
+    // "type key=value ...", the type sets the defaults the keys then override
+    public static BulletPattern parse(String line) {
+        String[] tokens = line.trim().split("\\s+");
+        BulletPattern p = new BulletPattern();
+        p.type = tokens[0];
+        switch (p.type) {
+            case "ring":
+                p.arms = 16;
+                p.spread = 360;
+                break;
+            case "spiral":
+                p.arms = 3;
+                p.spread = 360;
+                p.spin = 10;
+                p.interval = 3;
+                p.volleys = 60;
+                break;
+            case "aimed":
+                p.aimed = true;
+                p.arms = 3;
+                p.spread = 30;
+                break;
+            case "wave":
+                p.sweep = 45;
+                p.interval = 4;
+                p.volleys = 40;
+                break;
+            default:
+                throw new IllegalArgumentException("unknown pattern type " + p.type);
+        }
+        
+        for (int t = 1; t < tokens.length; t++) {
+            int eq = tokens[t].indexOf('=');
+            if (eq < 0) {
+                throw new IllegalArgumentException("expected key=value, got " + tokens[t]);
+            }
+            String key = tokens[t].substring(0, eq);
+            String value = tokens[t].substring(eq + 1);
+            switch (key) {
+                case "phase": p.phase = Integer.parseInt(value); break;
+                case "gun": p.guns = parseGuns(value); break;
+                case "arms": p.arms = Integer.parseInt(value); break;
+                case "spread": p.spread = Float.parseFloat(value); break;
+                case "interval": p.interval = Integer.parseInt(value); break;
+                case "volleys": p.volleys = Integer.parseInt(value); break;
+                case "rest": p.rest = Integer.parseInt(value); break;
+                case "speed": p.speed = Float.parseFloat(value); break;
+                case "accel": p.accel = Float.parseFloat(value); break;
+                case "turn": p.turn = Float.parseFloat(value); break;
+                case "curve": p.curve = Integer.parseInt(value); break;
+                case "spin": p.spin = Float.parseFloat(value); break;
+                case "sweep": p.sweep = Float.parseFloat(value); break;
+                case "period": p.period = Integer.parseInt(value); break;
+                case "sprite": p.sprite = Integer.parseInt(value); break;
+                default: throw new IllegalArgumentException("unknown pattern key " + key);
+            }
+        }
+        
+        if (p.arms < 1 || p.interval < 1 || p.volleys < 1 || p.rest < 1 || p.period < 1) {
+            throw new IllegalArgumentException("arms, interval, volleys, rest and period must be positive: " + line);
+        }
+        if (p.sprite < 0 || p.sprite > 5) {
+            throw new IllegalArgumentException("sprite must be 0-5: " + line);
+        }
+        return p;
+    }
+    
+    private static int parseGuns(String value) {
+        if (value.equals("all")) return LEFT | CENTER | RIGHT;
+        int guns = 0;
+        for (String gun : value.split("\\+")) {
+            switch (gun) {
+                case "left": guns |= LEFT; break;
+                case "center": guns |= CENTER; break;
+                case "right": guns |= RIGHT; break;
+                default: throw new IllegalArgumentException("unknown gun " + gun);
+            }
+        }
+        return guns;
+    }
+}
@@ -0,0 +1,117 @@
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+// Bullet pattern table
+// Read once from Assets/boss_patterns.txt; netplay peers need the same file.
+class BulletPatterns {
+    // Live boss bullets before the oldest are dropped. At the cap rewind only reaches back
+    // about 4.5 seconds, see RewindBuffer.MAX_ARENA_SIZE
+    static final int MAX_BULLETS = 12000;
+    static final Path FILE = Paths.get("../Assets/boss_patterns.txt");
+    static final String[] DEFAULTS = {
+        "ring   phase=1 arms=8 interval=40 volleys=2 rest=120 speed=2 spin=22.5 sprite=0",
+        "aimed  phase=1 arms=1 interval=25 volleys=3 rest=100 speed=3.5 sprite=3",
+        "wave   phase=1 arms=1 interval=12 volleys=15 rest=140 speed=3 sweep=40 period=80 sprite=1",
+        "spiral phase=2 arms=2 interval=8 volleys=30 rest=140 speed=2.2 spin=14 sprite=2",
+        "ring   phase=2 gun=left+right arms=6 interval=40 volleys=2 rest=110 speed=1.6 accel=1.015 curve=50 sprite=4",
+        "aimed  phase=2 gun=left+right arms=1 interval=25 volleys=3 rest=100 speed=4 sprite=3",
+        "spiral phase=3 arms=3 interval=8 volleys=40 rest=130 speed=2 spin=11 turn=0.5 curve=80 sprite=5",
+        "ring   phase=3 gun=left+right arms=8 interval=40 volleys=2 rest=110 speed=2 turn=-0.6 curve=70 sprite=0",
+        "wave   phase=3 gun=left+right arms=1 interval=10 volleys=20 rest=130 speed=3 sweep=50 period=70 sprite=1"
+    };
+    
+    final BulletPattern[] patterns;
+    final int[][] byPhase;            // Pattern indices usable in phase 1-3, in file order
+    private final float[] curveCos;   // accel * cos(turn), index 0 is the straight line
+    private final float[] curveSin;   // accel * sin(turn)
+    private final int[] curveTicks;   // Last age the curve applies at
+    
+    public BulletPatterns(List<BulletPattern> list) {
+        if (list.isEmpty() || list.size() > 127) {
+            throw new IllegalArgumentException("need 1-127 patterns, got " + list.size());
+        }
+        patterns = list.toArray(new BulletPattern[0]);
+        
+        byPhase = new int[4][];
+        for (int phase = 1; phase <= 3; phase++) {
+            int[] indices = new int[patterns.length];
+            int n = 0;
+            for (int i = 0; i < patterns.length; i++) {
+                if (patterns[i].phase == 0 || patterns[i].phase == phase) {
+                    indices[n++] = i;
+                }
+            }
+            byPhase[phase] = n > 0 ? Arrays.copyOf(indices, n) : allIndices();
+        }
+        
+        curveCos = new float[patterns.length + 1];
+        curveSin = new float[patterns.length + 1];
+        curveTicks = new int[patterns.length + 1];
+        curveCos[0] = 1;
+        curveTicks[0] = -1;
+        for (int i = 0; i < patterns.length; i++) {
+            BulletPattern p = patterns[i];
+            double turn = Math.toRadians(p.turn);
+            curveCos[i + 1] = (float)(p.accel * StrictMath.cos(turn));
+            curveSin[i + 1] = (float)(p.accel * StrictMath.sin(turn));
+            curveTicks[i + 1] = p.curve > 0 ? p.curve : Integer.MAX_VALUE;
+        }
+    }
+    
+    private int[] allIndices() {
+        int[] indices = new int[patterns.length];
+        for (int i = 0; i < indices.length; i++) {
+            indices[i] = i;
+        }
+        return indices;
+    }
+    
+    public static BulletPatterns load() {
+        AssetLoadEvent event = new AssetLoadEvent();
+        event.begin();
+        try {
+            BulletPatterns patterns = parse(Files.readAllLines(FILE));
+            GameAssets.commit(event, FILE.getFileName().toString(), "patterns", true);
+            return patterns;
+        } catch (IOException | IllegalArgumentException e) {
+            System.err.println("Error loading boss patterns: " + e.getMessage());
+            GameAssets.commit(event, FILE.getFileName().toString(), "patterns", false);
+            return parse(Arrays.asList(DEFAULTS));
+        }
+    }
+    
+    // One pattern per line, blank lines and # comments skipped
+    public static BulletPatterns parse(List<String> lines) {
+        List<BulletPattern> list = new ArrayList<>();
+        for (String line : lines) {
+            int comment = line.indexOf('#');
+            if (comment >= 0) {
+                line = line.substring(0, comment);
+            }
+            if (!line.trim().isEmpty()) {
+                list.add(BulletPattern.parse(line));
+            }
+        }
+        return new BulletPatterns(list);
+    }
+    
+    // Velocity curve system: rotate and scale each bullet's velocity while its curve lasts
+    public void steer(Archetype bullets) {
+        float[] vx = bullets.vx, vy = bullets.vy;
+        int[] curve = bullets.curve, age = bullets.age;
+        for (int i = 0; i < bullets.count; i++) {
+            int c = curve[i];
+            if (age[i] <= curveTicks[c]) {
+                float x = vx[i];
+                float y = vy[i];
+                vx[i] = x * curveCos[c] - y * curveSin[c];
+                vy[i] = x * curveSin[c] + y * curveCos[c];
+            }
+        }
+    }
+}
@@ -0,0 +1,39 @@
+// Camera class
+// The window-sized view of the world that follows the ships.
+class Camera {
+    static final int WAKE_MARGIN = 200; // Past this far outside the view entities stop moving and colliding
+    
+    final int width, height;           // View size, the internal render resolution
+    final int worldWidth, worldHeight; // Play field
+    int x, y;                          // Top left of the view in world coordinates
+    
+    public Camera(int width, int height, int worldWidth, int worldHeight) {
+        this.width = width;
+        this.height = height;
+        this.worldWidth = Math.max(width, worldWidth);
+        this.worldHeight = Math.max(height, worldHeight);
+    }
+    
+    // Center on the ship, or between both ships, kept inside the world
+    public void follow(Player ship1, Player ship2) {
+        int cx = ship1.x + ship1.width / 2;
+        int cy = ship1.y + ship1.height / 2;
+        if (ship2 != null) {
+            cx = (cx + ship2.x + ship2.width / 2) / 2;
+            cy = (cy + ship2.y + ship2.height / 2) / 2;
+        }
+        x = Math.max(0, Math.min(cx - width / 2, worldWidth - width));
+        y = Math.max(0, Math.min(cy - height / 2, worldHeight - height));
+    }
+    
+    // Does the box overlap the view
+    public boolean visible(float bx, float by, int w, int h) {
+        return bx < x + width && bx + w > x && by < y + height && by + h > y;
+    }
+    
+    // Is the box close enough to the view to be simulated
+    public boolean awake(float bx, float by, int w, int h) {
+        return bx < x + width + WAKE_MARGIN && bx + w > x - WAKE_MARGIN
+            && by < y + height + WAKE_MARGIN && by + h > y - WAKE_MARGIN;
+    }
+}
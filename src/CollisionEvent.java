@@ -0,0 +1,17 @@
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+// Flight Recorder event for one collision pass
+@Name("void.Collision")
+@StackTrace(false)
+@Label("Collision Pass")
+@Category({"VOID", "Simulation"})
+class CollisionEvent extends Event {
+    @Label("Pass") String pass;
+    @Label("Candidates") @Description("Bullets tested, or hostiles the ships were tested against") int candidates;
+    @Label("Hits") int hits;
+}
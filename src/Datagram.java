@@ -0,0 +1,14 @@
+import java.net.SocketAddress;
+
+// Helper class for a delayed datagram
+class Datagram {
+    long due;
+    byte[] data;
+    SocketAddress target;
+    
+    public Datagram(long due, byte[] data, SocketAddress target) {
+        this.due = due;
+        this.data = data;
+        this.target = target;
+    }
+}
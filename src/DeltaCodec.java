@@ -0,0 +1,77 @@
+import java.nio.ByteBuffer;
+
+// Delta codec class
+// XOR + run-length delta between two state images, for the rewind buffer and spectators
+class DeltaCodec {
+    // Worst case: every literal byte, plus two varints per run pair, at most length / 2 + 2 pairs,
+    // and a varint only grows past one byte for a run of 128 or more
+    static int maxEncodedSize(int length) {
+        return 5 + length + 2 * (length / 2 + 2) + length / 64;
+    }
+    
+    // Format: raw length, then pairs of (zero run, literal run, literal bytes)
+    static void encode(byte[] current, int length, byte[] base, int baseLength, ByteBuffer out) {
+        putVarInt(out, length);
+        int i = 0;
+        while (i < length) {
+            int zeroStart = i;
+            while (i < length && xor(current, base, baseLength, i) == 0) i++;
+            int literalStart = i;
+            while (i < length && xor(current, base, baseLength, i) != 0) i++;
+            putVarInt(out, literalStart - zeroStart);
+            putVarInt(out, i - literalStart);
+            for (int j = literalStart; j < i; j++) {
+                out.put(xor(current, base, baseLength, j));
+            }
+        }
+    }
+    
+    // Decode into out[] (which must already hold the base image), returns the new length
+    static int decode(ByteBuffer in, byte[] out, int baseLength) {
+        int length = getVarInt(in);
+        for (int i = baseLength; i < length; i++) {
+            out[i] = 0;
+        }
+        int i = 0;
+        while (i < length) {
+            i += getVarInt(in);
+            int literals = getVarInt(in);
+            for (int j = 0; j < literals; j++, i++) {
+                out[i] ^= in.get();
+            }
+        }
+        return length;
+    }
+    
+    // Decoded length of a message without consuming it
+    static int peekLength(ByteBuffer in) {
+        int position = in.position();
+        int length = getVarInt(in);
+        in.position(position);
+        return length;
+    }
+    
+    private static byte xor(byte[] current, byte[] base, int baseLength, int i) {
+        return (byte)(current[i] ^ (i < baseLength ? base[i] : 0));
+    }
+    
+    static void putVarInt(ByteBuffer out, int value) {
+        while ((value & ~0x7F) != 0) {
+            out.put((byte)((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.put((byte)value);
+    }
+    
+    static int getVarInt(ByteBuffer in) {
+        int value = 0;
+        int shift = 0;
+        byte b;
+        do {
+            b = in.get();
+            value |= (b & 0x7F) << shift;
+            shift += 7;
+        } while ((b & 0x80) != 0);
+        return value;
+    }
+}
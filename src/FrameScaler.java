@@ -0,0 +1,80 @@
+import java.awt.*;
+
+// Frame scaler
+// Fits the 800x600 frame into the window, -Dvoid.scale=integer for whole-number scales only.
+class FrameScaler {
+    private static final boolean INTEGER_ONLY = "integer".equals(System.getProperty("void.scale"));
+    
+    private final int frameWidth;
+    private final int frameHeight;
+    
+    // Result of the last update()
+    private double scale = 1;
+    private int offsetX;
+    private int offsetY;
+    private int scaledWidth;
+    private int scaledHeight;
+    
+    public FrameScaler(int frameWidth, int frameHeight) {
+        this.frameWidth = frameWidth;
+        this.frameHeight = frameHeight;
+        this.scaledWidth = frameWidth;
+        this.scaledHeight = frameHeight;
+    }
+    
+    // Recompute the scale for the current output size
+    public void update(int outputWidth, int outputHeight) {
+        if (outputWidth <= 0 || outputHeight <= 0) return;
+        scale = Math.min(outputWidth / (double)frameWidth, outputHeight / (double)frameHeight);
+        if (INTEGER_ONLY && scale >= 1) {
+            scale = Math.floor(scale);
+        }
+        scaledWidth = (int)Math.round(frameWidth * scale);
+        scaledHeight = (int)Math.round(frameHeight * scale);
+        offsetX = (outputWidth - scaledWidth) / 2;
+        offsetY = (outputHeight - scaledHeight) / 2;
+    }
+    
+    public boolean isIntegerScale() {
+        return scale == Math.rint(scale);
+    }
+    
+    // Draw a full internal frame to the output in a single scaled blit
+    public void present(Graphics2D g, Image frame, int outputWidth, int outputHeight) {
+        update(outputWidth, outputHeight);
+        fillBars(g, outputWidth, outputHeight);
+        g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, isIntegerScale()
+            ? RenderingHints.VALUE_INTERPOLATION_NEAREST_NEIGHBOR
+            : RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+        g.drawImage(frame, offsetX, offsetY, scaledWidth, scaledHeight, null);
+    }
+    
+    // Set up g so that drawing in internal coordinates lands in the right place on the output
+    public void apply(Graphics2D g, int outputWidth, int outputHeight) {
+        update(outputWidth, outputHeight);
+        fillBars(g, outputWidth, outputHeight);
+        g.translate(offsetX, offsetY);
+        g.scale(scale, scale);
+        g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, isIntegerScale()
+            ? RenderingHints.VALUE_INTERPOLATION_NEAREST_NEIGHBOR
+            : RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+    }
+    
+    // Output-space rectangle covering an internal-space rectangle, for partial repaints
+    public Rectangle toOutput(Rectangle r) {
+        int x = offsetX + (int)Math.floor(r.x * scale);
+        int y = offsetY + (int)Math.floor(r.y * scale);
+        int right = offsetX + (int)Math.ceil((r.x + r.width) * scale);
+        int bottom = offsetY + (int)Math.ceil((r.y + r.height) * scale);
+        return new Rectangle(x, y, right - x, bottom - y);
+    }
+    
+    private void fillBars(Graphics2D g, int outputWidth, int outputHeight) {
+        if (scaledWidth == outputWidth && scaledHeight == outputHeight) return;
+        g.setColor(Color.BLACK);
+        g.fillRect(0, 0, outputWidth, offsetY);
+        g.fillRect(0, offsetY + scaledHeight, outputWidth, outputHeight - offsetY - scaledHeight);
+        g.fillRect(0, offsetY, offsetX, scaledHeight);
+        g.fillRect(offsetX + scaledWidth, offsetY, outputWidth - offsetX - scaledWidth, scaledHeight);
+    }
+}
@@ -0,0 +1,195 @@
+import javax.sound.sampled.*;
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicReference;
+
+// Shared game assets
+// Loaded once, shared by every screen; startWatching() reloads the tuning and sheets on save.
+class GameAssets {
+    final TextureManager textures = new TextureManager();
+    Texture asteroidSheet;
+    Texture backgroundSheet;
+    Texture playerSheet;
+    Texture enemySheet;
+    Texture exhaustSheet;
+    Texture bulletSheet;
+    Texture uiSheet;
+    Texture explosionSheet;
+    Texture allSheet;
+    Texture homeImage;
+    Font baseFont; // Null if VT323 could not be loaded
+    Clip themeClip; // Used by both the menu and the game, never at the same time
+    Clip bossClip;
+    BulletPatterns bossPatterns;
+    AnimationClips animations;
+    MovePaths paths;
+    final AtomicReference<Tuning> tuning = new AtomicReference<>(new Tuning()); // Read once per tick, swapped whole on reload
+    private AssetWatcher watcher;
+    private final List<SheetListener> sheetListeners = new CopyOnWriteArrayList<>();
+    private final Map<String, BitmapFont> bitmapFonts = new HashMap<>(); // Shared so each size is rasterized once
+    
+    public static GameAssets load(boolean withAudio) {
+        GameAssets assets = new GameAssets();
+        TextureManager textures = assets.textures;
+        assets.asteroidSheet = textures.add("Asteroids-0001.png");
+        assets.backgroundSheet = textures.add("Background_Full-0001.png");
+        assets.playerSheet = textures.add("SpaceShips_Player-0001.png");
+        assets.enemySheet = textures.add("SpaceShips_Enemy-0001.png");
+        assets.exhaustSheet = textures.add("Exhaust-0001.png");
+        assets.bulletSheet = textures.add("Bullets-0001.png");
+        assets.uiSheet = textures.add("UI_sprites-0001.png");
+        assets.explosionSheet = textures.add("Explosion-0001.png");
+        assets.allSheet = textures.add("All.png");
+        assets.homeImage = textures.add("home.png");
+        assets.bossPatterns = BulletPatterns.load();
+        assets.paths = MovePaths.load();
+        assets.tuning.set(Tuning.load());
+        assets.animations = AnimationClips.load(assets); // Cuts its frames from the sheets above
+        assets.addSheetListener(assets.animations);
+        
+        AssetLoadEvent event = new AssetLoadEvent();
+        event.begin();
+        try {
+            assets.baseFont = Font.createFont(Font.TRUETYPE_FONT, new File("../Assets/VT323-Regular.ttf"));
+        } catch (Exception e) {
+            System.err.println("Error loading font: " + e.getMessage());
+        }
+        commit(event, "VT323-Regular.ttf", "font", assets.baseFont != null);
+        
+        if (withAudio) {
+            assets.themeClip = loadClip("theme.wav");
+            assets.bossClip = loadClip("boss music.wav");
+        }
+        return assets;
+    }
+    
+    // Interactive sessions only: pick up edits to the tuning file and the sheets while the game runs
+    public void startWatching() {
+        if (watcher != null) return;
+        watcher = AssetWatcher.start();
+        if (watcher != null) {
+            watcher.watch(Tuning.FILE.getFileName().toString(), this::reloadTuning);
+            for (Texture texture : textures.all()) {
+                watcher.watch(texture.name, () -> reloadSheet(texture));
+            }
+        }
+    }
+    
+    // Whatever keeps images cut from a sheet, to be rebuilt when the sheet changes
+    public void addSheetListener(SheetListener listener) {
+        sheetListeners.add(listener);
+    }
+    
+    // Watcher thread. Decoding and recutting happen here, the event thread only runs the swaps.
+    // A file that can't be read, or is too small for what is cut from it, changes nothing
+    private void reloadSheet(Texture texture) {
+        BufferedImage image = textures.decode(texture.name);
+        if (image == null) return; // Reported by decode, probably caught halfway through a save
+        List<Runnable> swaps = new ArrayList<>();
+        swaps.add(() -> textures.replace(texture, image)); // First, so rebuilt layers draw the new sheet
+        try {
+            for (SheetListener listener : sheetListeners) {
+                Runnable swap = listener.sheetChanged(texture, image);
+                if (swap != null) {
+                    swaps.add(swap);
+                }
+            }
+        } catch (RuntimeException e) {
+            System.err.println("Error reloading image " + texture.name + ": " + e.getMessage());
+            return;
+        }
+        EventQueue.invokeLater(() -> {
+            for (Runnable swap : swaps) {
+                swap.run();
+            }
+        });
+    }
+    
+    // Watcher thread. A broken file keeps the tuning in use, the game never sees a half-applied one
+    private void reloadTuning() {
+        AssetLoadEvent event = new AssetLoadEvent();
+        event.begin();
+        boolean loaded = false;
+        try {
+            tuning.set(Tuning.parse(Files.readAllLines(Tuning.FILE)));
+            loaded = true;
+        } catch (IOException | IllegalArgumentException e) {
+            System.err.println("Error reloading tuning: " + e.getMessage());
+        }
+        commit(event, Tuning.FILE.getFileName().toString(), "tuning", loaded);
+    }
+    
+    // VT323 at the given style and size, or Monospaced if it failed to load
+    public Font font(int style, float size) {
+        if (baseFont != null) {
+            return baseFont.deriveFont(style, size);
+        }
+        return new Font("Monospaced", style, (int)size);
+    }
+    
+    // Glyph atlas for font(style, size), built on first draw and shared by every screen
+    public BitmapFont bitmapFont(int style, float size, boolean antialiased) {
+        String key = style + "/" + size + "/" + antialiased;
+        BitmapFont bitmapFont = bitmapFonts.get(key);
+        if (bitmapFont == null) {
+            bitmapFont = new BitmapFont(font(style, size), antialiased);
+            bitmapFonts.put(key, bitmapFont);
+        }
+        return bitmapFont;
+    }
+    
+    // Sprite sheet by the name data files use for it
+    public Texture texture(String name) {
+        switch (name) {
+            case "explosion": return explosionSheet;
+            case "all": return allSheet;
+            case "enemy": return enemySheet;
+            case "player": return playerSheet;
+            case "exhaust": return exhaustSheet;
+            case "bullets": return bulletSheet;
+            case "ui": return uiSheet;
+            case "asteroids": return asteroidSheet;
+            default: throw new IllegalArgumentException("unknown sheet " + name);
+        }
+    }
+    
+    // Only called when the application exits
+    public void dispose() {
+        if (themeClip != null) themeClip.close();
+        if (bossClip != null) bossClip.close();
+    }
+    
+    private static Clip loadClip(String name) {
+        AssetLoadEvent event = new AssetLoadEvent();
+        event.begin();
+        Clip clip = null;
+        try {
+            AudioInputStream audioStream = AudioSystem.getAudioInputStream(new File("../Assets/" + name));
+            clip = AudioSystem.getClip();
+            clip.open(audioStream);
+        } catch (Exception e) {
+            System.err.println("Error loading music " + name + ": " + e.getMessage());
+            clip = null;
+        }
+        commit(event, name, "music", clip != null);
+        return clip;
+    }
+    
+    static void commit(AssetLoadEvent event, String name, String kind, boolean loaded) {
+        event.end();
+        if (event.shouldCommit()) {
+            event.name = name;
+            event.kind = kind;
+            event.loaded = loaded;
+            event.commit();
+        }
+    }
+}
@@ -0,0 +1,41 @@
+import java.util.Random;
+
+// Game random number generator
+// Same LCG as java.util.Random, but the seed is exposed so it can be saved and restored
+class GameRandom extends Random {
+    private static final long serialVersionUID = 1L; // Never serialized, saves go through getState
+    private static final long MULTIPLIER = 0x5DEECE66DL;
+    private static final long ADDEND = 0xBL;
+    private static final long MASK = (1L << 48) - 1;
+    
+    private long state;
+    
+    public GameRandom() {
+        super();
+    }
+    
+    public GameRandom(long seed) {
+        super(seed);
+    }
+    
+    @Override
+    public void setSeed(long seed) {
+        // Called from the Random constructor, before our own fields are initialized
+        super.setSeed(seed);
+        state = (seed ^ MULTIPLIER) & MASK;
+    }
+    
+    @Override
+    protected int next(int bits) {
+        state = (state * MULTIPLIER + ADDEND) & MASK;
+        return (int)(state >>> (48 - bits));
+    }
+    
+    public long getState() {
+        return state;
+    }
+    
+    public void setState(long state) {
+        this.state = state & MASK;
+    }
+}
@@ -0,0 +1,127 @@
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.*;
+import java.util.zip.CRC32;
+
+// Binary snapshot file format for saving and restoring a SpaceGame
+// Layout: magic (4) | version (2) | payload length (4) | payload CRC32 (8) | payload
+class GameSnapshot {
+    static final int MAGIC = 0x564F4944; // "VOID"
+    static final short VERSION = 7;
+    static final int HEADER_SIZE = 4 + 2 + 4 + 8;
+    static final int MAX_SIZE = 1024 * 1024; // Plenty for every entity list at its cap, boss bullets included
+    
+    static final Path SAVE_DIR = Paths.get("../saves");
+    static final Path QUICK_SAVE = SAVE_DIR.resolve("quicksave.dat");
+    static final Path AUTO_SAVE = SAVE_DIR.resolve("autosave.dat");
+    
+    private static final ThreadLocal<CRC32> CRC = ThreadLocal.withInitial(CRC32::new); // Batch games save on several threads
+    
+    // Reusable buffer so saving and loading don't allocate once warmed up
+    static ByteBuffer createBuffer() {
+        return ByteBuffer.allocateDirect(MAX_SIZE);
+    }
+    
+    // Capture the game state into the buffer (header included), ready to be read or written out
+    static void capture(SpaceGame game, ByteBuffer buffer) {
+        buffer.clear();
+        buffer.position(HEADER_SIZE);
+        game.writeState(buffer);
+        int end = buffer.position();
+        int length = end - HEADER_SIZE;
+        
+        buffer.position(HEADER_SIZE);
+        buffer.limit(end);
+        CRC32 crc = CRC.get();
+        crc.reset();
+        crc.update(buffer);
+        
+        buffer.clear();
+        buffer.putInt(MAGIC);
+        buffer.putShort(VERSION);
+        buffer.putInt(length);
+        buffer.putLong(crc.getValue());
+        buffer.position(0);
+        buffer.limit(end);
+    }
+    
+    // Restore the game from a buffer produced by capture(). All or nothing: undo receives the
+    // current state first, and gets it back if the payload turns out not to parse
+    static void restore(SpaceGame game, ByteBuffer buffer, ByteBuffer undo) throws IOException {
+        buffer.position(0);
+        if (buffer.remaining() < HEADER_SIZE || buffer.getInt() != MAGIC) {
+            throw new IOException("Not a game snapshot");
+        }
+        short version = buffer.getShort();
+        if (version != VERSION) {
+            throw new IOException("Unsupported snapshot version " + version);
+        }
+        int length = buffer.getInt();
+        long checksum = buffer.getLong();
+        if (length < 0 || length > buffer.remaining()) {
+            throw new IOException("Truncated snapshot");
+        }
+        
+        int start = buffer.position();
+        buffer.limit(start + length);
+        CRC32 crc = CRC.get();
+        crc.reset();
+        crc.update(buffer);
+        if (crc.getValue() != checksum) {
+            throw new IOException("Snapshot checksum mismatch");
+        }
+        
+        undo.clear();
+        game.writeState(undo);
+        undo.flip();
+        
+        buffer.position(start);
+        String problem;
+        try {
+            game.readSimulation(buffer);
+            if (!buffer.hasRemaining()) {
+                game.followRestoredState();
+                return;
+            }
+            problem = buffer.remaining() + " bytes left over";
+        } catch (RuntimeException e) {
+            problem = e.toString();
+        }
+        game.readSimulation(undo);
+        throw new IOException("Snapshot doesn't match this version's layout (" + problem + ")");
+    }
+    
+    static void save(SpaceGame game, Path file, ByteBuffer buffer) throws IOException {
+        capture(game, buffer);
+        Files.createDirectories(file.toAbsolutePath().getParent());
+        
+        // Write to a temp file first so a crash mid-write never corrupts the previous save
+        Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+        }
+        try {
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+    
+    static void load(SpaceGame game, Path file, ByteBuffer buffer, ByteBuffer undo) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            if (channel.size() > buffer.capacity()) {
+                throw new IOException("Snapshot too large: " + channel.size() + " bytes");
+            }
+            buffer.clear();
+            while (channel.read(buffer) > 0) {
+                // Keep reading until the whole file is in the buffer
+            }
+        }
+        buffer.flip();
+        restore(game, buffer, undo);
+    }
+}
@@ -1,27 +1,51 @@
 import javax.swing.*;
 import java.awt.*;
+import java.io.IOException;
+import java.net.InetSocketAddress;
 
 public class GameWindow extends JFrame {
+    private static final String USAGE = "Usage: java GameWindow [--bot] [--host PORT | --join HOST:PORT] "
+        + "[--broadcast PORT | --spectate HOST:PORT] [--lag MS] [--loss PERCENT]";
+    
     private CardLayout cardLayout;
     private JPanel mainPanel;
+    private GameAssets assets;
     private MenuScreen menuScreen;
     private SpaceGame spaceGame;
+    private HighScoreStore highScoreStore;
+    private BotPolicy bot; // Plays every started game when set (--bot)
+    private int hostPort = -1; // --host PORT, wait for a co-op partner
+    private InetSocketAddress joinAddress; // --join HOST:PORT, play as the second ship
+    private LinkConditioner link = LinkConditioner.none(); // --lag MS --loss PERCENT for testing
+    private int broadcastPort = -1; // --broadcast PORT, stream games to spectators
+    private SpectatorServer spectatorServer;
+    private InetSocketAddress spectateAddress; // --spectate HOST:PORT, watch instead of play
     
     public GameWindow() {
+        this(null);
+    }
+    
+    public GameWindow(BotPolicy bot) {
         super("VOID - Main Menu");
+        this.bot = bot;
         
         cardLayout = new CardLayout();
         mainPanel = new JPanel(cardLayout);
         
-        // Create menu screen
-        menuScreen = new MenuScreen(this);
+        // Everything is loaded once here and shared by both screens
+        assets = GameAssets.load(true);
+        assets.startWatching(); // Tuning and sprite sheet edits apply live
+        
+        // Create menu screen, it stays alive for the whole session
+        menuScreen = new MenuScreen(this, assets);
         mainPanel.add(menuScreen, "MENU");
         
         add(mainPanel);
         pack();
         setDefaultCloseOperation(JFrame.EXIT_ON_CLOSE);
         setLocationRelativeTo(null);
-        setResizable(false);
+        setResizable(true); // Screens scale their fixed 800x600 frame to any size
+        setMinimumSize(new Dimension(400, 300));
         setVisible(true);
         
         // Start with menu
@@ -31,52 +55,178 @@ public class GameWindow extends JFrame {
     public void showMenu() {
         setTitle("VOID - Main Menu");
         
-        // Stop and cleanup old game if it exists
+        // Pause the game, it is reset the next time it starts
         if (spaceGame != null) {
-            spaceGame.cleanup();
-            mainPanel.remove(spaceGame);
-            spaceGame = null;
+            spaceGame.suspend();
         }
         
-        // Stop old menu music if exists
-        if (menuScreen != null) {
-            menuScreen.stopMusic();
-            mainPanel.remove(menuScreen);
-        }
-        
-        // Create fresh menu screen
-        menuScreen = new MenuScreen(this);
-        mainPanel.add(menuScreen, "MENU");
+        menuScreen.reset();
+        menuScreen.resume();
         
         cardLayout.show(mainPanel, "MENU");
         menuScreen.requestFocusInWindow();
     }
     
     public void startGame() {
-        setTitle("VOID - Space Combat");
+        startGame(false);
+    }
+    
+    // Endless mode swaps the scripted boss for generated sectors that never run out
+    public void startGame(boolean endless) {
+        setTitle(endless ? "VOID - Endless" : "VOID - Space Combat");
         
-        // Stop menu music before starting game
-        if (menuScreen != null) {
-            menuScreen.stopMusic();
-        }
+        // Stop menu music and animation before starting game
+        menuScreen.suspend();
         
-        // Remove old game if exists
-        if (spaceGame != null) {
-            spaceGame.cleanup();
-            mainPanel.remove(spaceGame);
+        // The game screen is created once, later starts just reset it
+        if (spaceGame == null) {
+            spaceGame = new SpaceGame(this, assets);
+            spaceGame.setBot(bot);
+            spaceGame.setBroadcast(openSpectatorServer());
+            mainPanel.add(spaceGame, "GAME");
+            if (!spaceGame.isRecovered()) {
+                spaceGame.setEndless(endless); // A recovered run keeps the mode it was saved in
+            }
+        } else {
+            spaceGame.reset();
+            spaceGame.setEndless(endless);
         }
-        
-        // Create new game
-        spaceGame = new SpaceGame(this);
-        mainPanel.add(spaceGame, "GAME");
+        if (spectateAddress != null) {
+            spaceGame.setSpectating(SpectatorClient.connect(spectateAddress));
+        } else if (hostPort >= 0 || joinAddress != null) {
+            spaceGame.setNetplay(openNetplay());
+        }
+        spaceGame.resume();
         
         cardLayout.show(mainPanel, "GAME");
         spaceGame.requestFocusInWindow();
     }
     
+    public void configureNetplay(int hostPort, InetSocketAddress joinAddress, LinkConditioner link) {
+        this.hostPort = hostPort;
+        this.joinAddress = joinAddress;
+        this.link = link;
+    }
+    
+    private RollbackSession openNetplay() {
+        try {
+            return joinAddress != null
+                ? RollbackSession.join(joinAddress, link)
+                : RollbackSession.host(hostPort, link);
+        } catch (IOException e) {
+            System.err.println("Error opening netplay: " + e.getMessage());
+            return null; // Play alone instead
+        }
+    }
+    
+    public void configureSpectators(int broadcastPort, InetSocketAddress spectateAddress) {
+        this.broadcastPort = broadcastPort;
+        this.spectateAddress = spectateAddress;
+    }
+    
+    private SpectatorServer openSpectatorServer() {
+        if (broadcastPort < 0 || spectatorServer != null) return spectatorServer;
+        try {
+            spectatorServer = new SpectatorServer(broadcastPort);
+        } catch (IOException e) {
+            System.err.println("Error starting spectator server: " + e.getMessage());
+        }
+        return spectatorServer;
+    }
+    
+    public HighScoreStore getHighScoreStore() {
+        // Created on first use, the store only touches disk on its own thread
+        if (highScoreStore == null) {
+            highScoreStore = new HighScoreStore();
+        }
+        return highScoreStore;
+    }
+    
+    // Current screens, for tools like SoakRunner
+    SpaceGame getSpaceGame() {
+        return spaceGame;
+    }
+    
+    MenuScreen getMenuScreen() {
+        return menuScreen;
+    }
+    
     public static void main(String[] args) {
+        boolean useBot = false;
+        int hostPort = -1;
+        InetSocketAddress joinAddress = null;
+        int lagMs = 0;
+        int lossPercent = 0;
+        int broadcastPort = -1;
+        InetSocketAddress spectateAddress = null;
+        try {
+            for (int i = 0; i < args.length; i++) {
+                switch (args[i]) {
+                    case "--bot": useBot = true; break;
+                    case "--host": hostPort = parseInt(args, ++i, 0, 65535); break;
+                    case "--join": joinAddress = parseAddress(args, ++i); break;
+                    case "--broadcast": broadcastPort = parseInt(args, ++i, 0, 65535); break;
+                    case "--spectate": spectateAddress = parseAddress(args, ++i); break;
+                    case "--lag": lagMs = parseInt(args, ++i, 0, Integer.MAX_VALUE); break;
+                    case "--loss": lossPercent = parseInt(args, ++i, 0, 100); break;
+                    default: System.err.println("Error: unknown option " + args[i]);
+                }
+            }
+        } catch (IllegalArgumentException e) {
+            System.err.println("Error parsing arguments: " + e.getMessage());
+            System.err.println(USAGE);
+            System.exit(1);
+        }
+        
+        boolean bot = useBot;
+        int port = hostPort;
+        InetSocketAddress join = joinAddress;
+        LinkConditioner link = new LinkConditioner(lagMs, lossPercent);
+        int broadcast = broadcastPort;
+        InetSocketAddress spectate = spectateAddress;
         SwingUtilities.invokeLater(() -> {
-            new GameWindow();
+            GameWindow window = new GameWindow(bot ? new AutoPilot() : null);
+            window.configureNetplay(port, join, link);
+            window.configureSpectators(broadcast, spectate);
         });
     }
+    
+    // The value after the option at i - 1
+    private static String value(String[] args, int i) {
+        if (i >= args.length) {
+            throw new IllegalArgumentException(args[i - 1] + " needs a value");
+        }
+        return args[i];
+    }
+    
+    private static int parseInt(String[] args, int i, int min, int max) {
+        String text = value(args, i);
+        try {
+            int value = Integer.parseInt(text);
+            if (value >= min && value <= max) {
+                return value;
+            }
+        } catch (NumberFormatException e) {
+            // Reported below with the option it belongs to
+        }
+        throw new IllegalArgumentException(args[i - 1] + " expects a number from " + min + " to " + max + ", got " + text);
+    }
+    
+    // HOST:PORT
+    private static InetSocketAddress parseAddress(String[] args, int i) {
+        String text = value(args, i);
+        int colon = text.lastIndexOf(':');
+        if (colon <= 0) {
+            throw new IllegalArgumentException(args[i - 1] + " expects HOST:PORT, got " + text);
+        }
+        try {
+            int port = Integer.parseInt(text.substring(colon + 1));
+            if (port > 0 && port <= 65535) {
+                return new InetSocketAddress(text.substring(0, colon), port);
+            }
+        } catch (NumberFormatException e) {
+            // Reported below with the option it belongs to
+        }
+        throw new IllegalArgumentException(args[i - 1] + " expects HOST:PORT, got " + text);
+    }
 }
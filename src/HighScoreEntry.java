@@ -0,0 +1,15 @@
+// High score entry class
+// A single finished run
+class HighScoreEntry {
+    final long time;
+    final int score;
+    final int kills;
+    final boolean won;
+    
+    public HighScoreEntry(long time, int score, int kills, boolean won) {
+        this.time = time;
+        this.score = score;
+        this.kills = kills;
+        this.won = won;
+    }
+}
@@ -0,0 +1,221 @@
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.*;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.zip.CRC32;
+
+// High score store
+// A journal merged into a sorted table, all file access on one background thread.
+class HighScoreStore {
+    static final Path TABLE_FILE = GameSnapshot.SAVE_DIR.resolve("highscores.dat");
+    static final Path JOURNAL_FILE = GameSnapshot.SAVE_DIR.resolve("highscores.journal");
+    
+    private static final int TABLE_MAGIC = 0x56484953; // "VHIS"
+    private static final int TABLE_HEADER_SIZE = 4 + 4;
+    private static final int RECORD_SIZE = 8 + 4 + 4 + 4 + 4; // time, score, kills, flags, crc
+    private static final int COMPACT_THRESHOLD = 64;
+    private static final int MAX_ENTRIES = 1000; // Older results below this rank are dropped on compaction
+    
+    private final ExecutorService worker;
+    
+    public HighScoreStore() {
+        worker = Executors.newSingleThreadExecutor(r -> {
+            Thread thread = new Thread(r, "HighScoreStore");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+    
+    // Append a finished run, returns immediately
+    public void submit(int score, int kills, boolean won) {
+        HighScoreEntry entry = new HighScoreEntry(System.currentTimeMillis(), score, kills, won);
+        worker.execute(() -> {
+            try {
+                append(entry);
+            } catch (IOException e) {
+                System.err.println("Error saving high score: " + e.getMessage());
+            }
+        });
+    }
+    
+    // Best n results, best first
+    public CompletableFuture<List<HighScoreEntry>> loadTop(int n) {
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                List<HighScoreEntry> entries = readTable(n);
+                entries.addAll(readJournal());
+                return best(entries, n);
+            } catch (IOException | RuntimeException e) {
+                // Whatever goes wrong, the menu gets an empty table instead of waiting forever
+                System.err.println("Error loading high scores: " + e.getMessage());
+                return new ArrayList<>();
+            }
+        }, worker);
+    }
+    
+    private void append(HighScoreEntry entry) throws IOException {
+        Files.createDirectories(JOURNAL_FILE.toAbsolutePath().getParent());
+        ByteBuffer buf = ByteBuffer.allocate(RECORD_SIZE);
+        writeRecord(buf, entry);
+        buf.flip();
+        
+        long journalSize;
+        try (FileChannel channel = FileChannel.open(JOURNAL_FILE, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+            while (buf.hasRemaining()) {
+                channel.write(buf);
+            }
+            channel.force(false);
+            journalSize = channel.size();
+        }
+        
+        if (journalSize / RECORD_SIZE >= COMPACT_THRESHOLD) {
+            compact();
+        }
+    }
+    
+    // Merge the journal into the sorted table, then empty the journal
+    private void compact() throws IOException {
+        List<HighScoreEntry> entries = readTable(Integer.MAX_VALUE);
+        entries.addAll(readJournal());
+        entries = best(entries, MAX_ENTRIES);
+        
+        ByteBuffer buf = ByteBuffer.allocate(TABLE_HEADER_SIZE + entries.size() * RECORD_SIZE);
+        buf.putInt(TABLE_MAGIC);
+        buf.putInt(entries.size());
+        for (HighScoreEntry entry : entries) {
+            writeRecord(buf, entry);
+        }
+        buf.flip();
+        
+        Path temp = TABLE_FILE.resolveSibling(TABLE_FILE.getFileName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            while (buf.hasRemaining()) {
+                channel.write(buf);
+            }
+            channel.force(true);
+        }
+        try {
+            Files.move(temp, TABLE_FILE, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(temp, TABLE_FILE, StandardCopyOption.REPLACE_EXISTING);
+        }
+        
+        // A crash before this point leaves entries in both files, best() drops the duplicates
+        try (FileChannel channel = FileChannel.open(JOURNAL_FILE, StandardOpenOption.WRITE)) {
+            channel.truncate(0);
+        }
+    }
+    
+    // Read the first n records of the sorted table
+    private List<HighScoreEntry> readTable(int n) throws IOException {
+        List<HighScoreEntry> entries = new ArrayList<>();
+        if (!Files.exists(TABLE_FILE)) return entries;
+        
+        try (FileChannel channel = FileChannel.open(TABLE_FILE, StandardOpenOption.READ)) {
+            ByteBuffer header = ByteBuffer.allocate(TABLE_HEADER_SIZE);
+            readFully(channel, header, 0);
+            // A short header, a wrong magic or a negative count all mean the file can't be trusted
+            boolean valid = header.remaining() == TABLE_HEADER_SIZE && header.getInt() == TABLE_MAGIC;
+            int stored = valid ? header.getInt() : -1;
+            if (stored < 0) {
+                System.err.println("High score table is corrupt, ignoring it");
+                return entries;
+            }
+            int count = Math.min(stored, n);
+            long available = (channel.size() - TABLE_HEADER_SIZE) / RECORD_SIZE;
+            count = (int)Math.min(count, available);
+            
+            ByteBuffer buf = ByteBuffer.allocate(count * RECORD_SIZE);
+            readFully(channel, buf, TABLE_HEADER_SIZE);
+            for (int i = 0; i < count; i++) {
+                HighScoreEntry entry = readRecord(buf);
+                if (entry != null) {
+                    entries.add(entry);
+                }
+            }
+        }
+        return entries;
+    }
+    
+    private List<HighScoreEntry> readJournal() throws IOException {
+        List<HighScoreEntry> entries = new ArrayList<>();
+        if (!Files.exists(JOURNAL_FILE)) return entries;
+        
+        try (FileChannel channel = FileChannel.open(JOURNAL_FILE, StandardOpenOption.READ)) {
+            int count = (int)(channel.size() / RECORD_SIZE); // A torn last record is ignored
+            ByteBuffer buf = ByteBuffer.allocate(count * RECORD_SIZE);
+            readFully(channel, buf, 0);
+            for (int i = 0; i < count; i++) {
+                HighScoreEntry entry = readRecord(buf);
+                if (entry != null) {
+                    entries.add(entry);
+                }
+            }
+        }
+        return entries;
+    }
+    
+    private static void readFully(FileChannel channel, ByteBuffer buf, long position) throws IOException {
+        while (buf.hasRemaining()) {
+            int read = channel.read(buf, position + buf.position());
+            if (read < 0) break;
+        }
+        buf.flip();
+    }
+    
+    // Sort best first and drop duplicates left behind by an interrupted compaction
+    private static List<HighScoreEntry> best(List<HighScoreEntry> entries, int n) {
+        entries.sort((a, b) -> {
+            if (a.score != b.score) return Integer.compare(b.score, a.score);
+            return Long.compare(a.time, b.time);
+        });
+        List<HighScoreEntry> result = new ArrayList<>();
+        HighScoreEntry previous = null;
+        for (HighScoreEntry entry : entries) {
+            if (result.size() >= n) break;
+            if (previous != null && previous.time == entry.time && previous.score == entry.score) continue;
+            result.add(entry);
+            previous = entry;
+        }
+        return result;
+    }
+    
+    private static void writeRecord(ByteBuffer buf, HighScoreEntry entry) {
+        int start = buf.position();
+        buf.putLong(entry.time);
+        buf.putInt(entry.score);
+        buf.putInt(entry.kills);
+        buf.putInt(entry.won ? 1 : 0);
+        buf.putInt(checksum(buf, start));
+    }
+    
+    // Returns null if the record fails its checksum
+    private static HighScoreEntry readRecord(ByteBuffer buf) {
+        int start = buf.position();
+        long time = buf.getLong();
+        int score = buf.getInt();
+        int kills = buf.getInt();
+        int flags = buf.getInt();
+        int crc = buf.getInt();
+        if (crc != checksum(buf, start)) {
+            return null;
+        }
+        return new HighScoreEntry(time, score, kills, (flags & 1) != 0);
+    }
+    
+    private static int checksum(ByteBuffer buf, int start) {
+        CRC32 crc = new CRC32();
+        ByteBuffer data = buf.duplicate();
+        data.position(start);
+        data.limit(start + RECORD_SIZE - 4);
+        crc.update(data);
+        return (int)crc.getValue();
+    }
+}
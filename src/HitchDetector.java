@@ -0,0 +1,258 @@
+import java.io.IOException;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryUsage;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+// Hitch detector
+// Reports ticks and paints over -Dvoid.hitchBudget ms to ../diagnostics/hitches.
+class HitchDetector implements Runnable {
+    static final Path DIR = Paths.get("../diagnostics/hitches");
+    static final int TICK = 0, PAINT = 1;
+    static final String[] PHASES = {"tick", "paint"};
+    static final int HISTORY = 128;          // Frames of timings in a report
+    static final int MAX_SAMPLES = 32;       // Stack samples of one overrunning phase
+    static final long SAMPLE_MILLIS = 4;
+    static final long COOLDOWN_NANOS = 5_000_000_000L;
+    static final int MAX_REPORTS = 20;
+    static final int WARMUP = 100;           // Phases ignored at the start while the JIT catches up
+    
+    private final long budgetNanos;
+    private final Thread watchdog;
+    private final ExecutorService writer;
+    
+    // Game thread
+    private final long[] history = new long[HISTORY]; // Duration in nanos, phase in the lowest bit
+    private int historyNext;
+    private long phases;
+    private long lastReport = System.nanoTime() - COOLDOWN_NANOS;
+    private int reports;
+    private long gcCountBefore = -1; // At the previous report
+    
+    // Shared with the watchdog, guarded by samples
+    private final List<String> samples = new ArrayList<>();
+    private volatile Thread current;    // Thread inside a phase, null between phases
+    private volatile long currentStart;
+    
+    private HitchDetector(long budgetNanos) {
+        this.budgetNanos = budgetNanos;
+        watchdog = new Thread(this, "hitch-watchdog");
+        watchdog.setDaemon(true);
+        watchdog.start();
+        writer = Executors.newSingleThreadExecutor(r -> {
+            Thread t = new Thread(r, "hitch-writer");
+            t.setDaemon(true);
+            t.setPriority(Thread.MIN_PRIORITY);
+            return t;
+        });
+    }
+    
+    // Null when turned off with -Dvoid.hitches=off
+    static HitchDetector fromProperty() {
+        if ("off".equals(System.getProperty("void.hitches"))) {
+            return null;
+        }
+        return new HitchDetector(Long.getLong("void.hitchBudget", 20) * 1_000_000L);
+    }
+    
+    public void begin() {
+        synchronized (samples) {
+            samples.clear();
+        }
+        currentStart = System.nanoTime();
+        current = Thread.currentThread();
+    }
+    
+    // End of a phase, `game` describes the world if it ran over budget
+    public void end(int phase, SpaceGame game) {
+        long nanos = System.nanoTime() - currentStart;
+        current = null;
+        history[historyNext] = (nanos & ~1L) | phase;
+        historyNext = (historyNext + 1) % HISTORY;
+        phases++;
+        if (nanos <= budgetNanos || phases < WARMUP) return;
+        long now = System.nanoTime();
+        if (now - lastReport < COOLDOWN_NANOS) return;
+        lastReport = now;
+        
+        // Everything that has to be read on the game thread, the writer formats the rest
+        HitchReport report = new HitchReport();
+        report.when = LocalDateTime.now();
+        report.phase = PHASES[phase];
+        report.nanos = nanos;
+        report.budgetNanos = budgetNanos;
+        report.thread = Thread.currentThread().getName();
+        report.game = game.describeForReport();
+        report.history = new long[HISTORY];
+        for (int i = 0; i < HISTORY; i++) {
+            report.history[i] = history[(historyNext + i) % HISTORY]; // Oldest first
+        }
+        synchronized (samples) {
+            report.samples = new ArrayList<>(samples);
+        }
+        report.gcCountBefore = gcCountBefore;
+        report.sequence = ++reports;
+        gcCountBefore = totalGcCount();
+        writer.execute(() -> write(report));
+    }
+    
+    // Watchdog: while a phase is past half its budget, sample the stack of the thread running it
+    @Override
+    public void run() {
+        while (true) {
+            try {
+                Thread.sleep(SAMPLE_MILLIS);
+            } catch (InterruptedException e) {
+                return;
+            }
+            Thread thread = current;
+            long start = currentStart;
+            long elapsed = System.nanoTime() - start;
+            if (thread == null || elapsed < budgetNanos / 2) continue;
+            StackTraceElement[] stack = thread.getStackTrace();
+            if (current != thread || currentStart != start) continue; // Finished meanwhile, the stack is of something else
+            StringBuilder sample = new StringBuilder();
+            sample.append(String.format("  +%.1f ms%n", elapsed / 1e6));
+            for (StackTraceElement frame : stack) {
+                sample.append("    at ").append(frame).append(System.lineSeparator());
+            }
+            synchronized (samples) {
+                if (samples.size() < MAX_SAMPLES) {
+                    samples.add(sample.toString());
+                }
+            }
+        }
+    }
+    
+    private static long totalGcCount() {
+        long count = 0;
+        for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+            count += Math.max(0, gc.getCollectionCount());
+        }
+        return count;
+    }
+    
+    // Writer thread
+    private void write(HitchReport report) {
+        try {
+            Files.createDirectories(DIR);
+            String name = "hitch-" + report.when.format(DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss")) + "-" + report.sequence + ".txt";
+            Path file = DIR.resolve(name);
+            Path temp = DIR.resolve(name + ".tmp");
+            Files.write(temp, format(report).getBytes(StandardCharsets.UTF_8));
+            try {
+                Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING);
+            }
+            rotate();
+        } catch (IOException e) {
+            System.err.println("Error writing hitch report: " + e.getMessage());
+        }
+    }
+    
+    // Drop the oldest reports past MAX_REPORTS
+    private static void rotate() throws IOException {
+        List<Path> files;
+        try (Stream<Path> list = Files.list(DIR)) {
+            files = list.filter(p -> p.getFileName().toString().startsWith("hitch-") && p.toString().endsWith(".txt"))
+                .sorted((a, b) -> Long.compare(modified(a), modified(b)))
+                .collect(Collectors.toList());
+        }
+        for (int i = 0; i < files.size() - MAX_REPORTS; i++) {
+            Files.deleteIfExists(files.get(i));
+        }
+    }
+    
+    private static long modified(Path file) {
+        try {
+            return Files.getLastModifiedTime(file).toMillis();
+        } catch (IOException e) {
+            return 0;
+        }
+    }
+    
+    private String format(HitchReport report) {
+        String nl = System.lineSeparator();
+        StringBuilder out = new StringBuilder();
+        out.append("VOID hitch report").append(nl);
+        out.append("time      ").append(report.when).append(nl);
+        out.append(String.format("overrun   %s took %.2f ms, budget %.0f ms, on %s%n",
+            report.phase, report.nanos / 1e6, report.budgetNanos / 1e6, report.thread));
+        out.append("java      ").append(System.getProperty("java.vm.name")).append(' ')
+            .append(System.getProperty("java.runtime.version")).append(", ")
+            .append(System.getProperty("os.name")).append(' ').append(System.getProperty("os.arch"))
+            .append(", ").append(Runtime.getRuntime().availableProcessors()).append(" cores").append(nl);
+        out.append(nl).append("game").append(nl).append(report.game).append(nl);
+        
+        MemoryUsage heap = ManagementFactory.getMemoryMXBean().getHeapMemoryUsage();
+        out.append(nl).append(String.format("heap      %.1f MB used of %.1f MB committed, %.1f MB max%n",
+            heap.getUsed() / 1048576.0, heap.getCommitted() / 1048576.0, heap.getMax() / 1048576.0));
+        long uptime = ManagementFactory.getRuntimeMXBean().getUptime();
+        long gcCount = 0;
+        for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+            gcCount += Math.max(0, gc.getCollectionCount());
+            out.append(String.format("gc        %s: %d collections, %d ms total", gc.getName(), gc.getCollectionCount(), gc.getCollectionTime()));
+            if (gc instanceof com.sun.management.GarbageCollectorMXBean) {
+                com.sun.management.GcInfo last = ((com.sun.management.GarbageCollectorMXBean) gc).getLastGcInfo();
+                if (last != null) {
+                    out.append(String.format(", last took %d ms and ended %.2f s before this report", last.getDuration(), (uptime - last.getEndTime()) / 1000.0));
+                }
+            }
+            out.append(nl);
+        }
+        if (report.gcCountBefore >= 0) {
+            out.append("gc        ").append(gcCount - report.gcCountBefore).append(" collections since the previous report").append(nl);
+        }
+        
+        out.append(nl).append("last ").append(HISTORY).append(" phases, oldest first, ms").append(nl);
+        int column = 0;
+        for (long entry : report.history) {
+            if (entry == 0) continue;
+            out.append(String.format("%s %6.2f", (entry & 1) == TICK ? "t" : "p", (entry & ~1L) / 1e6));
+            out.append(++column % 8 == 0 ? nl : "   ");
+        }
+        if (column % 8 != 0) {
+            out.append(nl);
+        }
+        
+        out.append(nl).append(report.samples.size()).append(" samples of ").append(report.thread).append(" while it overran").append(nl);
+        for (String sample : report.samples) {
+            out.append(sample);
+        }
+        
+        out.append(nl).append("all threads when the report was written").append(nl);
+        for (Map.Entry<Thread, StackTraceElement[]> entry : Thread.getAllStackTraces().entrySet()) {
+            Thread thread = entry.getKey();
+            out.append(String.format("\"%s\" %s%s%n", thread.getName(), thread.getState(), thread.isDaemon() ? " daemon" : ""));
+            for (StackTraceElement frame : entry.getValue()) {
+                out.append("    at ").append(frame).append(nl);
+            }
+        }
+        return out.toString();
+    }
+}
+
+// What the game thread hands the writer for one report
+class HitchReport {
+    LocalDateTime when;
+    String phase;
+    long nanos;
+    long budgetNanos;
+    String thread;
+    String game;
+    long[] history;
+    List<String> samples;
+    long gcCountBefore;
+    int sequence;
+}
@@ -0,0 +1,16 @@
+// Input actions, keys are mapped onto these by InputBindings
+enum InputAction {
+    MOVE_LEFT,
+    MOVE_RIGHT,
+    MOVE_UP,
+    MOVE_DOWN,
+    CONFIRM,
+    PAUSE,
+    MENU_BACK,
+    REWIND,
+    QUICK_SAVE,
+    QUICK_LOAD,
+    RESTART;
+    
+    final int bit = 1 << ordinal();
+}
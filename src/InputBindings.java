@@ -0,0 +1,93 @@
+import java.awt.event.KeyEvent;
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Properties;
+
+// Key bindings class
+// Key codes to InputAction masks, overridden with lines like MOVE_LEFT=LEFT,A.
+class InputBindings {
+    static final Path CONFIG_FILE = Paths.get("../config/bindings.properties");
+    private static final int MAX_KEY_CODE = 0x10000;
+    
+    private final int[] actionsByKey = new int[MAX_KEY_CODE];
+    
+    public InputBindings() {
+        bind(InputAction.MOVE_LEFT, KeyEvent.VK_LEFT, KeyEvent.VK_A);
+        bind(InputAction.MOVE_RIGHT, KeyEvent.VK_RIGHT, KeyEvent.VK_D);
+        bind(InputAction.MOVE_UP, KeyEvent.VK_UP, KeyEvent.VK_W);
+        bind(InputAction.MOVE_DOWN, KeyEvent.VK_DOWN, KeyEvent.VK_S);
+        bind(InputAction.CONFIRM, KeyEvent.VK_ENTER);
+        bind(InputAction.PAUSE, KeyEvent.VK_ESCAPE);
+        bind(InputAction.MENU_BACK, KeyEvent.VK_ESCAPE, KeyEvent.VK_BACK_SPACE);
+        bind(InputAction.REWIND, KeyEvent.VK_BACK_SPACE);
+        bind(InputAction.QUICK_SAVE, KeyEvent.VK_F5);
+        bind(InputAction.QUICK_LOAD, KeyEvent.VK_F9);
+        bind(InputAction.RESTART, KeyEvent.VK_R);
+    }
+    
+    // Defaults plus any overrides from the config file
+    public static InputBindings load() {
+        InputBindings bindings = new InputBindings();
+        if (Files.exists(CONFIG_FILE)) {
+            try (Reader reader = Files.newBufferedReader(CONFIG_FILE)) {
+                Properties properties = new Properties();
+                properties.load(reader);
+                bindings.apply(properties);
+            } catch (IOException e) {
+                System.err.println("Error loading key bindings: " + e.getMessage());
+            }
+        }
+        return bindings;
+    }
+    
+    public void bind(InputAction action, int... keyCodes) {
+        for (int keyCode : keyCodes) {
+            actionsByKey[keyCode] |= action.bit;
+        }
+    }
+    
+    public void unbind(InputAction action) {
+        for (int i = 0; i < actionsByKey.length; i++) {
+            actionsByKey[i] &= ~action.bit;
+        }
+    }
+    
+    // Bitmask of the actions bound to a key
+    public int actionsFor(int keyCode) {
+        if (keyCode < 0 || keyCode >= MAX_KEY_CODE) return 0;
+        return actionsByKey[keyCode];
+    }
+    
+    private void apply(Properties properties) {
+        for (String name : properties.stringPropertyNames()) {
+            InputAction action;
+            try {
+                action = InputAction.valueOf(name.trim());
+            } catch (IllegalArgumentException e) {
+                System.err.println("Unknown input action in bindings: " + name);
+                continue;
+            }
+            
+            unbind(action);
+            for (String keyName : properties.getProperty(name).split(",")) {
+                int keyCode = keyCodeFor(keyName.trim());
+                if (keyCode >= 0) {
+                    bind(action, keyCode);
+                } else {
+                    System.err.println("Unknown key in bindings: " + keyName);
+                }
+            }
+        }
+    }
+    
+    private static int keyCodeFor(String keyName) {
+        try {
+            return KeyEvent.class.getField("VK_" + keyName.toUpperCase()).getInt(null);
+        } catch (ReflectiveOperationException e) {
+            return -1;
+        }
+    }
+}
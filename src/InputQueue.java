@@ -0,0 +1,53 @@
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+// Input event queue
+// Bounded lock-free queue, many producers and one consumer.
+class InputQueue {
+    private final int mask;
+    private final int[] events;
+    private final AtomicLongArray sequences;
+    private final AtomicLong tail = new AtomicLong();
+    private long head; // Only touched by the consumer
+    
+    public InputQueue(int capacity) {
+        int size = Integer.highestOneBit(Math.max(2, capacity - 1)) << 1; // Round up to a power of two
+        this.mask = size - 1;
+        this.events = new int[size];
+        this.sequences = new AtomicLongArray(size);
+        for (int i = 0; i < size; i++) {
+            sequences.set(i, i);
+        }
+    }
+    
+    // Returns false if the queue is full, the event is then dropped
+    public boolean offer(int event) {
+        while (true) {
+            long pos = tail.get();
+            int slot = (int)(pos & mask);
+            long sequence = sequences.get(slot);
+            if (sequence == pos) {
+                if (tail.compareAndSet(pos, pos + 1)) {
+                    events[slot] = event;
+                    sequences.lazySet(slot, pos + 1); // Publishes the event to the consumer
+                    return true;
+                }
+            } else if (sequence < pos) {
+                return false;
+            }
+        }
+    }
+    
+    public boolean isEmpty() {
+        return sequences.get((int)(head & mask)) != head + 1;
+    }
+    
+    // Returns the next event, call isEmpty() first
+    public int poll() {
+        int slot = (int)(head & mask);
+        int event = events[slot];
+        sequences.lazySet(slot, head + mask + 1); // Hands the slot back to producers
+        head++;
+        return event;
+    }
+}
@@ -0,0 +1,123 @@
+import java.awt.event.KeyEvent;
+import java.util.Arrays;
+
+// Input system class
+// Queues key events and injected actions, sampled once per tick.
+class InputSystem {
+    private static final int PRESS = 1;
+    private static final int RELEASE = 2;
+    private static final int REPEAT = 3; // Held key auto-repeat, counts as a press but not a new hold
+    
+    private final InputBindings bindings;
+    private final InputQueue queue = new InputQueue(1024);
+    private volatile boolean overflowed; // Set when an event had to be dropped
+    private final boolean[] keyDown = new boolean[0x10000]; // Producer side, EDT only
+    
+    // Consumer side, only touched in sample()
+    private final int[] holdCount = new int[InputAction.values().length];
+    private int held;
+    private int pressed;
+    
+    public InputSystem(InputBindings bindings) {
+        this.bindings = bindings;
+    }
+    
+    public InputBindings getBindings() {
+        return bindings;
+    }
+    
+    // Called from the KeyListener on the EDT
+    public void keyPressed(KeyEvent e) {
+        int keyCode = e.getKeyCode();
+        if (keyCode < 0 || keyCode >= keyDown.length) return;
+        int type = keyDown[keyCode] ? REPEAT : PRESS;
+        keyDown[keyCode] = true;
+        postActions(bindings.actionsFor(keyCode), type);
+    }
+    
+    public void keyReleased(KeyEvent e) {
+        int keyCode = e.getKeyCode();
+        if (keyCode < 0 || keyCode >= keyDown.length || !keyDown[keyCode]) return;
+        keyDown[keyCode] = false;
+        postActions(bindings.actionsFor(keyCode), RELEASE);
+    }
+    
+    // Injection point for bots and replays, safe from any thread
+    public void inject(InputAction action, boolean down) {
+        offer(event(action.ordinal(), down ? PRESS : RELEASE));
+    }
+    
+    // Drain the events queued since the last tick into the current input state
+    public void sample() {
+        pressed = 0;
+        while (!queue.isEmpty()) {
+            int event = queue.poll();
+            int action = event >>> 2;
+            int type = event & 3;
+            int bit = 1 << action;
+            if (type == PRESS) {
+                holdCount[action]++;
+                pressed |= bit;
+            } else if (type == REPEAT) {
+                pressed |= bit;
+            } else if (holdCount[action] > 0) {
+                holdCount[action]--;
+            }
+            if (holdCount[action] > 0) {
+                held |= bit;
+            } else {
+                held &= ~bit;
+            }
+        }
+        
+        // A lost release would leave an action stuck down, so let go of everything instead
+        if (overflowed) {
+            overflowed = false;
+            Arrays.fill(holdCount, 0);
+            held = 0;
+        }
+    }
+    
+    // Forget everything currently held, e.g. when the screen loses focus
+    public void reset() {
+        while (!queue.isEmpty()) {
+            queue.poll();
+        }
+        Arrays.fill(holdCount, 0);
+        Arrays.fill(keyDown, false);
+        overflowed = false;
+        held = 0;
+        pressed = 0;
+    }
+    
+    public boolean isHeld(InputAction action) {
+        return (held & action.bit) != 0;
+    }
+    
+    // True on the tick the action went down (or auto-repeated)
+    public boolean wasPressed(InputAction action) {
+        return (pressed & action.bit) != 0;
+    }
+    
+    public int heldMask() {
+        return held;
+    }
+    
+    private void postActions(int actions, int type) {
+        while (actions != 0) {
+            int action = Integer.numberOfTrailingZeros(actions);
+            actions &= actions - 1;
+            offer(event(action, type));
+        }
+    }
+    
+    private void offer(int event) {
+        if (!queue.offer(event)) {
+            overflowed = true;
+        }
+    }
+    
+    private static int event(int action, int type) {
+        return (action << 2) | type;
+    }
+}
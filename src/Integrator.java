@@ -0,0 +1,60 @@
+// Integration backend
+// Movement, lifetime and collision loops; every implementation gives bit-identical results.
+interface Integrator {
+    // Movement: age and position += velocity, sleeping entities skipped, dead ones move too
+    void move(Archetype a);
+    
+    // Lifetime: mark dead whatever left the archetype's box
+    void cull(Archetype a);
+    
+    // Broad phase: newest live, awake entity overlapping the box, or -1
+    int hit(Archetype a, float x, float y, int w, int h);
+    
+    static Integrator select() {
+        boolean wanted = !System.getProperty("void.simd", "auto").equals("off");
+        if (wanted && ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent()) {
+            try {
+                // Looked up by name, nothing else may touch the class without the module
+                return (Integrator) Class.forName("VectorIntegrator").getDeclaredConstructor().newInstance();
+            } catch (ReflectiveOperationException | LinkageError e) {
+                System.err.println("Error starting SIMD integration: " + e);
+            }
+        }
+        return new ScalarIntegrator();
+    }
+}
+
+// One entity at a time, the reference the vector backend has to match
+class ScalarIntegrator implements Integrator {
+    @Override
+    public void move(Archetype a) {
+        float[] x = a.x, y = a.y, vx = a.vx, vy = a.vy;
+        int[] age = a.age;
+        boolean[] asleep = a.asleep;
+        for (int i = 0; i < a.count; i++) {
+            if (asleep[i]) continue;
+            age[i]++;
+            x[i] += vx[i];
+            y[i] += vy[i];
+        }
+    }
+    
+    @Override
+    public void cull(Archetype a) {
+        for (int i = 0; i < a.count; i++) {
+            if (a.y[i] < a.minY || a.y[i] > a.maxY || a.x[i] < a.minX || a.x[i] > a.maxX) {
+                a.dead[i] = true;
+            }
+        }
+    }
+    
+    @Override
+    public int hit(Archetype a, float x, float y, int w, int h) {
+        for (int i = a.count - 1; i >= 0; i--) {
+            if (!a.dead[i] && !a.asleep[i] && x < a.x[i] + a.width[i] && x + w > a.x[i] && y < a.y[i] + a.height[i] && y + h > a.y[i]) {
+                return i;
+            }
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,46 @@
+import java.io.IOException;
+import java.net.SocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.DatagramChannel;
+import java.util.PriorityQueue;
+import java.util.Random;
+
+// Link conditioner class
+// Delays and drops outgoing datagrams to test netplay on loopback
+class LinkConditioner {
+    private final long latencyNanos;
+    private final int lossPercent;
+    private final Random random = new Random();
+    private final PriorityQueue<Datagram> pending = new PriorityQueue<>((a, b) -> Long.compare(a.due, b.due));
+    
+    public LinkConditioner(int latencyMs, int lossPercent) {
+        this.latencyNanos = latencyMs * 1_000_000L;
+        this.lossPercent = lossPercent;
+    }
+    
+    static LinkConditioner none() {
+        return new LinkConditioner(0, 0);
+    }
+    
+    public void send(DatagramChannel channel, ByteBuffer packet, SocketAddress target) throws IOException {
+        if (lossPercent > 0 && random.nextInt(100) < lossPercent) {
+            return;
+        }
+        if (latencyNanos == 0) {
+            channel.send(packet, target);
+            return;
+        }
+        byte[] copy = new byte[packet.remaining()];
+        packet.get(copy);
+        pending.add(new Datagram(System.nanoTime() + latencyNanos, copy, target));
+    }
+    
+    // Send everything whose delay is up
+    public void flush(DatagramChannel channel) throws IOException {
+        long now = System.nanoTime();
+        while (!pending.isEmpty() && pending.peek().due <= now) {
+            Datagram datagram = pending.poll();
+            channel.send(ByteBuffer.wrap(datagram.data), datagram.target);
+        }
+    }
+}
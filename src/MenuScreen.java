@@ -2,17 +2,22 @@ import javax.swing.*;
 import java.awt.*;
 import java.awt.event.*;
 import java.awt.image.BufferedImage;
-import javax.imageio.ImageIO;
 import javax.sound.sampled.*;
-import java.io.File;
 import java.io.IOException;
+import java.text.SimpleDateFormat;
+import java.util.Collections;
+import java.util.Date;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.List;
 
-public class MenuScreen extends JPanel implements KeyListener {
-    private static final int WINDOW_WIDTH = 800;
-    private static final int WINDOW_HEIGHT = 600;
+public class MenuScreen extends JPanel implements KeyListener, Screen {
+    private static final int WINDOW_WIDTH = SpaceGame.WINDOW_WIDTH;
+    private static final int WINDOW_HEIGHT = SpaceGame.WINDOW_HEIGHT;
     
     private enum MenuState {
         MAIN_MENU,
+        HIGH_SCORES,
         CONTROLS,
         CREDITS,
         EXIT_CONFIRM
@@ -20,94 +25,159 @@ public class MenuScreen extends JPanel implements KeyListener {
     
     private MenuState currentState = MenuState.MAIN_MENU;
     private int selectedOption = 0;
-    private String[] mainMenuOptions = {"PLAY GAME", "CONTROLS", "MUSIC VOLUME", "CREDITS", "EXIT"};
+    private String[] mainMenuOptions = {"PLAY GAME", "ENDLESS MODE", "HIGH SCORES", "CONTROLS", "MUSIC VOLUME", "CREDITS", "EXIT"};
     private int exitConfirmSelection = 0; // 0 = No, 1 = Yes
-    private BufferedImage backgroundImage;
+    private Texture backgroundImage;
     private Font customFont;
     private Font titleFont;
+    private BitmapFont titleGlyphs; // The animated title is redrawn every tick, from a glyph atlas
     private Font optionFont;
     private boolean gameStarted = false;
     private float musicVolume = 0.7f; // 70% volume
     private Clip musicClip;
     private GameWindow gameWindow;
+    private InputBindings bindings;
+    private List<HighScoreEntry> highScores; // Null while loading
+    private static final int HIGH_SCORE_ROWS = 10;
+    
+    // Cached static layer per menu state, only re-rendered after input changes what it shows
+    private EnumMap<MenuState, BufferedImage> layers = new EnumMap<>(MenuState.class);
+    private EnumSet<MenuState> dirtyLayers = EnumSet.allOf(MenuState.class);
+    private static final int TITLE_Y = 150;
+    private static final int GLOW_SIZE = 5;
+    private static final Color[] GLOW_SHADES = new Color[256]; // Title glow by alpha, made on first use
+    private static final GradientPaint BACKDROP = new GradientPaint(0, 0, Palette.SKY_TOP, 0, WINDOW_HEIGHT, Palette.SKY_BOTTOM);
+    private Rectangle titleBounds; // Area touched by the animated title, known after the first paint
+    private FrameScaler scaler = new FrameScaler(WINDOW_WIDTH, WINDOW_HEIGHT);
     
     // Animation
     private float titleGlow = 0.0f;
     private float glowDirection = 0.02f;
     private Timer animationTimer;
     
-    public MenuScreen(GameWindow gameWindow) {
+    public MenuScreen(GameWindow gameWindow, GameAssets assets) {
         this.gameWindow = gameWindow;
         setPreferredSize(new Dimension(WINDOW_WIDTH, WINDOW_HEIGHT));
         setBackground(Color.BLACK);
         setFocusable(true);
         addKeyListener(this);
         
-        loadAssets();
-        startAnimation();
-        playMenuMusic();
+        bindings = InputBindings.load();
+        loadAssets(assets);
+        musicClip = assets.themeClip;
+        assets.addSheetListener(this::sheetChanged);
+        
+        // Started and stopped by resume() and suspend()
+        animationTimer = new Timer(50, e -> animateTitle());
     }
     
-    private void loadAssets() {
-        try {
-            // Load background image
-            backgroundImage = ImageIO.read(new File("../Assets/home.png"));
-            
-            // Load custom font
-            Font baseFont = Font.createFont(Font.TRUETYPE_FONT, new File("../Assets/VT323-Regular.ttf"));
-            titleFont = baseFont.deriveFont(Font.BOLD, 72f);
-            optionFont = baseFont.deriveFont(Font.PLAIN, 32f);
-            customFont = baseFont.deriveFont(Font.PLAIN, 24f);
-            
-        } catch (Exception e) {
-            e.printStackTrace();
-            // Fallback fonts
-            titleFont = new Font("Monospaced", Font.BOLD, 72);
-            optionFont = new Font("Monospaced", Font.PLAIN, 32);
-            customFont = new Font("Monospaced", Font.PLAIN, 24);
+    private void loadAssets(GameAssets assets) {
+        // Shared with the game, loaded once by GameWindow
+        backgroundImage = assets.homeImage;
+        titleFont = assets.font(Font.BOLD, 72f);
+        titleGlyphs = assets.bitmapFont(Font.BOLD, 72f, true);
+        optionFont = assets.font(Font.PLAIN, 32f);
+        customFont = assets.font(Font.PLAIN, 24f);
+    }
+    
+    private void animateTitle() {
+        // Only the main menu title animates, everything else is static
+        if (currentState != MenuState.MAIN_MENU) return;
+        titleGlow += glowDirection;
+        if (titleGlow >= 1.0f || titleGlow <= 0.0f) {
+            glowDirection = -glowDirection;
+        }
+        if (titleBounds != null) {
+            repaint(scaler.toOutput(titleBounds));
+        } else {
+            repaint();
         }
     }
     
-    private void playMenuMusic() {
-        try {
-            AudioInputStream audioInputStream = AudioSystem.getAudioInputStream(new File("../Assets/theme.wav"));
-            musicClip = AudioSystem.getClip();
-            musicClip.open(audioInputStream);
-            
-            // Set volume
-            FloatControl volumeControl = (FloatControl) musicClip.getControl(FloatControl.Type.MASTER_GAIN);
-            float dB = (float) (Math.log(musicVolume) / Math.log(10.0) * 20.0);
-            volumeControl.setValue(dB);
-            
+    @Override
+    public void reset() {
+        currentState = MenuState.MAIN_MENU;
+        selectedOption = 0;
+        exitConfirmSelection = 0;
+        highScores = null;
+        invalidateLayers();
+    }
+    
+    @Override
+    public void resume() {
+        if (musicClip != null) {
+            updateMusicVolume();
+            musicClip.setFramePosition(0);
             musicClip.loop(Clip.LOOP_CONTINUOUSLY);
             musicClip.start();
-        } catch (Exception e) {
-            System.out.println("Could not load menu music: " + e.getMessage());
         }
+        animationTimer.start();
     }
     
-    private void startAnimation() {
-        animationTimer = new Timer(50, e -> {
-            titleGlow += glowDirection;
-            if (titleGlow >= 1.0f || titleGlow <= 0.0f) {
-                glowDirection = -glowDirection;
-            }
-            repaint();
-        });
-        animationTimer.start();
+    @Override
+    public void suspend() {
+        // The clip is shared with the game, stop it but keep it open
+        if (musicClip != null && musicClip.isRunning()) {
+            musicClip.stop();
+        }
+        animationTimer.stop();
     }
     
     @Override
     protected void paintComponent(Graphics g) {
         super.paintComponent(g);
         Graphics2D g2d = (Graphics2D) g;
-        g2d.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
-        g2d.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
+        scaler.apply(g2d, getWidth(), getHeight());
         
-        switch (currentState) {
+        // Static layer for this state, clipped by Swing to the repainted area
+        g2d.drawImage(getLayer(currentState), 0, 0, null);
+        
+        if (currentState == MenuState.MAIN_MENU) {
+            drawTitle(g2d);
+        }
+    }
+    
+    private BufferedImage getLayer(MenuState state) {
+        BufferedImage layer = layers.get(state);
+        if (layer == null) {
+            GraphicsConfiguration config = getGraphicsConfiguration();
+            layer = config != null
+                ? config.createCompatibleImage(WINDOW_WIDTH, WINDOW_HEIGHT)
+                : new BufferedImage(WINDOW_WIDTH, WINDOW_HEIGHT, BufferedImage.TYPE_INT_RGB);
+            layers.put(state, layer);
+            dirtyLayers.add(state);
+        }
+        if (dirtyLayers.remove(state)) {
+            Graphics2D g2d = layer.createGraphics();
+            g2d.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+            g2d.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
+            drawLayer(g2d, state);
+            g2d.dispose();
+        }
+        return layer;
+    }
+    
+    private void invalidateLayers() {
+        dirtyLayers.addAll(layers.keySet());
+    }
+    
+    // Watcher thread: a new home.png only needs the main menu layer redrawn, on its next paint
+    private Runnable sheetChanged(Texture texture, BufferedImage image) {
+        if (texture != backgroundImage) return null;
+        return () -> {
+            dirtyLayers.add(MenuState.MAIN_MENU);
+            repaint();
+        };
+    }
+    
+    private void drawLayer(Graphics2D g2d, MenuState state) {
+        switch (state) {
             case MAIN_MENU:
                 drawMainMenu(g2d);
                 break;
+            case HIGH_SCORES:
+                drawHighScores(g2d);
+                break;
             case CONTROLS:
                 drawControls(g2d);
                 break;
@@ -122,52 +192,39 @@ public class MenuScreen extends JPanel implements KeyListener {
     
     private void drawMainMenu(Graphics2D g2d) {
         // Draw background
-        if (backgroundImage != null) {
-            g2d.drawImage(backgroundImage, 0, 0, WINDOW_WIDTH, WINDOW_HEIGHT, null);
+        BufferedImage background = backgroundImage.get();
+        if (background != null) {
+            g2d.drawImage(background, 0, 0, WINDOW_WIDTH, WINDOW_HEIGHT, null);
         } else {
             // Fallback gradient background
-            GradientPaint gradient = new GradientPaint(0, 0, new Color(10, 10, 30), 
-                                                        0, WINDOW_HEIGHT, new Color(30, 10, 50));
-            g2d.setPaint(gradient);
+            g2d.setPaint(BACKDROP);
             g2d.fillRect(0, 0, WINDOW_WIDTH, WINDOW_HEIGHT);
+            if (!backgroundImage.isMissing()) {
+                // Evicted and being read back, draw the layer again once it is in
+                dirtyLayers.add(MenuState.MAIN_MENU);
+                repaint(100);
+            }
         }
         
         // Semi-transparent overlay for better text visibility
-        g2d.setColor(new Color(0, 0, 0, 150));
+        g2d.setColor(Palette.SHADE);
         g2d.fillRect(0, 0, WINDOW_WIDTH, WINDOW_HEIGHT);
         
-        // Draw title "VOID" with glow effect
-        g2d.setFont(titleFont);
-        String title = "V O I D";
-        FontMetrics fm = g2d.getFontMetrics();
-        int titleX = (WINDOW_WIDTH - fm.stringWidth(title)) / 2;
-        int titleY = 150;
-        
-        // Glow effect
-        int alphaValue = Math.min(255, Math.max(0, (int)(100 * titleGlow)));
-        for (int i = 5; i > 0; i--) {
-            int glowAlpha = Math.min(255, Math.max(0, (int)(50 * titleGlow / i)));
-            g2d.setColor(new Color(138, 43, 226, glowAlpha));
-            g2d.drawString(title, titleX - i, titleY - i);
-            g2d.drawString(title, titleX + i, titleY + i);
-        }
-        
-        // Main title
-        g2d.setColor(new Color(200, 150, 255));
-        g2d.drawString(title, titleX, titleY);
+        // Title is drawn on top of this layer by drawTitle
+        int titleY = TITLE_Y;
         
         // Subtitle
         g2d.setFont(customFont);
         String subtitle = "~ Journey Through the Cosmos ~";
-        fm = g2d.getFontMetrics();
+        FontMetrics fm = g2d.getFontMetrics();
         int subtitleX = (WINDOW_WIDTH - fm.stringWidth(subtitle)) / 2;
-        g2d.setColor(new Color(150, 150, 200));
+        g2d.setColor(Palette.SUBTITLE);
         g2d.drawString(subtitle, subtitleX, titleY + 40);
         
         // Menu options
         g2d.setFont(optionFont);
-        int startY = 280;
-        int spacing = 60;
+        int startY = 260;
+        int spacing = 44;
         
         for (int i = 0; i < mainMenuOptions.length; i++) {
             int y = startY + i * spacing;
@@ -193,21 +250,21 @@ public class MenuScreen extends JPanel implements KeyListener {
                     boxWidth = textWidth + 190;
                 }
                 
-                g2d.setColor(new Color(138, 43, 226, 100));
+                g2d.setColor(Palette.GLOW);
                 g2d.fillRoundRect(x - 20, y - 35, boxWidth, 50, 10, 10);
                 
                 // Border
-                g2d.setColor(new Color(200, 150, 255));
+                g2d.setColor(Palette.LAVENDER);
                 g2d.setStroke(new BasicStroke(2));
                 g2d.drawRoundRect(x - 20, y - 35, boxWidth, 50, 10, 10);
                 
                 // Arrow indicator
-                g2d.setColor(new Color(255, 200, 100));
+                g2d.setColor(Palette.GOLD);
                 g2d.fillPolygon(new int[]{x - 40, x - 50, x - 40}, 
                                new int[]{y - 15, y - 10, y - 5}, 3);
                 
                 // Text
-                g2d.setColor(new Color(255, 255, 255));
+                g2d.setColor(Color.WHITE);
                 g2d.drawString(option, x, y);
                 
                 // Only show volume bar when MUSIC VOLUME is selected
@@ -216,48 +273,145 @@ public class MenuScreen extends JPanel implements KeyListener {
                 }
             } else {
                 // Unselected option
-                g2d.setColor(new Color(150, 150, 180));
+                g2d.setColor(Palette.MUTED);
                 g2d.drawString(option, x, y);
             }
         }
         
         // Footer
         g2d.setFont(customFont);
-        g2d.setColor(new Color(100, 100, 120));
+        g2d.setColor(Palette.FAINT);
         String footer = "(C) 2026 | Use UP/DOWN arrows to navigate | ENTER to select | ESC to go back";
         fm = g2d.getFontMetrics();
         int footerX = (WINDOW_WIDTH - fm.stringWidth(footer)) / 2;
         g2d.drawString(footer, footerX, WINDOW_HEIGHT - 30);
     }
     
+    // Animated part of the main menu, repainted on its own every animation tick
+    private void drawTitle(Graphics2D g2d) {
+        // Draw title "VOID" with glow effect
+        String title = "V O I D";
+        int titleWidth = titleGlyphs.stringWidth(title);
+        int titleX = (WINDOW_WIDTH - titleWidth) / 2;
+        int titleY = TITLE_Y;
+        
+        if (titleBounds == null) {
+            titleBounds = new Rectangle(titleX - GLOW_SIZE, titleY - titleGlyphs.getAscent() - GLOW_SIZE,
+                titleWidth + GLOW_SIZE * 2, titleGlyphs.getAscent() + titleGlyphs.getDescent() + GLOW_SIZE * 2);
+        }
+        
+        // Glow effect
+        for (int i = GLOW_SIZE; i > 0; i--) {
+            int glowAlpha = Math.min(255, Math.max(0, (int)(50 * titleGlow / i)));
+            if (GLOW_SHADES[glowAlpha] == null) {
+                GLOW_SHADES[glowAlpha] = new Color(138, 43, 226, glowAlpha);
+            }
+            g2d.setColor(GLOW_SHADES[glowAlpha]);
+            titleGlyphs.drawString(g2d, title, titleX - i, titleY - i);
+            titleGlyphs.drawString(g2d, title, titleX + i, titleY + i);
+        }
+        
+        // Main title
+        g2d.setColor(Palette.LAVENDER);
+        titleGlyphs.drawString(g2d, title, titleX, titleY);
+    }
+    
     private void drawVolumeBar(Graphics2D g2d, int x, int y) {
         int barWidth = 120;
         int barHeight = 20;
         int filledWidth = (int)(barWidth * musicVolume);
         
         // Background
-        g2d.setColor(new Color(50, 50, 70));
+        g2d.setColor(Palette.BAR_BACK);
         g2d.fillRect(x, y, barWidth, barHeight);
         
         // Filled portion
-        g2d.setColor(new Color(100, 200, 100));
+        g2d.setColor(Palette.BAR_FILL);
         g2d.fillRect(x, y, filledWidth, barHeight);
         
         // Border
-        g2d.setColor(new Color(150, 150, 180));
+        g2d.setColor(Palette.MUTED);
         g2d.drawRect(x, y, barWidth, barHeight);
     }
     
+    private void drawHighScores(Graphics2D g2d) {
+        // Background
+        g2d.setPaint(BACKDROP);
+        g2d.fillRect(0, 0, WINDOW_WIDTH, WINDOW_HEIGHT);
+        
+        // Title
+        g2d.setFont(titleFont.deriveFont(48f));
+        g2d.setColor(Palette.LAVENDER);
+        String title = "HIGH SCORES";
+        FontMetrics fm = g2d.getFontMetrics();
+        int titleX = (WINDOW_WIDTH - fm.stringWidth(title)) / 2;
+        g2d.drawString(title, titleX, 100);
+        
+        g2d.setFont(customFont);
+        if (highScores == null || highScores.isEmpty()) {
+            String message = highScores == null ? "Loading..." : "No scores yet - go play!";
+            g2d.setColor(Palette.MUTED);
+            fm = g2d.getFontMetrics();
+            g2d.drawString(message, (WINDOW_WIDTH - fm.stringWidth(message)) / 2, 250);
+        } else {
+            // Column headers
+            g2d.setColor(Palette.GOLD);
+            g2d.drawString("RANK", 120, 160);
+            g2d.drawString("SCORE", 220, 160);
+            g2d.drawString("KILLS", 360, 160);
+            g2d.drawString("RESULT", 460, 160);
+            g2d.drawString("DATE", 580, 160);
+            
+            SimpleDateFormat dateFormat = new SimpleDateFormat("yyyy-MM-dd");
+            int startY = 200;
+            int spacing = 32;
+            for (int i = 0; i < highScores.size(); i++) {
+                HighScoreEntry entry = highScores.get(i);
+                int y = startY + i * spacing;
+                g2d.setColor(i == 0 ? Color.WHITE : Palette.PALE);
+                g2d.drawString((i + 1) + ".", 120, y);
+                g2d.drawString(String.valueOf(entry.score), 220, y);
+                g2d.drawString(String.valueOf(entry.kills), 360, y);
+                g2d.drawString(entry.won ? "VICTORY" : "DEFEAT", 460, y);
+                g2d.drawString(dateFormat.format(new Date(entry.time)), 580, y);
+            }
+        }
+        
+        // Back instruction
+        g2d.setFont(customFont);
+        g2d.setColor(Palette.MUTED);
+        String back = "Press ESC or BACKSPACE to return";
+        fm = g2d.getFontMetrics();
+        int backX = (WINDOW_WIDTH - fm.stringWidth(back)) / 2;
+        g2d.drawString(back, backX, WINDOW_HEIGHT - 50);
+    }
+    
+    private void loadHighScores() {
+        highScores = null;
+        if (gameWindow == null) {
+            highScores = Collections.emptyList();
+            return;
+        }
+        // Loaded off the EDT, repaint once the results are in
+        gameWindow.getHighScoreStore().loadTop(HIGH_SCORE_ROWS).thenAccept(entries ->
+            SwingUtilities.invokeLater(() -> {
+                if (currentState == MenuState.HIGH_SCORES) {
+                    highScores = entries;
+                    dirtyLayers.add(MenuState.HIGH_SCORES);
+                    repaint();
+                }
+            })
+        );
+    }
+    
     private void drawControls(Graphics2D g2d) {
         // Background
-        GradientPaint gradient = new GradientPaint(0, 0, new Color(10, 10, 30), 
-                                                    0, WINDOW_HEIGHT, new Color(30, 10, 50));
-        g2d.setPaint(gradient);
+        g2d.setPaint(BACKDROP);
         g2d.fillRect(0, 0, WINDOW_WIDTH, WINDOW_HEIGHT);
         
         // Title
         g2d.setFont(titleFont.deriveFont(48f));
-        g2d.setColor(new Color(200, 150, 255));
+        g2d.setColor(Palette.LAVENDER);
         String title = "CONTROLS";
         FontMetrics fm = g2d.getFontMetrics();
         int titleX = (WINDOW_WIDTH - fm.stringWidth(title)) / 2;
@@ -265,19 +419,20 @@ public class MenuScreen extends JPanel implements KeyListener {
         
         // Controls info
         g2d.setFont(optionFont);
-        g2d.setColor(new Color(200, 200, 220));
+        g2d.setColor(Palette.PALE);
         
         String[][] controls = {
-            {"LEFT / RIGHT ARROW", "Move Left / Right"},
-            {"SPACE", "Fire Weapon"},
+            {"ARROWS / WASD", "Move Ship (weapons fire automatically)"},
             {"ESC", "Pause Game"},
+            {"BACKSPACE", "Hold to Rewind Time"},
+            {"F5 / F9", "Quick Save / Quick Load"},
             {"", ""},
             {"Objective:", "Destroy all enemies and defeat the boss!"},
             {"", "Collect health power-ups to survive!"}
         };
         
         int startY = 180;
-        int spacing = 50;
+        int spacing = 45;
         
         for (int i = 0; i < controls.length; i++) {
             int y = startY + i * spacing;
@@ -285,17 +440,17 @@ public class MenuScreen extends JPanel implements KeyListener {
             if (controls[i][0].isEmpty()) continue;
             
             // Key
-            g2d.setColor(new Color(255, 200, 100));
+            g2d.setColor(Palette.GOLD);
             g2d.drawString(controls[i][0], 150, y);
             
             // Description
-            g2d.setColor(new Color(200, 200, 220));
+            g2d.setColor(Palette.PALE);
             g2d.drawString(controls[i][1], 320, y);
         }
         
         // Back instruction
         g2d.setFont(customFont);
-        g2d.setColor(new Color(150, 150, 180));
+        g2d.setColor(Palette.MUTED);
         String back = "Press ESC or BACKSPACE to return";
         fm = g2d.getFontMetrics();
         int backX = (WINDOW_WIDTH - fm.stringWidth(back)) / 2;
@@ -304,14 +459,12 @@ public class MenuScreen extends JPanel implements KeyListener {
     
     private void drawCredits(Graphics2D g2d) {
         // Background
-        GradientPaint gradient = new GradientPaint(0, 0, new Color(10, 10, 30), 
-                                                    0, WINDOW_HEIGHT, new Color(30, 10, 50));
-        g2d.setPaint(gradient);
+        g2d.setPaint(BACKDROP);
         g2d.fillRect(0, 0, WINDOW_WIDTH, WINDOW_HEIGHT);
         
         // Title
         g2d.setFont(titleFont.deriveFont(48f));
-        g2d.setColor(new Color(200, 150, 255));
+        g2d.setColor(Palette.LAVENDER);
         String title = "CREDITS";
         FontMetrics fm = g2d.getFontMetrics();
         int titleX = (WINDOW_WIDTH - fm.stringWidth(title)) / 2;
@@ -343,10 +496,10 @@ public class MenuScreen extends JPanel implements KeyListener {
             boolean isHeader = credits[i][1].isEmpty();
             
             if (isHeader) {
-                g2d.setColor(new Color(255, 200, 100));
+                g2d.setColor(Palette.GOLD);
                 g2d.setFont(optionFont.deriveFont(Font.BOLD));
             } else {
-                g2d.setColor(new Color(200, 200, 220));
+                g2d.setColor(Palette.PALE);
                 g2d.setFont(optionFont);
             }
             
@@ -357,7 +510,7 @@ public class MenuScreen extends JPanel implements KeyListener {
             
             if (!isHeader && !credits[i][1].isEmpty()) {
                 g2d.setFont(customFont);
-                g2d.setColor(new Color(150, 150, 180));
+                g2d.setColor(Palette.MUTED);
                 String subtitle = credits[i][1];
                 fm = g2d.getFontMetrics();
                 int subtitleX = (WINDOW_WIDTH - fm.stringWidth(subtitle)) / 2;
@@ -367,7 +520,7 @@ public class MenuScreen extends JPanel implements KeyListener {
         
         // Back instruction
         g2d.setFont(customFont);
-        g2d.setColor(new Color(150, 150, 180));
+        g2d.setColor(Palette.MUTED);
         String back = "Press ESC or BACKSPACE to return";
         fm = g2d.getFontMetrics();
         int backX = (WINDOW_WIDTH - fm.stringWidth(back)) / 2;
@@ -376,13 +529,11 @@ public class MenuScreen extends JPanel implements KeyListener {
     
     private void drawExitConfirm(Graphics2D g2d) {
         // Background
-        GradientPaint gradient = new GradientPaint(0, 0, new Color(10, 10, 30), 
-                                                    0, WINDOW_HEIGHT, new Color(30, 10, 50));
-        g2d.setPaint(gradient);
+        g2d.setPaint(BACKDROP);
         g2d.fillRect(0, 0, WINDOW_WIDTH, WINDOW_HEIGHT);
         
         // Semi-transparent overlay
-        g2d.setColor(new Color(0, 0, 0, 180));
+        g2d.setColor(Palette.SHADE_DARK);
         g2d.fillRect(0, 0, WINDOW_WIDTH, WINDOW_HEIGHT);
         
         // Warning box
@@ -391,16 +542,16 @@ public class MenuScreen extends JPanel implements KeyListener {
         int boxX = (WINDOW_WIDTH - boxWidth) / 2;
         int boxY = (WINDOW_HEIGHT - boxHeight) / 2;
         
-        g2d.setColor(new Color(40, 20, 60, 220));
+        g2d.setColor(Palette.PANEL);
         g2d.fillRoundRect(boxX, boxY, boxWidth, boxHeight, 20, 20);
         
-        g2d.setColor(new Color(200, 150, 255));
+        g2d.setColor(Palette.LAVENDER);
         g2d.setStroke(new BasicStroke(3));
         g2d.drawRoundRect(boxX, boxY, boxWidth, boxHeight, 20, 20);
         
         // Title
         g2d.setFont(titleFont.deriveFont(40f));
-        g2d.setColor(new Color(255, 200, 100));
+        g2d.setColor(Palette.GOLD);
         String title = "EXIT GAME?";
         FontMetrics fm = g2d.getFontMetrics();
         int titleX = (WINDOW_WIDTH - fm.stringWidth(title)) / 2;
@@ -408,7 +559,7 @@ public class MenuScreen extends JPanel implements KeyListener {
         
         // Message
         g2d.setFont(customFont);
-        g2d.setColor(new Color(200, 200, 220));
+        g2d.setColor(Palette.PALE);
         String msg = "Are you sure you want to exit?";
         fm = g2d.getFontMetrics();
         int msgX = (WINDOW_WIDTH - fm.stringWidth(msg)) / 2;
@@ -429,10 +580,10 @@ public class MenuScreen extends JPanel implements KeyListener {
             
             if (isSelected) {
                 // Selected
-                g2d.setColor(new Color(138, 43, 226, 150));
+                g2d.setColor(Palette.HIGHLIGHT);
                 g2d.fillRoundRect(x - 15, optionsY - 30, textWidth + 30, 45, 10, 10);
                 
-                g2d.setColor(new Color(255, 255, 255));
+                g2d.setColor(Color.WHITE);
                 g2d.setStroke(new BasicStroke(2));
                 g2d.drawRoundRect(x - 15, optionsY - 30, textWidth + 30, 45, 10, 10);
                 
@@ -440,14 +591,14 @@ public class MenuScreen extends JPanel implements KeyListener {
                 g2d.drawString(option, x, optionsY);
             } else {
                 // Unselected
-                g2d.setColor(new Color(150, 150, 180));
+                g2d.setColor(Palette.MUTED);
                 g2d.drawString(option, x, optionsY);
             }
         }
         
         // Instructions
         g2d.setFont(customFont.deriveFont(18f));
-        g2d.setColor(new Color(120, 120, 140));
+        g2d.setColor(Palette.HINT);
         String inst = "LEFT/RIGHT to select | ENTER to confirm | ESC to cancel";
         fm = g2d.getFontMetrics();
         int instX = (WINDOW_WIDTH - fm.stringWidth(inst)) / 2;
@@ -456,62 +607,64 @@ public class MenuScreen extends JPanel implements KeyListener {
     
     @Override
     public void keyPressed(KeyEvent e) {
-        int key = e.getKeyCode();
+        // Keys go through the same bindings as the game
+        int actions = bindings.actionsFor(e.getKeyCode());
+        MenuState oldState = currentState;
+        int oldOption = selectedOption;
+        int oldExitSelection = exitConfirmSelection;
+        float oldVolume = musicVolume;
         
         if (currentState == MenuState.EXIT_CONFIRM) {
             // Exit confirmation screen
-            switch (key) {
-                case KeyEvent.VK_LEFT:
-                    exitConfirmSelection = 0; // NO
-                    break;
-                case KeyEvent.VK_RIGHT:
-                    exitConfirmSelection = 1; // YES
-                    break;
-                case KeyEvent.VK_ENTER:
-                    if (exitConfirmSelection == 1) {
-                        System.exit(0);
-                    } else {
-                        currentState = MenuState.MAIN_MENU;
-                        exitConfirmSelection = 0;
-                    }
-                    break;
-                case KeyEvent.VK_ESCAPE:
+            if (isAction(actions, InputAction.MOVE_LEFT)) {
+                exitConfirmSelection = 0; // NO
+            } else if (isAction(actions, InputAction.MOVE_RIGHT)) {
+                exitConfirmSelection = 1; // YES
+            } else if (isAction(actions, InputAction.CONFIRM)) {
+                if (exitConfirmSelection == 1) {
+                    System.exit(0);
+                } else {
                     currentState = MenuState.MAIN_MENU;
                     exitConfirmSelection = 0;
-                    break;
+                }
+            } else if (isAction(actions, InputAction.PAUSE)) {
+                currentState = MenuState.MAIN_MENU;
+                exitConfirmSelection = 0;
             }
         } else if (currentState == MenuState.MAIN_MENU) {
-            switch (key) {
-                case KeyEvent.VK_UP:
-                    selectedOption = (selectedOption - 1 + mainMenuOptions.length) % mainMenuOptions.length;
-                    break;
-                case KeyEvent.VK_DOWN:
-                    selectedOption = (selectedOption + 1) % mainMenuOptions.length;
-                    break;
-                case KeyEvent.VK_LEFT:
-                    if (mainMenuOptions[selectedOption].equals("MUSIC VOLUME")) {
-                        musicVolume = Math.max(0.0f, musicVolume - 0.1f);
-                        updateMusicVolume();
-                    }
-                    break;
-                case KeyEvent.VK_RIGHT:
-                    if (mainMenuOptions[selectedOption].equals("MUSIC VOLUME")) {
-                        musicVolume = Math.min(1.0f, musicVolume + 0.1f);
-                        updateMusicVolume();
-                    }
-                    break;
-                case KeyEvent.VK_ENTER:
-                    handleMenuSelection();
-                    break;
+            if (isAction(actions, InputAction.MOVE_UP)) {
+                selectedOption = (selectedOption - 1 + mainMenuOptions.length) % mainMenuOptions.length;
+            } else if (isAction(actions, InputAction.MOVE_DOWN)) {
+                selectedOption = (selectedOption + 1) % mainMenuOptions.length;
+            } else if (isAction(actions, InputAction.MOVE_LEFT)) {
+                if (mainMenuOptions[selectedOption].equals("MUSIC VOLUME")) {
+                    musicVolume = Math.max(0.0f, musicVolume - 0.1f);
+                    updateMusicVolume();
+                }
+            } else if (isAction(actions, InputAction.MOVE_RIGHT)) {
+                if (mainMenuOptions[selectedOption].equals("MUSIC VOLUME")) {
+                    musicVolume = Math.min(1.0f, musicVolume + 0.1f);
+                    updateMusicVolume();
+                }
+            } else if (isAction(actions, InputAction.CONFIRM)) {
+                handleMenuSelection();
             }
         } else {
-            // In sub-menus (Controls, Credits)
-            if (key == KeyEvent.VK_ESCAPE || key == KeyEvent.VK_BACK_SPACE) {
+            // In sub-menus (High scores, Controls, Credits)
+            if (isAction(actions, InputAction.MENU_BACK)) {
                 currentState = MenuState.MAIN_MENU;
             }
         }
         
-        repaint();
+        // Only the layer now showing can be out of date, and only if something it shows changed
+        if (currentState != oldState || selectedOption != oldOption || exitConfirmSelection != oldExitSelection || musicVolume != oldVolume) {
+            dirtyLayers.add(currentState);
+            repaint();
+        }
+    }
+    
+    private static boolean isAction(int actions, InputAction action) {
+        return (actions & action.bit) != 0;
     }
     
     private void updateMusicVolume() {
@@ -527,16 +680,20 @@ public class MenuScreen extends JPanel implements KeyListener {
         
         switch (selected) {
             case "PLAY GAME":
-                if (musicClip != null) {
-                    musicClip.stop();
-                }
-                if (animationTimer != null) {
-                    animationTimer.stop();
-                }
+                // GameWindow suspends this screen
                 if (gameWindow != null) {
                     gameWindow.startGame();
                 }
                 break;
+            case "ENDLESS MODE":
+                if (gameWindow != null) {
+                    gameWindow.startGame(true);
+                }
+                break;
+            case "HIGH SCORES":
+                currentState = MenuState.HIGH_SCORES;
+                loadHighScores();
+                break;
             case "CONTROLS":
                 currentState = MenuState.CONTROLS;
                 break;
@@ -561,16 +718,6 @@ public class MenuScreen extends JPanel implements KeyListener {
         return musicVolume;
     }
     
-    public void stopMusic() {
-        if (musicClip != null && musicClip.isRunning()) {
-            musicClip.stop();
-            musicClip.close();
-        }
-        if (animationTimer != null) {
-            animationTimer.stop();
-        }
-    }
-    
     @Override
     public void keyTyped(KeyEvent e) {}
     
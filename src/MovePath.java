@@ -0,0 +1,174 @@
+// Movement path class
+// One line of Assets/paths.txt, baked into per-tick 16.16 fixed point steps.
+class MovePath {
+    static final int ONE = 1 << 16;      // 1.0 in fixed point
+    static final float TO_PIXELS = 1f / ONE;
+    static final int MAX_TICKS = 4096;   // Longest table, a Lissajous figure repeats after lcm of its periods
+    
+    String name;
+    String type;
+    boolean loop;        // Wrap around at the end, otherwise keep taking the last step
+    int[] dx, dy;        // Step for each tick of the path, fixed point pixels
+    
+    // "name type key=value ...", see Assets/paths.txt for the types and their keys
+    public static MovePath parse(String line) {
+        String[] tokens = line.trim().split("\\s+");
+        if (tokens.length < 2) {
+            throw new IllegalArgumentException("expected a name and a type: " + line);
+        }
+        MovePath p = new MovePath();
+        p.name = tokens[0];
+        p.type = tokens[1];
+        float amplitude = 30, ax = 40, ay = 20, accel = 0.1f;
+        int period = 60, px = 120, py = 60, delay = 0, ticks = 60;
+        boolean closed = false;
+        String points = null;
+        for (int t = 2; t < tokens.length; t++) {
+            int eq = tokens[t].indexOf('=');
+            if (eq < 0) {
+                throw new IllegalArgumentException("expected key=value, got " + tokens[t]);
+            }
+            String key = tokens[t].substring(0, eq);
+            String value = tokens[t].substring(eq + 1);
+            switch (key) {
+                case "amplitude": amplitude = Float.parseFloat(value); break;
+                case "period": period = Integer.parseInt(value); break;
+                case "ax": ax = Float.parseFloat(value); break;
+                case "ay": ay = Float.parseFloat(value); break;
+                case "px": px = Integer.parseInt(value); break;
+                case "py": py = Integer.parseInt(value); break;
+                case "delay": delay = Integer.parseInt(value); break;
+                case "ticks": ticks = Integer.parseInt(value); break;
+                case "accel": accel = Float.parseFloat(value); break;
+                case "loop": closed = value.equals("1"); break;
+                case "points": points = value; break;
+                default: throw new IllegalArgumentException("unknown path key " + key);
+            }
+        }
+        if (period < 1 || px < 1 || py < 1 || ticks < 1 || delay < 0) {
+            throw new IllegalArgumentException("period, px, py and ticks must be positive: " + line);
+        }
+        
+        double[] x, y;
+        switch (p.type) {
+            case "sine": { // Sways `amplitude` pixels either side over `period` ticks
+                p.loop = true;
+                x = new double[period + 1];
+                y = new double[period + 1];
+                for (int t = 0; t <= period; t++) {
+                    x[t] = -amplitude * StrictMath.cos(2 * StrictMath.PI * t / period);
+                }
+                break;
+            }
+            case "lissajous": { // Independent sines on each axis, loops once both line up again
+                p.loop = true;
+                long length = (long)px / gcd(px, py) * py;
+                if (length > MAX_TICKS) {
+                    throw new IllegalArgumentException("lissajous repeats after " + length + " ticks, at most " + MAX_TICKS + ": " + line);
+                }
+                x = new double[(int)length + 1];
+                y = new double[(int)length + 1];
+                for (int t = 0; t <= length; t++) {
+                    x[t] = ax * StrictMath.sin(2 * StrictMath.PI * t / px);
+                    y[t] = ay * StrictMath.sin(2 * StrictMath.PI * t / py);
+                }
+                break;
+            }
+            case "dive": { // Holds still for `delay` ticks, then swerves and drops ever faster
+                p.loop = false;
+                int length = delay + ticks;
+                x = new double[length + 1];
+                y = new double[length + 1];
+                for (int t = delay; t <= length; t++) {
+                    int s = t - delay;
+                    x[t] = amplitude * StrictMath.sin(StrictMath.PI * s / ticks);
+                    y[t] = accel * s * s / 2;
+                }
+                break;
+            }
+            case "spline": { // Catmull-Rom curve through the points, `ticks` from first to last
+                p.loop = closed;
+                double[] control = parsePoints(points, line);
+                x = new double[ticks + 1];
+                y = new double[ticks + 1];
+                spline(control, closed, x, y);
+                break;
+            }
+            default:
+                throw new IllegalArgumentException("unknown path type " + p.type);
+        }
+        p.bake(x, y);
+        return p;
+    }
+    
+    private static int gcd(int a, int b) {
+        return b == 0 ? a : gcd(b, a % b);
+    }
+    
+    // "x,y/x,y/...", at least two points
+    private static double[] parsePoints(String points, String line) {
+        if (points == null) {
+            throw new IllegalArgumentException("spline needs points=x,y/x,y/...: " + line);
+        }
+        String[] pairs = points.split("/");
+        if (pairs.length < 2) {
+            throw new IllegalArgumentException("spline needs at least two points: " + line);
+        }
+        double[] control = new double[pairs.length * 2];
+        for (int i = 0; i < pairs.length; i++) {
+            String[] xy = pairs[i].split(",");
+            if (xy.length != 2) {
+                throw new IllegalArgumentException("expected x,y, got " + pairs[i]);
+            }
+            control[i * 2] = Double.parseDouble(xy[0]);
+            control[i * 2 + 1] = Double.parseDouble(xy[1]);
+        }
+        return control;
+    }
+    
+    // Sample the curve evenly in time, every segment gets the same share of the ticks
+    private static void spline(double[] control, boolean closed, double[] x, double[] y) {
+        int n = control.length / 2;
+        int segments = closed ? n : n - 1;
+        int ticks = x.length - 1;
+        for (int t = 0; t <= ticks; t++) {
+            double u = (double)t * segments / ticks;
+            int s = Math.min((int)u, segments - 1);
+            double f = u - s;
+            int i0 = point(s - 1, n, closed), i1 = point(s, n, closed), i2 = point(s + 1, n, closed), i3 = point(s + 2, n, closed);
+            x[t] = catmullRom(control[i0 * 2], control[i1 * 2], control[i2 * 2], control[i3 * 2], f);
+            y[t] = catmullRom(control[i0 * 2 + 1], control[i1 * 2 + 1], control[i2 * 2 + 1], control[i3 * 2 + 1], f);
+        }
+    }
+    
+    // Neighbouring control point, wrapped for closed curves and clamped to the ends otherwise
+    private static int point(int i, int n, boolean closed) {
+        if (closed) return ((i % n) + n) % n;
+        return Math.max(0, Math.min(i, n - 1));
+    }
+    
+    private static double catmullRom(double p0, double p1, double p2, double p3, double f) {
+        return 0.5 * (2 * p1 + (p2 - p0) * f + (2 * p0 - 5 * p1 + 4 * p2 - p3) * f * f
+            + (3 * p1 - p0 - 3 * p2 + p3) * f * f * f);
+    }
+    
+    // Positions for ticks 0..length become steps for ticks 0..length-1
+    private void bake(double[] x, double[] y) {
+        int length = x.length - 1;
+        if (length < 1 || length > MAX_TICKS) {
+            throw new IllegalArgumentException("path " + name + " must last 1-" + MAX_TICKS + " ticks, got " + length);
+        }
+        dx = new int[length];
+        dy = new int[length];
+        for (int t = 0; t < length; t++) {
+            dx[t] = (int)StrictMath.round(x[t + 1] * ONE) - (int)StrictMath.round(x[t] * ONE);
+            dy[t] = (int)StrictMath.round(y[t + 1] * ONE) - (int)StrictMath.round(y[t] * ONE);
+        }
+    }
+    
+    // Table index for a path that started `age` ticks ago
+    int step(int age) {
+        if (age < dx.length) return age;
+        return loop ? age % dx.length : dx.length - 1;
+    }
+}
@@ -0,0 +1,87 @@
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+// Movement path table
+// Read once from Assets/paths.txt; netplay peers need the same file.
+class MovePaths {
+    static final Path FILE = Paths.get("../Assets/paths.txt");
+    static final String[] DEFAULTS = {
+        "zigzag    sine amplitude=30 period=63",
+        "boss_sway sine amplitude=150 period=314"
+    };
+    static final String[] REQUIRED = {"zigzag", "boss_sway"};
+    
+    final MovePath[] paths;
+    
+    public MovePaths(List<MovePath> list) {
+        if (list.isEmpty() || list.size() > 127) {
+            throw new IllegalArgumentException("need 1-127 paths, got " + list.size());
+        }
+        paths = list.toArray(new MovePath[0]);
+        for (String name : REQUIRED) {
+            id(name);
+        }
+    }
+    
+    // Path component value for a name, for callers to keep instead of the name
+    public int id(String name) {
+        for (int i = 0; i < paths.length; i++) {
+            if (paths[i].name.equals(name)) return i + 1;
+        }
+        throw new IllegalArgumentException("missing path " + name);
+    }
+    
+    public MovePath get(int id) {
+        return paths[id - 1];
+    }
+    
+    public static MovePaths load() {
+        AssetLoadEvent event = new AssetLoadEvent();
+        event.begin();
+        try {
+            MovePaths paths = parse(Files.readAllLines(FILE));
+            GameAssets.commit(event, FILE.getFileName().toString(), "paths", true);
+            return paths;
+        } catch (IOException | IllegalArgumentException e) {
+            System.err.println("Error loading paths: " + e.getMessage());
+            GameAssets.commit(event, FILE.getFileName().toString(), "paths", false);
+            return parse(Arrays.asList(DEFAULTS));
+        }
+    }
+    
+    // One path per line, blank lines and # comments skipped
+    public static MovePaths parse(List<String> lines) {
+        List<MovePath> list = new ArrayList<>();
+        for (String line : lines) {
+            int comment = line.indexOf('#');
+            if (comment >= 0) {
+                line = line.substring(0, comment);
+            }
+            if (!line.trim().isEmpty()) {
+                list.add(MovePath.parse(line));
+            }
+        }
+        return new MovePaths(list);
+    }
+    
+    // Path system: every entity on a path takes this tick's step, found by its age. Runs after
+    // the movement system, which already counted this tick in the age
+    public void follow(Archetype a) {
+        float[] x = a.x, y = a.y;
+        int[] path = a.path, age = a.age;
+        boolean[] asleep = a.asleep;
+        for (int i = 0; i < a.count; i++) {
+            int p = path[i];
+            if (p == 0 || asleep[i]) continue;
+            MovePath curve = paths[p - 1];
+            int t = curve.step(age[i] - 1);
+            x[i] += curve.dx[t] * MovePath.TO_PIXELS;
+            y[i] += curve.dy[t] * MovePath.TO_PIXELS;
+        }
+    }
+}
@@ -0,0 +1,12 @@
+import jdk.jfr.Category;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+// Flight Recorder event for a music switch
+@Name("void.MusicSwitch")
+@Label("Music Switch")
+@Category({"VOID", "Audio"})
+class MusicEvent extends Event {
+    @Label("Track") String track;
+}
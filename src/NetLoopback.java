@@ -0,0 +1,69 @@
+import java.net.InetSocketAddress;
+
+// Netplay loopback test
+//   java NetLoopback [latencyMs] [lossPercent] [frames]
+public class NetLoopback {
+    private static final long TICK_NANOS = 20_000_000L;
+    
+    public static void main(String[] args) throws Exception {
+        int latencyMs = args.length > 0 ? Integer.parseInt(args[0]) : 60;
+        int lossPercent = args.length > 1 ? Integer.parseInt(args[1]) : 5;
+        int frames = args.length > 2 ? Integer.parseInt(args[2]) : 2000;
+        
+        GameAssets assets = GameAssets.load(false);
+        SpaceGame hostGame = new SpaceGame(null, assets, true);
+        SpaceGame peerGame = new SpaceGame(null, assets, true);
+        hostGame.setBot(new AutoPilot());
+        peerGame.setBot(new RandomPilot(7));
+        
+        RollbackSession host = RollbackSession.host(0, new LinkConditioner(latencyMs, lossPercent));
+        RollbackSession peer = RollbackSession.join(
+            new InetSocketAddress("127.0.0.1", host.getLocalPort()), new LinkConditioner(latencyMs, lossPercent));
+        hostGame.setNetplay(host);
+        peerGame.setNetplay(peer);
+        
+        System.out.println("Netplay loopback: latency=" + latencyMs + "ms loss=" + lossPercent + "% frames=" + frames);
+        long next = System.nanoTime();
+        long worstTickNanos = 0;
+        int ticks = 0;
+        while (Math.min(host.getFrame(), peer.getFrame()) < frames) {
+            long start = System.nanoTime();
+            hostGame.tick();
+            peerGame.tick();
+            worstTickNanos = Math.max(worstTickNanos, (System.nanoTime() - start) / 2);
+            ticks++;
+            
+            if (host.isDisconnected() || peer.isDisconnected()) {
+                System.out.println("Disconnected at tick " + ticks);
+                break;
+            }
+            
+            next += TICK_NANOS;
+            long sleep = next - System.nanoTime();
+            if (sleep > 0) {
+                Thread.sleep(sleep / 1_000_000, (int)(sleep % 1_000_000));
+            }
+        }
+        
+        // Compare the newest frame both sides have finalized
+        int common = Math.min(host.getCheckedFrame(), peer.getCheckedFrame());
+        int hostSum = host.checksumAt(common);
+        int peerSum = peer.checksumAt(common);
+        
+        report("host", host);
+        report("peer", peer);
+        System.out.printf("worst tick %.2f ms of 20 ms%n", worstTickNanos / 1e6);
+        System.out.printf("frame %d checksums host=%08x peer=%08x %s%n", common, hostSum, peerSum,
+            hostSum == peerSum && host.desyncs == 0 && peer.desyncs == 0 ? "IN SYNC" : "DESYNC");
+        
+        host.close();
+        peer.close();
+    }
+    
+    private static void report(String name, RollbackSession session) {
+        double avgMs = session.rollbacks > 0 ? session.totalRollbackNanos / 1e6 / session.rollbacks : 0;
+        System.out.printf("%s: frame=%d rollbacks=%d maxResim=%d maxRollback=%.3fms avgRollback=%.3fms stalls=%d syncWaits=%d checked=%d desyncs=%d%n",
+            name, session.getFrame(), session.rollbacks, session.maxResimFrames, session.maxRollbackNanos / 1e6,
+            avgMs, session.stalls, session.timeSyncWaits, session.checksumsCompared, session.desyncs);
+    }
+}
@@ -0,0 +1,77 @@
+import java.awt.*;
+
+// Number line class
+// A line of text ending in a number, like "SCORE: 1200", laid out again only when it changes
+class NumberLine {
+    private static final int COLORS = 4;
+    
+    private final BitmapFont font;
+    private final char[] chars;
+    private final int prefixLength;
+    private long value = Long.MIN_VALUE; // Nothing formatted yet
+    private int length;
+    private int width;
+    private final int[] lineColor = new int[COLORS];
+    private final long[] lineValue = new long[COLORS]; // The number each line image shows
+    private final TextLine[] lines = new TextLine[COLORS];
+    private int nextLine;
+    
+    public NumberLine(BitmapFont font, String prefix) {
+        this.font = font;
+        this.prefixLength = prefix.length();
+        this.chars = new char[prefixLength + 11]; // Room for any int with its sign
+        prefix.getChars(0, prefixLength, chars, 0);
+    }
+    
+    public void set(int number) {
+        if (number == value) return;
+        value = number;
+        length = prefixLength + formatInt(chars, prefixLength, number);
+        width = font.charsWidth(chars, length);
+    }
+    
+    public int width() {
+        return width;
+    }
+    
+    public void draw(Graphics2D g, int x, int y) {
+        int rgb = g.getColor().getRGB() & 0xFFFFFF;
+        int slot = 0;
+        while (slot < COLORS && (lines[slot] == null || lineColor[slot] != rgb)) {
+            slot++;
+        }
+        if (slot == COLORS) {
+            slot = nextLine; // A new color takes over the oldest slot
+            nextLine = (nextLine + 1) % COLORS;
+            if (lines[slot] == null) {
+                lines[slot] = font.newLine(chars.length);
+            }
+            lineColor[slot] = rgb;
+            lineValue[slot] = Long.MIN_VALUE;
+        }
+        if (lineValue[slot] != value) {
+            font.renderLine(lines[slot], chars, length, rgb);
+            lineValue[slot] = value;
+        }
+        font.drawLine(g, lines[slot], x, y);
+    }
+    
+    // Decimal digits of number written at pos, returns how many chars were written
+    static int formatInt(char[] buf, int pos, int number) {
+        long n = number; // A long so Integer.MIN_VALUE negates
+        int start = pos;
+        if (n < 0) {
+            buf[pos++] = '-';
+            n = -n;
+        }
+        int digits = 1;
+        for (long rest = n / 10; rest > 0; rest /= 10) {
+            digits++;
+        }
+        for (int i = pos + digits - 1; i >= pos; i--) {
+            buf[i] = (char)('0' + n % 10);
+            n /= 10;
+        }
+        return pos + digits - start;
+    }
+}
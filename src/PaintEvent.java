@@ -0,0 +1,17 @@
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+// Flight Recorder event for one frame
+@Name("void.Paint")
+@StackTrace(false)
+@Label("Paint")
+@Category({"VOID", "Rendering"})
+@Description("One SpaceGame.paintComponent: render at 800x600, then scale to the window")
+class PaintEvent extends Event {
+    @Label("Window Width") int width;
+    @Label("Window Height") int height;
+}
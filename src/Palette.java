@@ -0,0 +1,37 @@
+import java.awt.Color;
+
+// Palette class
+// Colors of the menus and overlays, made once instead of on every frame they are drawn
+class Palette {
+    static final Color LAVENDER = new Color(200, 150, 255);    // Titles
+    static final Color GOLD = new Color(255, 200, 100);        // Selected option
+    static final Color MUTED = new Color(150, 150, 180);       // Other options, borders
+    static final Color PALE = new Color(200, 200, 220);
+    static final Color SUBTITLE = new Color(150, 150, 200);
+    static final Color LABEL = new Color(180, 180, 200);
+    static final Color HINT = new Color(120, 120, 140);        // Key hints along the bottom
+    static final Color FAINT = new Color(100, 100, 120);
+    
+    static final Color SHADE = new Color(0, 0, 0, 150);        // Dims what is behind, also text shadows
+    static final Color SHADE_DARK = new Color(0, 0, 0, 180);
+    static final Color SHADE_DARKER = new Color(0, 0, 0, 200);
+    static final Color SKY_TOP = new Color(10, 10, 30);        // Background gradient when there is no image
+    static final Color SKY_BOTTOM = new Color(30, 10, 50);
+    
+    static final Color PANEL = new Color(40, 20, 60, 220);
+    static final Color PANEL_LOST = new Color(60, 20, 40, 230);
+    static final Color PANEL_WON = new Color(20, 60, 40, 230);
+    static final Color HIGHLIGHT = new Color(138, 43, 226, 150);
+    static final Color HIGHLIGHT_LOST = new Color(200, 50, 50, 150);
+    static final Color HIGHLIGHT_WON = new Color(50, 200, 50, 150);
+    static final Color GLOW = new Color(138, 43, 226, 100);
+    
+    static final Color RED = new Color(255, 80, 80);
+    static final Color SOFT_RED = new Color(255, 100, 100);
+    static final Color GREEN = new Color(100, 255, 100);
+    static final Color SOFT_GREEN = new Color(150, 255, 150);
+    static final Color BAR_BACK = new Color(50, 50, 70);
+    static final Color BAR_FILL = new Color(100, 200, 100);
+    static final Color P1_TAG = new Color(120, 200, 255);
+    static final Color P2_TAG = new Color(255, 180, 90);
+}
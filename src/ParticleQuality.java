@@ -0,0 +1,26 @@
+// Particle quality enum
+// Particle detail levels, -Dvoid.particles=off|low|medium|high
+enum ParticleQuality {
+    OFF(0, 0f),
+    LOW(4096, 0.25f),
+    MEDIUM(12288, 0.5f),
+    HIGH(32768, 1f);
+    
+    final int capacity;   // Most particles alive at once
+    final float density;  // Share of each emitter's particles actually spawned
+    
+    ParticleQuality(int capacity, float density) {
+        this.capacity = capacity;
+        this.density = density;
+    }
+    
+    static ParticleQuality fromProperty() {
+        String name = System.getProperty("void.particles", "high");
+        try {
+            return valueOf(name.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            System.err.println("Error: unknown particle quality " + name + ", using high");
+            return HIGH;
+        }
+    }
+}
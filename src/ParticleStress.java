@@ -0,0 +1,78 @@
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.lang.management.ManagementFactory;
+
+// Particle stress test
+//   java ParticleStress [ticks] [tier]
+public class ParticleStress {
+    public static void main(String[] args) {
+        int ticks = args.length > 0 ? Integer.parseInt(args[0]) : 2000;
+        ParticleQuality[] tiers = args.length > 1
+            ? new ParticleQuality[] {ParticleQuality.valueOf(args[1].toUpperCase())}
+            : new ParticleQuality[] {ParticleQuality.LOW, ParticleQuality.MEDIUM, ParticleQuality.HIGH};
+        
+        GameAssets assets = GameAssets.load(false);
+        BufferedImage frame = new BufferedImage(SpaceGame.WINDOW_WIDTH, SpaceGame.WINDOW_HEIGHT, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = frame.createGraphics();
+        Camera camera = new Camera(SpaceGame.WINDOW_WIDTH, SpaceGame.WINDOW_HEIGHT, SpaceGame.WORLD_WIDTH, SpaceGame.WORLD_HEIGHT);
+        Player ship = new Player(SpaceGame.WINDOW_WIDTH / 2 - 48, SpaceGame.WINDOW_HEIGHT - 160, assets.playerSheet, assets.exhaustSheet);
+        
+        for (ParticleQuality tier : tiers) {
+            ParticleSystem particles = new ParticleSystem(tier);
+            long updateNanos = 0;
+            long drawNanos = 0;
+            long allocated = 0;
+            long live = 0;
+            int peak = 0;
+            for (int t = 0; t < ticks; t++) {
+                boolean measured = t >= ticks / 2; // Second half only, by then the system is full
+                long allocatedBefore = allocatedBytes();
+                long start = System.nanoTime();
+                
+                int spot = t * 7919;
+                float cx = 100 + spot % (SpaceGame.WINDOW_WIDTH - 200);
+                float cy = 80 + (spot / 13) % (SpaceGame.WINDOW_HEIGHT - 240);
+                particles.debris(cx, cy, 400, ParticleSystem.ROCK);
+                particles.sparks(cx, cy, 200);
+                if (t % 60 == 0) {
+                    particles.bossDeath(SpaceGame.WINDOW_WIDTH / 2, SpaceGame.WINDOW_HEIGHT / 3);
+                }
+                particles.exhaust(ship, true);
+                particles.update(camera);
+                long updated = System.nanoTime();
+                long allocatedUpdating = allocatedBytes() - allocatedBefore;
+                
+                if (assets.backgroundSheet.get() != null) {
+                    g.drawImage(assets.backgroundSheet.get(), 0, 0, SpaceGame.WINDOW_WIDTH, SpaceGame.WINDOW_HEIGHT, null);
+                }
+                long allocatedBeforeDraw = allocatedBytes();
+                long drawStart = System.nanoTime();
+                particles.draw(g, frame, camera);
+                long end = System.nanoTime();
+                long allocatedDrawing = allocatedBytes() - allocatedBeforeDraw;
+                
+                peak = Math.max(peak, particles.count);
+                if (measured) {
+                    updateNanos += updated - start;
+                    drawNanos += end - drawStart;
+                    allocated += allocatedUpdating + allocatedDrawing;
+                    live += particles.count;
+                }
+            }
+            int measuredTicks = ticks - ticks / 2;
+            System.out.printf("%-6s live avg %d (peak %d, cap %d): update %.3f ms, draw %.3f ms per tick, %d bytes allocated%n",
+                tier, live / measuredTicks, peak, tier.capacity, updateNanos / 1e6 / measuredTicks,
+                drawNanos / 1e6 / measuredTicks, allocated);
+        }
+        g.dispose();
+    }
+    
+    private static final java.lang.management.ThreadMXBean THREADS = ManagementFactory.getThreadMXBean(); // Looking it up allocates
+    
+    private static long allocatedBytes() {
+        if (THREADS instanceof com.sun.management.ThreadMXBean) {
+            return ((com.sun.management.ThreadMXBean)THREADS).getCurrentThreadAllocatedBytes();
+        }
+        return 0;
+    }
+}
@@ -0,0 +1,232 @@
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
+
+// Particle system
+// Decoration only, with its own random generator and never in snapshots.
+class ParticleSystem {
+    // Colors, emitters pick one at random per particle
+    static final int[] EXHAUST = {0xE0F8FF, 0x80D8FF, 0x40A0FF, 0x2060E0}; // Matches the blue flame sprites
+    static final int[] ROCK = {0x8A7F74, 0xA39482, 0x6B625A, 0xC8B49A};
+    static final int[] HULL = {0xD04040, 0xFF7050, 0x903030, 0xFFB080};
+    static final int[] SPARK = {0xFFFFFF, 0xFFF0A0, 0xFFD060, 0xA0E0FF};
+    static final int[] BOSS = {0xC080FF, 0x8A2BE2, 0xFF60C0, 0xFFFFFF, 0xFFB040};
+    
+    private static final float SCROLL = 1.5f; // Debris drifts with the background
+    
+    private ParticleQuality quality;
+    int count;
+    private float[] x, y;
+    private float[] vx, vy;
+    private float[] drag;      // Velocity multiplier per tick
+    private int[] life, maxLife;
+    private int[] color;       // RGB
+    private byte[] size;       // Square side in pixels
+    private boolean[] additive; // Glows add light, debris covers what's behind it
+    private boolean muted;      // Emitters do nothing, set while netplay re-runs frames
+    private int seed = 0x2545F491;
+    
+    public ParticleSystem(ParticleQuality quality) {
+        setQuality(quality);
+    }
+    
+    // Changing the tier drops whatever is alive, only done from settings or at startup
+    public void setQuality(ParticleQuality quality) {
+        this.quality = quality;
+        int capacity = quality.capacity;
+        count = 0;
+        x = new float[capacity];
+        y = new float[capacity];
+        vx = new float[capacity];
+        vy = new float[capacity];
+        drag = new float[capacity];
+        life = new int[capacity];
+        maxLife = new int[capacity];
+        color = new int[capacity];
+        size = new byte[capacity];
+        additive = new boolean[capacity];
+    }
+    
+    public ParticleQuality getQuality() {
+        return quality;
+    }
+    
+    public void clear() {
+        count = 0;
+    }
+    
+    public void setMuted(boolean muted) {
+        this.muted = muted;
+    }
+    
+    // Xorshift, the game's own random generator belongs to the simulation
+    private int nextInt() {
+        seed ^= seed << 13;
+        seed ^= seed >>> 17;
+        seed ^= seed << 5;
+        return seed;
+    }
+    
+    private float nextFloat() {
+        return (nextInt() >>> 8) / (float)(1 << 24);
+    }
+    
+    // How many of n particles this tier emits, rounded randomly so small bursts still show up
+    private int scaled(int n) {
+        if (muted) return 0;
+        return (int)(n * quality.density + nextFloat());
+    }
+    
+    private void spawn(float px, float py, float speed, float angle, float drag, int life, int[] palette, int size, boolean additive) {
+        if (count == x.length) return; // Full, new particles are dropped
+        int i = count++;
+        x[i] = px;
+        y[i] = py;
+        vx[i] = (float)Math.cos(angle) * speed;
+        vy[i] = (float)Math.sin(angle) * speed;
+        this.drag[i] = drag;
+        this.life[i] = life;
+        maxLife[i] = life;
+        color[i] = palette[(nextInt() >>> 1) % palette.length];
+        this.size[i] = (byte)size;
+        this.additive[i] = additive;
+    }
+    
+    // Flame trail under both engines, thicker while the ship moves
+    public void exhaust(Player ship, boolean moving) {
+        int n = scaled(moving ? 3 : 1);
+        for (int k = 0; k < n; k++) {
+            for (int nozzle = 0; nozzle < 2; nozzle++) {
+                float px = ship.x + 36 + nozzle * 24 + (nextFloat() - 0.5f) * 8;
+                float py = ship.y + ship.height + 12;
+                float angle = (float)(Math.PI / 2) + (nextFloat() - 0.5f) * 0.5f;
+                spawn(px, py, 3 + nextFloat() * 3, angle, 0.94f, 10 + (nextInt() >>> 1) % 10, EXHAUST,
+                    1 + (nextInt() >>> 1) % 2, true);
+            }
+        }
+    }
+    
+    // Chunks thrown out of something destroyed, amount grows with its size
+    public void debris(float cx, float cy, int amount, int[] palette) {
+        int n = scaled(amount);
+        for (int k = 0; k < n; k++) {
+            float angle = nextFloat() * (float)(Math.PI * 2);
+            spawn(cx, cy, 0.5f + nextFloat() * 4, angle, 0.96f, 30 + (nextInt() >>> 1) % 40, palette,
+                1 + (nextInt() >>> 1) % 3, false);
+        }
+    }
+    
+    // Short bright flecks where a shot lands
+    public void sparks(float cx, float cy, int amount) {
+        int n = scaled(amount);
+        for (int k = 0; k < n; k++) {
+            float angle = nextFloat() * (float)(Math.PI * 2);
+            spawn(cx, cy, 2 + nextFloat() * 5, angle, 0.88f, 6 + (nextInt() >>> 1) % 10, SPARK, 1, true);
+        }
+    }
+    
+    // Expanding rings of glow plus a cloud of slow embers
+    public void bossDeath(float cx, float cy) {
+        for (int ring = 0; ring < 4; ring++) {
+            int n = scaled(900);
+            float speed = 2 + ring * 2.5f;
+            for (int k = 0; k < n; k++) {
+                float angle = nextFloat() * (float)(Math.PI * 2);
+                spawn(cx, cy, speed * (0.85f + nextFloat() * 0.3f), angle, 0.97f, 60 + (nextInt() >>> 1) % 60, BOSS,
+                    1 + (nextInt() >>> 1) % 3, true);
+            }
+        }
+        debris(cx, cy, 2400, BOSS);
+    }
+    
+    // One tick for every particle: integrate, age, and drop the dead or out of view
+    public void update(Camera camera) {
+        float left = camera.x - 4;
+        float top = camera.y - 4;
+        float right = camera.x + camera.width;
+        float bottom = camera.y + camera.height;
+        int i = 0;
+        while (i < count) {
+            float px = x[i] + vx[i];
+            float py = y[i] + vy[i];
+            if (--life[i] <= 0 || px < left || px > right || py < top || py > bottom) {
+                remove(i);
+                continue;
+            }
+            x[i] = px;
+            y[i] = py;
+            float d = drag[i];
+            vx[i] *= d;
+            vy[i] = vy[i] * d + (additive[i] ? 0 : SCROLL * (1 - d)); // Settles into the scroll speed
+            i++;
+        }
+    }
+    
+    private void remove(int i) {
+        int last = --count;
+        x[i] = x[last];
+        y[i] = y[last];
+        vx[i] = vx[last];
+        vy[i] = vy[last];
+        drag[i] = drag[last];
+        life[i] = life[last];
+        maxLife[i] = maxLife[last];
+        color[i] = color[last];
+        size[i] = size[last];
+        additive[i] = additive[last];
+    }
+    
+    // Single pass over all particles. When target is the int-packed image g draws to, pixels are
+    // written into it directly, a few thousand fillRects would cost more than the whole frame.
+    // g is already translated by the camera, the pixel path does the same itself.
+    public void draw(Graphics2D g, BufferedImage target, Camera camera) {
+        if (count == 0) return;
+        if (target != null && target.getRaster().getDataBuffer() instanceof DataBufferInt
+                && (target.getType() == BufferedImage.TYPE_INT_RGB || target.getType() == BufferedImage.TYPE_INT_ARGB)) {
+            int[] pixels = ((DataBufferInt)target.getRaster().getDataBuffer()).getData();
+            blend(pixels, target.getWidth(), target.getHeight(), camera.x, camera.y);
+            return;
+        }
+        for (int i = 0; i < count; i++) {
+            int alpha = 255 * life[i] / maxLife[i];
+            g.setColor(new Color(color[i] | (alpha << 24), true));
+            g.fillRect((int)x[i], (int)y[i], size[i], size[i]);
+        }
+    }
+    
+    private void blend(int[] pixels, int width, int height, int originX, int originY) {
+        for (int i = 0; i < count; i++) {
+            int alpha = 256 * life[i] / maxLife[i]; // Fades out over its life
+            int rgb = color[i];
+            int sr = (rgb >> 16) & 0xFF;
+            int sg = (rgb >> 8) & 0xFF;
+            int sb = rgb & 0xFF;
+            int left = (int)x[i] - originX;
+            int top = (int)y[i] - originY;
+            int right = Math.min(left + size[i], width);
+            int bottom = Math.min(top + size[i], height);
+            left = Math.max(left, 0);
+            top = Math.max(top, 0);
+            boolean add = additive[i];
+            for (int py = top; py < bottom; py++) {
+                int row = py * width;
+                for (int px = left; px < right; px++) {
+                    int dst = pixels[row + px];
+                    int dr = (dst >> 16) & 0xFF;
+                    int dg = (dst >> 8) & 0xFF;
+                    int db = dst & 0xFF;
+                    if (add) {
+                        dr = Math.min(255, dr + (sr * alpha >> 8));
+                        dg = Math.min(255, dg + (sg * alpha >> 8));
+                        db = Math.min(255, db + (sb * alpha >> 8));
+                    } else {
+                        dr += (sr - dr) * alpha >> 8;
+                        dg += (sg - dg) * alpha >> 8;
+                        db += (sb - db) * alpha >> 8;
+                    }
+                    pixels[row + px] = (dst & 0xFF000000) | (dr << 16) | (dg << 8) | db;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,109 @@
+import java.nio.ByteBuffer;
+
+// Pattern emitters class
+// The patterns the boss is running
+class PatternEmitters {
+    static final int MAX_EMITTERS = 8;
+    
+    int count;
+    final int[] pattern = new int[MAX_EMITTERS];
+    final int[] timer = new int[MAX_EMITTERS];  // Ticks until the next volley
+    final int[] volley = new int[MAX_EMITTERS]; // Volleys fired so far
+    int cooldown = 60;  // Ticks until the next pattern starts, the first waits for the boss to arrive
+    int sequence;       // Patterns started so far, picks the next one in file order
+    
+    public void update(BulletPatterns table, Boss boss, Archetype bullets, Player ship1, Player ship2) {
+        if (--cooldown <= 0 && count < MAX_EMITTERS) {
+            int[] candidates = table.byPhase[boss.phase()];
+            int index = candidates[sequence++ % candidates.length];
+            pattern[count] = index;
+            timer[count] = 0;
+            volley[count] = 0;
+            count++;
+            cooldown = table.patterns[index].rest;
+        }
+        
+        for (int e = count - 1; e >= 0; e--) {
+            if (--timer[e] > 0) continue;
+            BulletPattern p = table.patterns[pattern[e]];
+            fire(p, pattern[e] + 1, volley[e], boss, bullets, ship1, ship2);
+            timer[e] = p.interval;
+            if (++volley[e] >= p.volleys) {
+                remove(e);
+            }
+        }
+    }
+    
+    // Stable removal, emitter order decides spawn order and must match between netplay peers
+    private void remove(int e) {
+        for (int i = e + 1; i < count; i++) {
+            pattern[i - 1] = pattern[i];
+            timer[i - 1] = timer[i];
+            volley[i - 1] = volley[i];
+        }
+        count--;
+    }
+    
+    private static void fire(BulletPattern p, int curve, int volley, Boss boss, Archetype bullets, Player ship1, Player ship2) {
+        for (int gun = 0; gun < 3; gun++) {
+            if ((p.guns & (1 << gun)) == 0) continue;
+            
+            // Bullets leave from the centre of the gun's bottom edge
+            float ox = boss.x + 24 + gun * 48 - 8;
+            float oy = boss.y + boss.height - 8;
+            
+            double base = 90 + p.spin * volley;
+            if (p.aimed) {
+                Player target = ship2 == null || distance(ship1, ox, oy) <= distance(ship2, ox, oy) ? ship1 : ship2;
+                base += Math.toDegrees(StrictMath.atan2(target.y + target.height / 2 - oy, target.x + target.width / 2 - ox)) - 90;
+            }
+            if (p.sweep != 0) {
+                base += p.sweep * StrictMath.sin(2 * Math.PI * volley * p.interval / p.period);
+            }
+            
+            double step = 0;
+            double first = base;
+            if (p.spread >= 360) {
+                step = 360.0 / p.arms;
+            } else if (p.arms > 1) {
+                step = p.spread / (p.arms - 1);
+                first = base - p.spread / 2;
+            }
+            
+            for (int arm = 0; arm < p.arms; arm++) {
+                double angle = Math.toRadians(first + arm * step);
+                int i = bullets.spawn(ox, oy, (float)(p.speed * StrictMath.cos(angle)), (float)(p.speed * StrictMath.sin(angle)),
+                    16, 16, p.sprite, 1);
+                bullets.curve[i] = curve;
+            }
+        }
+    }
+    
+    private static float distance(Player ship, float x, float y) {
+        float dx = ship.x + ship.width / 2 - x;
+        float dy = ship.y + ship.height / 2 - y;
+        return dx * dx + dy * dy;
+    }
+    
+    public void write(ByteBuffer buf) {
+        buf.put((byte)count);
+        for (int e = 0; e < count; e++) {
+            buf.put((byte)pattern[e]);
+            buf.putInt(timer[e]);
+            buf.putInt(volley[e]);
+        }
+        buf.putInt(cooldown);
+        buf.putInt(sequence);
+    }
+    
+    public void read(ByteBuffer buf) {
+        count = buf.get();
+        for (int e = 0; e < count; e++) {
+            pattern[e] = buf.get();
+            timer[e] = buf.getInt();
+            volley[e] = buf.getInt();
+        }
+        cooldown = buf.getInt();
+        sequence = buf.getInt();
+    }
+}
@@ -0,0 +1,78 @@
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+// Bullet pattern stress test
+//   java PatternStress [ticks] [pattern line]
+public class PatternStress {
+    public static void main(String[] args) {
+        int ticks = args.length > 0 ? Integer.parseInt(args[0]) : 3000;
+        String line = args.length > 1 ? args[1]
+            : "spiral gun=all arms=40 interval=1 volleys=1000000 rest=1000000 speed=1.2 spin=3 turn=0.2 curve=200 sprite=2";
+        
+        GameAssets assets = GameAssets.load(false);
+        BulletPatterns patterns = BulletPatterns.parse(Arrays.asList(line));
+        World world = new World(assets.asteroidSheet, assets.enemySheet, assets.bulletSheet, assets.allSheet);
+        Boss boss = new Boss(SpaceGame.WINDOW_WIDTH / 2 - 72, 50, assets.enemySheet);
+        boss.setSway(assets.paths.get(assets.paths.id("boss_sway")));
+        Player ship = new Player(SpaceGame.WINDOW_WIDTH / 2 - 48, SpaceGame.WINDOW_HEIGHT - 100, assets.playerSheet, assets.exhaustSheet);
+        Camera camera = new Camera(SpaceGame.WINDOW_WIDTH, SpaceGame.WINDOW_HEIGHT, SpaceGame.WORLD_WIDTH, SpaceGame.WORLD_HEIGHT);
+        camera.follow(ship, null);
+        ByteBuffer snapshot = ByteBuffer.allocate(GameSnapshot.MAX_SIZE);
+        
+        long[] tickNanos = new long[ticks];
+        long snapshotNanos = 0;
+        int hits = 0;
+        int peak = 0;
+        for (int t = 0; t < ticks; t++) {
+            long start = System.nanoTime();
+            boss.update(camera);
+            boss.shoot(world.bossBullets, patterns, ship, null);
+            patterns.steer(world.bossBullets);
+            world.move(world.bossBullets);
+            world.cull();
+            if (World.hit(world.bossBullets, ship.x, ship.y, ship.width, ship.height) >= 0) {
+                hits++;
+            }
+            world.compact();
+            world.bossBullets.trimOldest(BulletPatterns.MAX_BULLETS);
+            long simulated = System.nanoTime();
+            
+            snapshot.clear();
+            world.write(snapshot);
+            long end = System.nanoTime();
+            
+            tickNanos[t] = end - start;
+            snapshotNanos += end - simulated;
+            peak = Math.max(peak, world.bossBullets.count);
+        }
+        
+        // Only the second half counts, by then the bullet count has reached its cap
+        long[] steady = Arrays.copyOfRange(tickNanos, ticks / 2, ticks);
+        long total = 0;
+        for (long nanos : steady) {
+            total += nanos;
+        }
+        Arrays.sort(steady);
+        
+        BufferedImage frame = new BufferedImage(SpaceGame.WINDOW_WIDTH, SpaceGame.WINDOW_HEIGHT, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = frame.createGraphics();
+        long drawNanos = 0;
+        int draws = 50;
+        for (int i = 0; i < draws; i++) {
+            long start = System.nanoTime();
+            world.draw(g, world.bossBullets, camera);
+            drawNanos += System.nanoTime() - start;
+        }
+        g.dispose();
+        
+        System.out.println("pattern: " + line);
+        System.out.printf("live boss bullets: %d (peak %d, cap %d), snapshot %d bytes%n",
+            world.bossBullets.count, peak, BulletPatterns.MAX_BULLETS, snapshot.position());
+        System.out.printf("tick at cap: avg %.3f ms, p99 %.3f ms, max %.3f ms of 20 ms (snapshot write avg %.3f ms)%n",
+            total / 1e6 / steady.length, steady[(int)(steady.length * 0.99)] / 1e6, steady[steady.length - 1] / 1e6,
+            snapshotNanos / 1e6 / ticks);
+        System.out.printf("draw: %.2f ms per frame, ship overlapped on %d ticks%n", drawNanos / 1e6 / draws, hits);
+    }
+}
@@ -1,5 +1,4 @@
 import java.awt.*;
-import java.awt.event.KeyEvent;
 import java.awt.image.BufferedImage;
 import java.util.ArrayList;
 
@@ -10,12 +9,12 @@ class Player {
     int height = 72;  // 3 tiles * 16 * 1.5
     int speed = 5;
     boolean left, right, up, down;
-    BufferedImage spriteSheet;
-    BufferedImage exhaustSheet;
+    Texture spriteSheet;   // Asked for every draw, so the manager sees the ship sheets in use
+    Texture exhaustSheet;
     ArrayList<PlayerPart> parts;
     ArrayList<ExhaustPart> exhaustParts;
     
-    public Player(int x, int y, BufferedImage sheet, BufferedImage exhaustSheet) {
+    public Player(int x, int y, Texture sheet, Texture exhaustSheet) {
         this.x = x;
         this.y = y;
         this.spriteSheet = sheet;
@@ -57,25 +56,27 @@ class Player {
         parts.add(new PlayerPart(48, 32, 48, 48, 16, 16));  // 12
     }
     
-    public void update() {
+    public void update(Camera camera) {
         if (left) x -= speed;
         if (right) x += speed;
         if (up) y -= speed;
         if (down) y += speed;
         
-        // Keep player in bounds
+        // Keep player in the world, the camera follows
         if (x < 0) x = 0;
-        if (x > 800 - width) x = 800 - width;
+        if (x > camera.worldWidth - width) x = camera.worldWidth - width;
         if (y < 0) y = 0;
-        if (y > 600 - height) y = 600 - height;
+        if (y > camera.worldHeight - height) y = camera.worldHeight - height;
     }
     
-    public void draw(Graphics2D g) {
-        // Draw exhaust only when moving (behind the ship)
-        if (exhaustSheet != null && (left || right || up || down)) {
+    public void draw(Graphics2D g, boolean tileExhaust) {
+        // Draw exhaust only when moving (behind the ship). The particle system draws the flames,
+        // the tiles only stand in for it when particles are off
+        BufferedImage exhaustImage = tileExhaust ? exhaustSheet.get() : null;
+        if (exhaustImage != null && (left || right || up || down)) {
             for (ExhaustPart exhaust : exhaustParts) {
                 try {
-                    BufferedImage sprite = exhaustSheet.getSubimage(
+                    BufferedImage sprite = exhaustImage.getSubimage(
                         exhaust.srcX, exhaust.srcY, exhaust.srcW, exhaust.srcH
                     );
                     int scaledW = (int)(exhaust.srcW * 1.5);
@@ -90,7 +91,8 @@ class Player {
         }
         
         // Draw ship
-        if (spriteSheet == null) {
+        BufferedImage shipImage = spriteSheet.get();
+        if (shipImage == null) {
             // Fallback drawing
             g.setColor(Color.CYAN);
             g.fillRect(x, y, width, height);
@@ -101,7 +103,7 @@ class Player {
         
         for (PlayerPart part : parts) {
             try {
-                BufferedImage sprite = spriteSheet.getSubimage(
+                BufferedImage sprite = shipImage.getSubimage(
                     part.srcX, part.srcY, part.srcW, part.srcH
                 );
                 int scaledW = (int)(part.srcW * 1.5);
@@ -121,20 +123,17 @@ class Player {
         }
     }
     
-    public void keyPressed(KeyEvent e) {
-        int key = e.getKeyCode();
-        if (key == KeyEvent.VK_LEFT) left = true;
-        if (key == KeyEvent.VK_RIGHT) right = true;
-        if (key == KeyEvent.VK_UP) up = true;
-        if (key == KeyEvent.VK_DOWN) down = true;
+    // Movement follows the input sampled for this tick
+    public void applyInput(InputSystem input) {
+        applyMask(input.heldMask());
     }
     
-    public void keyReleased(KeyEvent e) {
-        int key = e.getKeyCode();
-        if (key == KeyEvent.VK_LEFT) left = false;
-        if (key == KeyEvent.VK_RIGHT) right = false;
-        if (key == KeyEvent.VK_UP) up = false;
-        if (key == KeyEvent.VK_DOWN) down = false;
+    // Same from a raw held-action mask, netplay sends these over the wire
+    public void applyMask(int held) {
+        left = (held & InputAction.MOVE_LEFT.bit) != 0;
+        right = (held & InputAction.MOVE_RIGHT.bit) != 0;
+        up = (held & InputAction.MOVE_UP.bit) != 0;
+        down = (held & InputAction.MOVE_DOWN.bit) != 0;
     }
 }
 
@@ -0,0 +1,30 @@
+import java.util.Random;
+
+// Random pilot bot
+// Holds a random direction for a random while, badly on purpose.
+class RandomPilot implements BotPolicy {
+    private static final InputAction[] MOVES = {
+        InputAction.MOVE_LEFT, InputAction.MOVE_RIGHT, InputAction.MOVE_UP, InputAction.MOVE_DOWN
+    };
+    
+    private final Random random;
+    private InputAction held;
+    private int hold;
+    
+    public RandomPilot(long seed) {
+        random = new Random(seed);
+    }
+    
+    @Override
+    public void drive(SpaceGame game, InputSystem input) {
+        if (--hold > 0) return;
+        if (held != null) {
+            input.inject(held, false);
+        }
+        held = random.nextInt(3) == 0 ? null : MOVES[random.nextInt(MOVES.length)];
+        if (held != null) {
+            input.inject(held, true);
+        }
+        hold = 5 + random.nextInt(30);
+    }
+}
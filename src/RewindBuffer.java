@@ -0,0 +1,213 @@
+import java.nio.ByteBuffer;
+
+// Rewind buffer class
+// The last few seconds of state as keyframes and XOR deltas in a bounded arena.
+class RewindBuffer {
+    static final int DEFAULT_TICKS = 500;          // 10 seconds at 50 FPS
+    static final int KEYFRAME_INTERVAL = 50;       // One full snapshot per second
+    static final int ARENA_SIZE = 4 * 1024 * 1024; // Starting size, enough for the window in normal play
+    
+    // Boss bullets at BulletPatterns.MAX_BULLETS make frames of 240-340 KB, so the arena doubles
+    // up to this bound, which holds about 4.5 seconds of them instead of the full window
+    static final int MAX_ARENA_SIZE = 64 * 1024 * 1024;
+    
+    private final int capacity;
+    private byte[] arena;
+    private long writePos; // Total bytes ever written, arena index is writePos % arena.length
+    
+    // Per-slot frame info, slot = frame number % capacity
+    private final long[] frameOffset;
+    private final int[] frameLength;
+    private final int[] frameTick;
+    private final long[] frameKeyOffset; // Offset of the keyframe this frame is encoded against
+    private final int[] frameKeyLength;  // and its encoded length
+    private final boolean[] frameIsKey;
+    private int count;  // Number of frames currently stored
+    private int newest; // Slot of the newest frame
+    
+    // Working buffers for the current capture and the last keyframe
+    private final byte[] current;
+    private final ByteBuffer currentBuffer;
+    private final byte[] keyframe;
+    private int keyframeLength;
+    private long keyframeOffset;
+    private int keyframeEncodedLength;
+    private int sinceKeyframe;
+    private boolean forceKeyframe = true;
+    
+    // One encoded frame on its way into or out of the arena
+    private final byte[] scratchBytes;
+    private final ByteBuffer scratch;
+    
+    public RewindBuffer() {
+        this(DEFAULT_TICKS);
+    }
+    
+    public RewindBuffer(int ticks) {
+        this.capacity = ticks;
+        this.arena = new byte[ARENA_SIZE];
+        this.frameOffset = new long[ticks];
+        this.frameLength = new int[ticks];
+        this.frameTick = new int[ticks];
+        this.frameKeyOffset = new long[ticks];
+        this.frameKeyLength = new int[ticks];
+        this.frameIsKey = new boolean[ticks];
+        this.current = new byte[GameSnapshot.MAX_SIZE];
+        this.currentBuffer = ByteBuffer.wrap(current);
+        this.keyframe = new byte[GameSnapshot.MAX_SIZE];
+        this.scratchBytes = new byte[DeltaCodec.maxEncodedSize(GameSnapshot.MAX_SIZE)];
+        this.scratch = ByteBuffer.wrap(scratchBytes);
+    }
+    
+    public void clear() {
+        count = 0;
+        forceKeyframe = true;
+    }
+    
+    public int size() {
+        return count;
+    }
+    
+    public int newestTick() {
+        return count > 0 ? frameTick[newest] : -1;
+    }
+    
+    public int oldestTick() {
+        return count > 0 ? frameTick[slotAt(count - 1)] : -1;
+    }
+    
+    // Capture the game state for this tick
+    public void record(SpaceGame game, int tick) {
+        currentBuffer.clear();
+        game.writeState(currentBuffer);
+        int length = currentBuffer.position();
+        
+        // Also a new keyframe once the deltas against the current one fill half the arena: with
+        // thousands of boss bullets every delta is nearly full size, and the keyframe would be
+        // overwritten before the interval comes round, taking every frame with it
+        boolean key = forceKeyframe || sinceKeyframe >= KEYFRAME_INTERVAL - 1 || writePos - keyframeOffset > arena.length / 2;
+        int slot = count > 0 ? (newest + 1) % capacity : 0;
+        long start = writePos;
+        
+        // A delta bigger than the frame itself (boss bullets shift in the arrays every tick)
+        // is stored as a keyframe instead
+        if (!key) {
+            scratch.clear();
+            DeltaCodec.encode(current, length, keyframe, keyframeLength, scratch);
+            key = scratch.position() > length + 5;
+        }
+        if (key) {
+            scratch.clear();
+            DeltaCodec.putVarInt(scratch, length);
+            scratch.put(current, 0, length);
+        }
+        
+        // Make room before the window is full, rather than drop its oldest frames
+        while (count > 0 && count < capacity && arena.length < MAX_ARENA_SIZE
+                && writePos + scratch.position() - oldestNeeded(slotAt(count - 1)) > arena.length) {
+            grow();
+        }
+        
+        store();
+        if (key) {
+            System.arraycopy(current, 0, keyframe, 0, length);
+            keyframeLength = length;
+            keyframeOffset = start;
+            keyframeEncodedLength = (int)(writePos - start);
+            sinceKeyframe = 0;
+            forceKeyframe = false;
+        } else {
+            sinceKeyframe++;
+        }
+        
+        frameOffset[slot] = start;
+        frameLength[slot] = (int)(writePos - start);
+        frameTick[slot] = tick;
+        frameKeyOffset[slot] = keyframeOffset;
+        frameKeyLength[slot] = keyframeEncodedLength;
+        frameIsKey[slot] = key;
+        newest = slot;
+        if (count < capacity) count++;
+        
+        // Drop the oldest frames whose bytes (or keyframe bytes) have been overwritten
+        while (count > 0 && !isIntact(slotAt(count - 1))) {
+            count--;
+        }
+    }
+    
+    // Restore the game to the frame stepsBack frames before the newest one and
+    // forget everything newer, so simulation continues from there
+    public boolean rewind(SpaceGame game, int stepsBack) {
+        if (stepsBack < 0 || stepsBack >= count) return false;
+        int slot = slotAt(stepsBack);
+        int length = decode(slot);
+        currentBuffer.clear();
+        currentBuffer.limit(length);
+        game.readState(currentBuffer);
+        
+        newest = slot;
+        count -= stepsBack;
+        forceKeyframe = true; // The keyframe we were encoding against may be gone
+        return true;
+    }
+    
+    private int slotAt(int stepsBack) {
+        return ((newest - stepsBack) % capacity + capacity) % capacity;
+    }
+    
+    private boolean isIntact(int slot) {
+        return writePos - oldestNeeded(slot) <= arena.length;
+    }
+    
+    // First arena byte a frame needs, its keyframe's when it is a delta
+    private long oldestNeeded(int slot) {
+        return frameIsKey[slot] ? frameOffset[slot] : frameKeyOffset[slot];
+    }
+    
+    // Double the arena, moving the bytes the stored frames still need to their new indexes
+    private void grow() {
+        byte[] bigger = new byte[Math.min(arena.length * 2, MAX_ARENA_SIZE)];
+        long pos = Math.max(writePos - arena.length, 0);
+        while (pos < writePos) {
+            int from = (int)(pos % arena.length);
+            int to = (int)(pos % bigger.length);
+            int n = (int)Math.min(writePos - pos, Math.min(arena.length - from, bigger.length - to));
+            System.arraycopy(arena, from, bigger, to, n);
+            pos += n;
+        }
+        arena = bigger;
+    }
+    
+    // Copy the encoded frame in scratch into the arena, wrapping at its end
+    private void store() {
+        int length = scratch.position();
+        int at = (int)(writePos % arena.length);
+        int first = Math.min(length, arena.length - at);
+        System.arraycopy(scratchBytes, 0, arena, at, first);
+        System.arraycopy(scratchBytes, first, arena, 0, length - first);
+        writePos += length;
+    }
+    
+    // Copy an encoded frame out of the arena into scratch, ready to read
+    private void load(long offset, int length) {
+        int at = (int)(offset % arena.length);
+        int first = Math.min(length, arena.length - at);
+        System.arraycopy(arena, at, scratchBytes, 0, first);
+        System.arraycopy(arena, 0, scratchBytes, first, length - first);
+        scratch.clear();
+        scratch.limit(length);
+    }
+    
+    // Decode a stored frame into current[], returns its length
+    private int decode(int slot) {
+        load(frameKeyOffset[slot], frameKeyLength[slot]);
+        int keyLength = DeltaCodec.getVarInt(scratch);
+        scratch.get(current, 0, keyLength);
+        if (frameIsKey[slot]) {
+            return keyLength;
+        }
+        
+        load(frameOffset[slot], frameLength[slot]);
+        return DeltaCodec.decode(scratch, current, keyLength);
+    }
+}
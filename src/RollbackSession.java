@@ -0,0 +1,315 @@
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.SocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.DatagramChannel;
+import java.util.zip.CRC32;
+
+// Rollback session class
+// Two-player co-op over UDP, predicting remote input and re-simulating when wrong.
+class RollbackSession {
+    static final int INPUT_DELAY = 2;   // Frames between pressing a key and it taking effect
+    static final int MAX_ROLLBACK = 8;  // Never run further ahead of the peer than this
+    private static final int INPUT_RING = 128;
+    private static final int STATE_RING = 16;  // Must hold MAX_ROLLBACK + 1 frames
+    private static final int MAX_SEND = 32;    // Inputs per packet
+    private static final int MAGIC = 0x564E4554; // "VNET"
+    private static final long TIMEOUT_NANOS = 5_000_000_000L;
+    private static final int MOVE_MASK = InputAction.MOVE_LEFT.bit | InputAction.MOVE_RIGHT.bit
+        | InputAction.MOVE_UP.bit | InputAction.MOVE_DOWN.bit;
+    
+    private final boolean host;
+    private final DatagramChannel channel;
+    private final LinkConditioner link;
+    private SocketAddress peer;   // The host learns it from the first packet
+    private long seed;
+    private boolean started;
+    private boolean disconnected;
+    private long lastReceive;
+    
+    private int frame;            // Next frame to simulate
+    private int localLatest;      // Newest frame with local input
+    private int remoteConfirmed;  // Newest frame up to which all remote input is known
+    private int remoteAck;        // Newest of our frames the peer has confirmed
+    private int remoteLatest;     // Newest remote input frame seen, confirmed or not
+    private int remoteAdvantage;  // How far the peer thinks it is ahead of us
+    private int lastSyncWait = -1;
+    private int rollbackFrame = Integer.MAX_VALUE;
+    private final int[] localInputs = new int[INPUT_RING];
+    private final int[] remoteInputs = new int[INPUT_RING];
+    private final int[] usedRemote = new int[INPUT_RING]; // What the simulation assumed
+    private final ByteBuffer[] states = new ByteBuffer[STATE_RING];
+    private final int[] stateFrames = new int[STATE_RING];
+    
+    // Desync detection: checksum of every state both sides agree is final
+    private int checkedFrame = -1;
+    private final int[] checksums = new int[STATE_RING];
+    private final int[] checksumFrames = new int[STATE_RING];
+    private final CRC32 crc = new CRC32();
+    
+    private final ByteBuffer sendBuffer = ByteBuffer.allocate(64 + MAX_SEND);
+    private final ByteBuffer receiveBuffer = ByteBuffer.allocate(1500);
+    
+    // Stats for tools and the HUD
+    int rollbacks;
+    int maxResimFrames;
+    long maxRollbackNanos;
+    long totalRollbackNanos;
+    int stalls;
+    int timeSyncWaits;
+    int desyncs;
+    int checksumsCompared;
+    
+    private RollbackSession(boolean host, DatagramChannel channel, SocketAddress peer, LinkConditioner link) {
+        this.host = host;
+        this.channel = channel;
+        this.peer = peer;
+        this.link = link;
+        this.seed = host ? System.nanoTime() : 0;
+        for (int i = 0; i < STATE_RING; i++) {
+            states[i] = ByteBuffer.allocate(GameSnapshot.MAX_SIZE);
+            stateFrames[i] = -1;
+            checksumFrames[i] = -1;
+        }
+        // The first INPUT_DELAY frames have no input on either side
+        localLatest = INPUT_DELAY - 1;
+        remoteConfirmed = INPUT_DELAY - 1;
+        remoteAck = INPUT_DELAY - 1;
+        remoteLatest = INPUT_DELAY - 1;
+    }
+    
+    static RollbackSession host(int port, LinkConditioner link) throws IOException {
+        return new RollbackSession(true, open(new InetSocketAddress(port)), null, link);
+    }
+    
+    static RollbackSession join(InetSocketAddress hostAddress, LinkConditioner link) throws IOException {
+        return new RollbackSession(false, open(new InetSocketAddress(0)), hostAddress, link);
+    }
+    
+    private static DatagramChannel open(InetSocketAddress bind) throws IOException {
+        DatagramChannel channel = DatagramChannel.open();
+        channel.bind(bind);
+        channel.configureBlocking(false);
+        return channel;
+    }
+    
+    // One 20 ms tick: read the network, roll back if needed, then advance at most one frame
+    public void advance(SpaceGame game, int localMask) {
+        if (disconnected) return;
+        try {
+            receive(game);
+            if (started && System.nanoTime() - lastReceive > TIMEOUT_NANOS) {
+                disconnected = true;
+                System.err.println("Error in netplay: peer timed out");
+                return;
+            }
+            if (!started) {
+                send(); // Joining side says hello until the host answers
+                return;
+            }
+            
+            if (rollbackFrame < frame) {
+                rollback(game);
+            }
+            
+            // Too far ahead of the peer, wait for its input instead of predicting further
+            if (frame - remoteConfirmed > MAX_ROLLBACK) {
+                stalls++;
+                send();
+                return;
+            }
+            
+            // Time sync: the side that runs ahead does all the rolling back, so it idles a frame
+            // now and then until both see about the same advantage
+            if (frame % 10 == 0 && frame != lastSyncWait && localAdvantage() - remoteAdvantage >= 2) {
+                lastSyncWait = frame;
+                timeSyncWaits++;
+                send();
+                return;
+            }
+            
+            localLatest = frame + INPUT_DELAY;
+            localInputs[localLatest % INPUT_RING] = localMask & MOVE_MASK;
+            send();
+            
+            saveState(game, frame);
+            simulate(game, frame);
+            frame++;
+            updateChecksums();
+        } catch (IOException e) {
+            System.err.println("Error in netplay: " + e.getMessage());
+            disconnected = true;
+        }
+    }
+    
+    private void rollback(SpaceGame game) {
+        long start = System.nanoTime();
+        int from = rollbackFrame;
+        rollbackFrame = Integer.MAX_VALUE;
+        
+        ByteBuffer state = states[from % STATE_RING];
+        state.position(0);
+        game.setResimulating(true);
+        game.readState(state);
+        for (int f = from; f < frame; f++) {
+            if (f > from) {
+                saveState(game, f);
+            }
+            simulate(game, f);
+        }
+        game.setResimulating(false);
+        game.syncMusic();
+        
+        long nanos = System.nanoTime() - start;
+        rollbacks++;
+        maxResimFrames = Math.max(maxResimFrames, frame - from);
+        maxRollbackNanos = Math.max(maxRollbackNanos, nanos);
+        totalRollbackNanos += nanos;
+    }
+    
+    // Frames we are ahead of the peer, judged by the newest input it sent
+    private int localAdvantage() {
+        return frame - (remoteLatest - INPUT_DELAY);
+    }
+    
+    private void simulate(SpaceGame game, int f) {
+        int slot = f % INPUT_RING;
+        int remote = f <= remoteConfirmed ? remoteInputs[slot] : remoteInputs[remoteConfirmed % INPUT_RING];
+        usedRemote[slot] = remote;
+        int local = localInputs[slot];
+        game.simulate(host ? local : remote, host ? remote : local);
+    }
+    
+    private void saveState(SpaceGame game, int f) {
+        ByteBuffer state = states[f % STATE_RING];
+        state.clear();
+        game.writeState(state);
+        state.flip();
+        stateFrames[f % STATE_RING] = f;
+    }
+    
+    // The state at the start of frame f is final once all input before f is known
+    private void updateChecksums() {
+        int finalFrame = Math.min(remoteConfirmed + 1, frame - 1);
+        while (checkedFrame < finalFrame) {
+            checkedFrame++;
+            int slot = checkedFrame % STATE_RING;
+            if (stateFrames[slot] != checkedFrame) continue;
+            ByteBuffer state = states[slot];
+            crc.reset();
+            crc.update(state.array(), 0, state.limit());
+            checksums[slot] = (int)crc.getValue();
+            checksumFrames[slot] = checkedFrame;
+        }
+    }
+    
+    // Packet: magic, seed, ack, advantage, checksum frame + value, first input frame, count, inputs
+    private void send() throws IOException {
+        if (peer == null) return;
+        int first = Math.max(remoteAck + 1, localLatest - MAX_SEND + 1);
+        int count = Math.max(0, localLatest - first + 1);
+        
+        ByteBuffer buf = sendBuffer;
+        buf.clear();
+        buf.putInt(MAGIC);
+        buf.putLong(seed);
+        buf.putInt(remoteConfirmed);
+        buf.putShort((short)Math.max(Short.MIN_VALUE, Math.min(Short.MAX_VALUE, localAdvantage())));
+        int checkSlot = checkedFrame >= 0 ? checkedFrame % STATE_RING : 0;
+        boolean hasCheck = checkedFrame >= 0 && checksumFrames[checkSlot] == checkedFrame;
+        buf.putInt(hasCheck ? checkedFrame : -1);
+        buf.putInt(hasCheck ? checksums[checkSlot] : 0);
+        buf.putInt(first);
+        buf.put((byte)count);
+        for (int f = first; f < first + count; f++) {
+            buf.put((byte)localInputs[f % INPUT_RING]);
+        }
+        buf.flip();
+        link.send(channel, buf, peer);
+    }
+    
+    private void receive(SpaceGame game) throws IOException {
+        link.flush(channel);
+        SocketAddress from;
+        while ((from = channel.receive(receiveBuffer)) != null) {
+            ByteBuffer buf = receiveBuffer;
+            buf.flip();
+            if (buf.remaining() >= 31 && buf.getInt() == MAGIC && (peer == null || peer.equals(from))) {
+                readPacket(game, buf, from);
+            }
+            buf.clear();
+        }
+    }
+    
+    private void readPacket(SpaceGame game, ByteBuffer buf, SocketAddress from) {
+        long packetSeed = buf.getLong();
+        int ack = buf.getInt();
+        int advantage = buf.getShort();
+        int checkFrame = buf.getInt();
+        int checksum = buf.getInt();
+        int first = buf.getInt();
+        int count = buf.get() & 0xFF;
+        lastReceive = System.nanoTime();
+        
+        if (!started) {
+            peer = from;
+            if (!host) {
+                seed = packetSeed;
+            }
+            started = true;
+            game.startNetplay(seed);
+        }
+        
+        remoteAck = Math.max(remoteAck, ack);
+        remoteAdvantage = advantage;
+        remoteLatest = Math.max(remoteLatest, first + count - 1);
+        
+        // Inputs arrive as a contiguous run, anything past a gap is resent later
+        for (int i = 0; i < count && buf.hasRemaining(); i++) {
+            int f = first + i;
+            int input = buf.get();
+            if (f != remoteConfirmed + 1) continue;
+            remoteInputs[f % INPUT_RING] = input;
+            remoteConfirmed = f;
+            if (f < frame && usedRemote[f % INPUT_RING] != input) {
+                rollbackFrame = Math.min(rollbackFrame, f);
+            }
+        }
+        
+        if (checkFrame >= 0 && checksumFrames[checkFrame % STATE_RING] == checkFrame) {
+            checksumsCompared++;
+            if (checksums[checkFrame % STATE_RING] != checksum) {
+                if (desyncs++ == 0) {
+                    System.err.println("Error in netplay: desync at frame " + checkFrame);
+                }
+            }
+        }
+    }
+    
+    public void close() {
+        try {
+            channel.close();
+        } catch (IOException e) {
+            System.err.println("Error closing netplay channel: " + e.getMessage());
+        }
+    }
+    
+    int getLocalPort() {
+        try {
+            return ((InetSocketAddress) channel.getLocalAddress()).getPort();
+        } catch (IOException e) {
+            return -1;
+        }
+    }
+    
+    boolean isHost() { return host; }
+    boolean isStarted() { return started; }
+    boolean isDisconnected() { return disconnected; }
+    int getFrame() { return frame; }
+    int getCheckedFrame() { return checkedFrame; }
+    
+    // Checksum of a final frame, or 0 if it is no longer (or not yet) known
+    int checksumAt(int f) {
+        return checksumFrames[f % STATE_RING] == f ? checksums[f % STATE_RING] : 0;
+    }
+}
@@ -0,0 +1,50 @@
+// Running stats class
+// Streaming statistics in constant memory, not thread-safe
+class RunningStats {
+    private final double bucketWidth;
+    private final long[] buckets; // The last bucket also takes everything above the range
+    long count;
+    double mean;
+    private double m2;
+    double min = Double.POSITIVE_INFINITY;
+    double max = Double.NEGATIVE_INFINITY;
+    
+    public RunningStats(double bucketWidth, int bucketCount) {
+        this.bucketWidth = bucketWidth;
+        this.buckets = new long[bucketCount];
+    }
+    
+    public void add(double value) {
+        count++;
+        double delta = value - mean;
+        mean += delta / count;
+        m2 += delta * (value - mean);
+        min = Math.min(min, value);
+        max = Math.max(max, value);
+        int bucket = (int)(Math.max(value, 0) / bucketWidth);
+        buckets[Math.min(bucket, buckets.length - 1)]++;
+    }
+    
+    public double stddev() {
+        return count > 1 ? Math.sqrt(m2 / (count - 1)) : 0;
+    }
+    
+    // Upper edge of the bucket holding the p-th sample, exact to one bucket width
+    public double percentile(double p) {
+        long rank = (long)Math.ceil(p * count);
+        long seen = 0;
+        for (int i = 0; i < buckets.length; i++) {
+            seen += buckets[i];
+            if (seen >= rank) {
+                return Math.min((i + 1) * bucketWidth, max);
+            }
+        }
+        return max;
+    }
+    
+    public String summary() {
+        if (count == 0) return "no samples";
+        return String.format("mean %.1f  sd %.1f  min %.0f  p10 %.0f  p50 %.0f  p90 %.0f  max %.0f",
+            mean, stddev(), min, percentile(0.1), percentile(0.5), percentile(0.9), max);
+    }
+}
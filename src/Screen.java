@@ -0,0 +1,11 @@
+// Lifecycle of a screen kept alive by GameWindow between transitions
+interface Screen {
+    // Put back into its initial state, e.g. a fresh run or the top of the menu
+    void reset();
+    
+    // Becoming visible: start timers and music
+    void resume();
+    
+    // Being hidden: stop timers and music, keep everything loaded
+    void suspend();
+}
@@ -0,0 +1,125 @@
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+// Sector class
+// One stretch of endless mode, built from nothing but the run's seed and its index.
+class Sector {
+    static final int LENGTH = 500; // 10 seconds
+    static final int ROCK = 0, ENEMY = 1, MINI_BOSS = 2, POWER_UP = 3;
+    static final int RAMP = 20;    // Density stops growing after this many sectors, a little over 3 minutes
+    
+    final long seed;
+    final int index;
+    final int count;
+    // One entry per spawn, in tick order. x is from the left edge of the view, y how far above
+    // its top edge; both are made world coordinates with the camera when the spawn happens
+    final int[] tick, type, x, y, speed, level, health, path;
+    final int[] first; // Spawns at tick t are first[t] up to first[t + 1]
+    
+    private Sector(long seed, int index, List<int[]> spawns) {
+        this.seed = seed;
+        this.index = index;
+        spawns.sort(Comparator.comparingInt(s -> s[0])); // Stable, so same-tick spawns keep their order
+        count = spawns.size();
+        tick = new int[count];
+        type = new int[count];
+        x = new int[count];
+        y = new int[count];
+        speed = new int[count];
+        level = new int[count];
+        health = new int[count];
+        path = new int[count];
+        for (int i = 0; i < count; i++) {
+            int[] s = spawns.get(i);
+            tick[i] = s[0];
+            type[i] = s[1];
+            x[i] = s[2];
+            y[i] = s[3];
+            speed[i] = s[4];
+            level[i] = s[5];
+            health[i] = s[6];
+            path[i] = s[7];
+        }
+        first = new int[LENGTH + 1];
+        for (int t = 0, i = 0; t <= LENGTH; t++) {
+            while (i < count && tick[i] < t) i++;
+            first[t] = i;
+        }
+    }
+    
+    // Sector `index` of the run with this seed. Later sectors bring more rocks per field, more
+    // fields, more formations, faster ships and tougher mini-bosses, up to RAMP
+    static Sector generate(long seed, int index, int zigzagPath) {
+        GameRandom random = new GameRandom(seed ^ (index * 0x9E3779B97F4A7C15L));
+        List<int[]> spawns = new ArrayList<>();
+        int width = SpaceGame.WINDOW_WIDTH;
+        int ramp = Math.min(index, RAMP);
+        int faster = index >= RAMP / 2 ? 1 : 0;
+        
+        // Rock fields: a cluster drifting in over two seconds
+        int fields = 1 + ramp / 5;
+        for (int f = 0; f < fields; f++) {
+            int start = random.nextInt(LENGTH - 100);
+            int center = 100 + random.nextInt(width - 200);
+            int rocks = 3 + ramp / 3;
+            for (int r = 0; r < rocks; r++) {
+                int level = 1 + random.nextInt(3);
+                int size = 16 * level * SpaceGame.ROCK_SCALE;
+                int x = Math.max(0, Math.min(center - 120 + random.nextInt(240), width - size));
+                add(spawns, start + random.nextInt(100), ROCK, x, 50 + random.nextInt(60),
+                    1 + random.nextInt(2) + faster, level, level + 2, 0); // 3, 4 or 5 hits
+            }
+        }
+        
+        // Enemy formations, spread over the sector, the same five shapes as the normal game
+        int formations = 2 + ramp / 4;
+        for (int f = 0; f < formations; f++) {
+            int t = f * LENGTH / formations + random.nextInt(40);
+            int speed = 1 + random.nextInt(2) + faster;
+            switch (random.nextInt(5)) {
+                case 0: // Single
+                    add(spawns, t, ENEMY, random.nextInt(width - 50), 50, speed, 0, 1, 0);
+                    break;
+                case 1: // Pair
+                    add(spawns, t, ENEMY, random.nextInt(width / 2), 50, speed, 0, 1, 0);
+                    add(spawns, t, ENEMY, width / 2 + random.nextInt(width / 2 - 50), 50, speed, 0, 1, 0);
+                    break;
+                case 2: { // Row
+                    int x = random.nextInt(width / 2);
+                    for (int i = 0; i < 3; i++) {
+                        add(spawns, t, ENEMY, x + i * 60, 50 + i * 30, speed, 0, 1, 0);
+                    }
+                    break;
+                }
+                case 3: // V
+                    add(spawns, t, ENEMY, width / 2, 50, speed, 0, 1, 0);
+                    add(spawns, t, ENEMY, width / 2 - 60, 80, speed, 0, 1, 0);
+                    add(spawns, t, ENEMY, width / 2 + 60, 80, speed, 0, 1, 0);
+                    break;
+                default: { // Zigzagging diagonal
+                    int x = random.nextInt(width / 2);
+                    for (int i = 0; i < 3; i++) {
+                        add(spawns, t, ENEMY, x + i * 50, 50 + i * 40, speed, 0, 1, zigzagPath);
+                    }
+                    break;
+                }
+            }
+        }
+        
+        // Mini-boss every third sector, a third of the way in
+        if (index % 3 == 2) {
+            add(spawns, LENGTH / 3, MINI_BOSS, width / 2 - 48, 110, 1, 1, 12 + ramp * 2, zigzagPath);
+        }
+        
+        // Health every other sector, sometimes in between
+        if (index % 2 == 1 || random.nextInt(4) == 0) {
+            add(spawns, random.nextInt(LENGTH), POWER_UP, 25 + random.nextInt(width - 75), 30, 2, 0, 1, 0);
+        }
+        return new Sector(seed, index, spawns);
+    }
+    
+    private static void add(List<int[]> spawns, int tick, int type, int x, int y, int speed, int level, int health, int path) {
+        spawns.add(new int[] {tick, type, x, y, speed, level, health, path});
+    }
+}
@@ -0,0 +1,16 @@
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+// Flight Recorder event for one generated endless sector
+@Name("void.SectorBuilt")
+@Label("Sector Built")
+@Category({"VOID", "Simulation"})
+@Description("An endless mode sector generated, ahead of time or on the game thread when it was late")
+class SectorEvent extends Event {
+    @Label("Index") int index;
+    @Label("Spawns") int spawns;
+    @Label("Background") @Description("Built by the generator thread, not the game thread") boolean background;
+}
@@ -0,0 +1,113 @@
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.LockSupport;
+
+// Sector feed
+// Builds sectors ahead of the game on a background thread.
+class SectorFeed implements Runnable {
+    static final int AHEAD = 2;    // Sectors built in advance, 20 seconds of play
+    static final int RECENT = 8;   // Sectors kept on the game thread, a power of two
+    static final long IDLE_NANOS = 2_000_000_000L;
+    
+    private final int zigzagPath;
+    private final SectorQueue ready = new SectorQueue(RECENT);
+    private final Sector[] recent = new Sector[RECENT]; // Game thread only
+    private final AtomicBoolean running = new AtomicBoolean(); // Held by at most one generator thread
+    private volatile Thread thread;
+    
+    // What the generator should build, written by the game thread. restarts is written last, a
+    // generator that sees it change rereads the rest
+    private volatile long seed;
+    private volatile int from;      // First index to build after a restart
+    private volatile int upTo = -1; // Last index wanted
+    private volatile int restarts;
+    
+    // Stats
+    int misses;              // Sectors the game thread had to build itself
+    volatile int generated;  // Sectors the generator built
+    
+    public SectorFeed(int zigzagPath) {
+        this.zigzagPath = zigzagPath;
+    }
+    
+    // Game thread: sector `index` of the run with this seed, and the generator told to get ahead of it
+    public Sector get(long seed, int index) {
+        Sector sector;
+        while ((sector = ready.poll()) != null) {
+            recent[sector.index & (RECENT - 1)] = sector;
+        }
+        sector = recent[index & (RECENT - 1)];
+        if (sector == null || sector.index != index || sector.seed != seed) {
+            sector = build(seed, index, false);
+            recent[index & (RECENT - 1)] = sector;
+            misses++;
+        }
+        want(seed, index);
+        return sector;
+    }
+    
+    private void want(long seed, int index) {
+        if (seed != this.seed || index > upTo) {
+            // A new run, or a jump past anything asked for so far
+            this.seed = seed;
+            from = index + 1;
+            upTo = index + AHEAD;
+            restarts++;
+        } else if (index + AHEAD > upTo) {
+            upTo = index + AHEAD;
+        } else {
+            return;
+        }
+        if (running.compareAndSet(false, true)) {
+            Thread t = new Thread(this, "sector-generator");
+            t.setDaemon(true);
+            t.setPriority(Thread.MIN_PRIORITY); // Never worth competing with the game for a core
+            thread = t;
+            t.start();
+        } else {
+            LockSupport.unpark(thread);
+        }
+    }
+    
+    @Override
+    public void run() {
+        int seen = restarts - 1;
+        long runSeed = 0;
+        int next = 0;
+        while (true) {
+            if (restarts != seen) {
+                seen = restarts;
+                runSeed = seed;
+                next = from;
+            }
+            if (next <= upTo) {
+                ready.offer(build(runSeed, next, true)); // Full only if the game stopped polling, it builds its own then
+                generated++;
+                next++;
+                continue;
+            }
+            LockSupport.parkNanos(this, IDLE_NANOS);
+            if (restarts == seen && next > upTo) {
+                // Nothing came in while parked. Stop, unless work arrived after the check and
+                // want() saw this thread still running
+                running.set(false);
+                if ((restarts == seen && next > upTo) || !running.compareAndSet(false, true)) {
+                    return;
+                }
+            }
+        }
+    }
+    
+    private Sector build(long seed, int index, boolean background) {
+        SectorEvent event = new SectorEvent();
+        event.begin();
+        Sector sector = Sector.generate(seed, index, zigzagPath);
+        event.end();
+        if (event.shouldCommit()) {
+            event.index = index;
+            event.spawns = sector.count;
+            event.background = background;
+            event.commit();
+        }
+        return sector;
+    }
+}
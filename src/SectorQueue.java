@@ -0,0 +1,36 @@
+import java.util.concurrent.atomic.AtomicLong;
+
+// Sector queue
+// Lock-free single-producer, single-consumer ring.
+class SectorQueue {
+    private final Sector[] slots;
+    private final int mask;
+    private final AtomicLong head = new AtomicLong(); // Next slot to poll, consumer only
+    private final AtomicLong tail = new AtomicLong(); // Next slot to fill, producer only
+    
+    public SectorQueue(int capacity) {
+        int size = Integer.highestOneBit(Math.max(2, capacity - 1)) << 1; // Round up to a power of two
+        this.mask = size - 1;
+        this.slots = new Sector[size];
+    }
+    
+    // Producer: false when full, the sector is then dropped
+    public boolean offer(Sector sector) {
+        long t = tail.get();
+        if (t - head.get() > mask) return false;
+        slots[(int)(t & mask)] = sector;
+        tail.lazySet(t + 1);
+        return true;
+    }
+    
+    // Consumer: the oldest sector, null when empty
+    public Sector poll() {
+        long h = head.get();
+        if (h == tail.get()) return null;
+        int slot = (int)(h & mask);
+        Sector sector = slots[slot];
+        slots[slot] = null;
+        head.lazySet(h + 1);
+        return sector;
+    }
+}
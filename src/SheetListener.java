@@ -0,0 +1,7 @@
+import java.awt.image.BufferedImage;
+
+// Sheet listener interface
+// Rebuilds what it cut from a changed sheet and returns the swap that installs it
+interface SheetListener {
+    Runnable sheetChanged(Texture texture, BufferedImage image);
+}
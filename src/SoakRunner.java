@@ -0,0 +1,81 @@
+import javax.swing.*;
+
+// Soak runner
+//   java SoakRunner headless [ticks] | swing [cycles]
+public class SoakRunner {
+    private static final int REPORT_INTERVAL = 50_000; // Ticks between headless reports
+    private static final int SWING_PLAY_MILLIS = 5000;   // Time spent in the game per swing cycle
+    
+    public static void main(String[] args) throws Exception {
+        String mode = args.length > 0 ? args[0] : "headless";
+        if (mode.equals("swing")) {
+            runSwing(args.length > 1 ? Integer.parseInt(args[1]) : 100);
+        } else {
+            runHeadless(args.length > 1 ? Long.parseLong(args[1]) : 1_000_000L);
+        }
+    }
+    
+    private static void runHeadless(long ticks) {
+        SpaceGame game = new SpaceGame(null, GameAssets.load(false), true);
+        game.setBot(new AutoPilot());
+        
+        int games = 0;
+        int wins = 0;
+        long totalScore = 0;
+        long start = System.nanoTime();
+        long reportStart = start;
+        
+        for (long tick = 1; tick <= ticks; tick++) {
+            game.tick();
+            
+            if (game.isGameOver() || game.isGameWon()) {
+                games++;
+                if (game.isGameWon()) wins++;
+                totalScore += game.getScore();
+                game.restartGame();
+            }
+            
+            if (tick % REPORT_INTERVAL == 0) {
+                long now = System.nanoTime();
+                double ticksPerSecond = REPORT_INTERVAL / ((now - reportStart) / 1e9);
+                reportStart = now;
+                System.out.printf("ticks=%d tps=%.0f games=%d wins=%d avgScore=%.0f %s%n",
+                    tick, ticksPerSecond, games, wins, games > 0 ? (double)totalScore / games : 0.0, memoryReport());
+            }
+        }
+        
+        double seconds = (System.nanoTime() - start) / 1e9;
+        System.out.printf("Done: %d ticks in %.1fs (%.0f ticks/s), %d games, %d wins%n",
+            ticks, seconds, ticks / seconds, games, wins);
+    }
+    
+    private static void runSwing(int cycles) throws Exception {
+        GameWindow[] window = new GameWindow[1];
+        SwingUtilities.invokeAndWait(() -> window[0] = new GameWindow(new AutoPilot()));
+        
+        // Screens are kept alive between transitions, so steady growth in heap or
+        // threads across cycles points at a leak (e.g. a Timer or Clip not stopped)
+        for (int cycle = 1; cycle <= cycles; cycle++) {
+            long start = System.nanoTime();
+            SwingUtilities.invokeAndWait(() -> window[0].startGame());
+            double startMillis = (System.nanoTime() - start) / 1e6;
+            Thread.sleep(SWING_PLAY_MILLIS);
+            
+            start = System.nanoTime();
+            SwingUtilities.invokeAndWait(() -> window[0].showMenu());
+            double menuMillis = (System.nanoTime() - start) / 1e6;
+            Thread.sleep(500);
+            
+            System.gc();
+            System.out.printf("cycle=%d startGameMs=%.2f showMenuMs=%.2f %s%n",
+                cycle, startMillis, menuMillis, memoryReport());
+        }
+        System.exit(0);
+    }
+    
+    private static String memoryReport() {
+        Runtime runtime = Runtime.getRuntime();
+        long usedMb = (runtime.totalMemory() - runtime.freeMemory()) / (1024 * 1024);
+        return "heapMb=" + usedMb + " threads=" + Thread.activeCount();
+    }
+}
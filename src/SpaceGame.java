@@ -2,37 +2,49 @@ import javax.swing.*;
 import java.awt.*;
 import java.awt.event.*;
 import java.awt.image.BufferedImage;
-import javax.imageio.ImageIO;
 import javax.sound.sampled.*;
-import java.io.File;
-import java.util.ArrayList;
-import java.util.Random;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.atomic.AtomicReference;
 
-public class SpaceGame extends JPanel implements ActionListener, KeyListener {
-    private static final int WINDOW_WIDTH = 800;
-    private static final int WINDOW_HEIGHT = 600;
+public class SpaceGame extends JPanel implements ActionListener, KeyListener, Screen {
+    // Internal resolution, the simulation and rendering never see the real window size
+    static final int WINDOW_WIDTH = 800;
+    static final int WINDOW_HEIGHT = 600;
+    // Play field in world coordinates, the camera shows a window-sized part of it. One screen
+    // for now, a bigger field only needs these raised
+    static final int WORLD_WIDTH = WINDOW_WIDTH;
+    static final int WORLD_HEIGHT = WINDOW_HEIGHT;
     
     private Timer gameTimer;
     private Player player;
-    private ArrayList<Rock> rocks;
-    private ArrayList<Bullet> bullets;
-    private ArrayList<Enemy> enemies;
-    private ArrayList<EnemyBullet> enemyBullets;
-    private ArrayList<Explosion> explosions;
+    private Player player2; // Second ship, only in netplay
+    private World world; // Rocks, enemies, bullets and power-ups, stored per archetype
+    private final Camera camera = new Camera(WINDOW_WIDTH, WINDOW_HEIGHT, WORLD_WIDTH, WORLD_HEIGHT);
+    private BulletPatterns bossPatterns; // Shared, read-only
+    private AnimationClips animations; // Shared, read-only
+    private AnimationSet explosions;
+    private int[] explosionClips; // Clip id per rock level, 1-3
+    private int bossExplosionClip;
+    private MovePaths paths; // Shared, read-only
+    private int zigzagPath;
+    private int bossSwayPath;
+    private ParticleSystem particles; // Decoration only, never in snapshots
     private Boss boss;
-    private ArrayList<BossBullet> bossBullets;
-    private ArrayList<SubEnemy> subEnemies;
-    private Random random;
-    private BufferedImage asteroidSheet;
-    private BufferedImage backgroundSheet;
-    private BufferedImage playerSheet;
-    private BufferedImage enemySheet;
-    private BufferedImage exhaustSheet;
-    private BufferedImage bulletSheet;
-    private BufferedImage uiSheet;
-    private BufferedImage explosionSheet;
-    private BufferedImage allSheet;
-    private ArrayList<HealthPowerUp> healthPowerUps;
+    private Boss spareBoss; // The last boss made, reused by readState so restores don't allocate
+    private GameRandom random;
+    private AtomicReference<Tuning> tuningSource; // Shared, swapped whole when the file is edited
+    private Tuning tuning; // The snapshot this tick runs with
+    private Texture asteroidSheet;
+    private Texture backgroundSheet;
+    private Texture playerSheet;
+    private Texture enemySheet;
+    private Texture exhaustSheet;
+    private Texture bulletSheet;
+    private Texture uiSheet;
+    private Texture allSheet;
     private double backgroundOffsetY;
     private int spawnTimer;
     private int enemySpawnTimer;
@@ -46,37 +58,78 @@ public class SpaceGame extends JPanel implements ActionListener, KeyListener {
     private int gameTime;
     private boolean bossDefeated;
     private int bossSpawnDelay;
+    // Endless mode: no scripted boss, spawns come from generated sectors instead of the timers
+    private boolean endless;
+    private long endlessSeed;    // Drawn from the game random on the first tick, every sector derives from it
+    private int sectorIndex;
+    private int sectorTick;
+    private Sector sector;       // Cached sectors.get(endlessSeed, sectorIndex), not part of the state
+    private SectorFeed sectors;  // Created on the first endless game
+    private boolean recovered;   // Started from an autosave, which brought its own mode
     private GameState gameState;
     private Clip musicClip;
     private Clip bossMusicClip;
-    private Font customFont;
-    private Font scoreFont;
-    private Font pauseMenuFont;
+    // HUD and menu text is drawn from glyph atlases (see BitmapFont), no TrueType per frame
+    private BitmapFont tagFont;
+    private BitmapFont scoreFont;
+    private BitmapFont pauseMenuFont;
+    private BitmapFont pauseTitleFont;
+    private BitmapFont bannerFont;
+    private BitmapFont messageFont;
+    private BitmapFont footerFont;
+    private NumberLine scoreLine;
+    private NumberLine finalScoreLine;
+    private NumberLine killsLine;
+    private NumberLine pauseFooterLine;
+    private NumberLine sectorLine;
     private int pauseMenuSelection = 0;
     private String[] pauseMenuOptions = {"RESUME GAME", "MUSIC VOLUME", "BACK TO MENU"};
     private int gameOverMenuSelection = 0;
     private String[] gameOverMenuOptions = {"PLAY AGAIN", "BACK TO MENU"};
+    private static final String[] GAME_OVER_OPTIONS = {"PLAY AGAIN", "BACK TO MENU"};
+    private static final String[] GAME_OVER_CHECKPOINT_OPTIONS = {"RETRY BOSS", "PLAY AGAIN", "BACK TO MENU"};
+    private ByteBuffer snapshotBuffer; // Reused for quick-save, quick-load and autosave
+    private ByteBuffer undoBuffer;     // The state before a load, put back if the snapshot is broken
+    private ByteBuffer bossCheckpoint; // In-memory snapshot taken right before the boss sequence
+    private boolean hasBossCheckpoint;
+    private static final int AUTO_SAVE_INTERVAL = 500; // Every 10 seconds of game time
+    private RewindBuffer rewindBuffer;
+    private boolean rewinding; // Held down with BACKSPACE
+    private boolean recordRewind = true; // Batch tools turn it off, nobody rewinds their games
+    private InputSystem input;
+    private boolean scoreRecorded; // Each run goes into the high score table once
     private float gameVolume = 0.7f;
     private GameWindow gameWindow;
+    private boolean headless; // No timer, music or save files, ticked manually by tools
+    private HitchDetector hitches; // Reports slow ticks and paints, null in headless games
+    private BotPolicy bot;
+    private RollbackSession net; // Online co-op, null when playing alone
+    private boolean resimulating; // Rollback is replaying frames, no music or high scores
+    private SpectatorServer broadcast; // Streams every tick to spectators when set
+    private SpectatorClient spectating; // Shows someone else's game instead of simulating
+    private static final String[] NET_GAME_OVER_OPTIONS = {"BACK TO MENU"};
+    private static final String[] FORMATIONS = {"single", "pair", "row", "v", "diagonal"}; // spawnEnemy patterns, for events
+    private BufferedImage frame; // Fixed-size framebuffer everything is drawn into
+    private FrameScaler scaler = new FrameScaler(WINDOW_WIDTH, WINDOW_HEIGHT);
     public static final int ROCK_SCALE = 2;  // Double the rock size
     
-    public SpaceGame(GameWindow gameWindow) {
+    public SpaceGame(GameWindow gameWindow, GameAssets assets) {
+        this(gameWindow, assets, false);
+    }
+    
+    public SpaceGame(GameWindow gameWindow, GameAssets assets, boolean headless) {
         this.gameWindow = gameWindow;
+        this.headless = headless;
         setPreferredSize(new Dimension(WINDOW_WIDTH, WINDOW_HEIGHT));
         setBackground(Color.BLACK);
         setFocusable(true);
         addKeyListener(this);
         setDoubleBuffered(true); // Enable double buffering for smoother rendering
         
-        random = new Random();
-        rocks = new ArrayList<>();
-        bullets = new ArrayList<>();
-        enemies = new ArrayList<>();
-        enemyBullets = new ArrayList<>();
-        explosions = new ArrayList<>();
-        bossBullets = new ArrayList<>();
-        subEnemies = new ArrayList<>();
-        healthPowerUps = new ArrayList<>();
+        random = new GameRandom();
+        input = new InputSystem(InputBindings.load());
+        explosions = new AnimationSet();
+        particles = new ParticleSystem(headless ? ParticleQuality.OFF : ParticleQuality.fromProperty());
         boss = null;
         bossDefeated = false;
         gameWon = false;
@@ -89,69 +142,72 @@ public class SpaceGame extends JPanel implements ActionListener, KeyListener {
         enemySpawnTimer = 0;
         killCount = 0;
         autoFireTimer = 0;
-        lives = 10; // 5 hearts × 2 lives each
+        tuningSource = assets.tuning;
+        tuning = tuningSource.get();
+        lives = tuning.startLives; // 2 per heart
         invincibilityTimer = 0;
         gameOver = false;
         
-        loadImages();
+        loadImages(assets);
+        world = new World(asteroidSheet, enemySheet, bulletSheet, allSheet); // Tiles are cut out now
+        bossPatterns = assets.bossPatterns;
+        animations = assets.animations;
+        explosionClips = new int[] {0, animations.id("explosion_small"), animations.id("explosion_medium"), animations.id("explosion_large")};
+        bossExplosionClip = animations.id("explosion_boss");
+        paths = assets.paths;
+        zigzagPath = paths.id("zigzag");
+        bossSwayPath = paths.id("boss_sway");
         
-        player = new Player(WINDOW_WIDTH / 2 - 32, WINDOW_HEIGHT - 100, playerSheet, exhaustSheet);
+        player = new Player(WORLD_WIDTH / 2 - 32, WORLD_HEIGHT - 100, playerSheet, exhaustSheet);
+        camera.follow(player, null);
         
-        playMusic();
+        snapshotBuffer = GameSnapshot.createBuffer();
+        rewindBuffer = new RewindBuffer();
         
-        gameTimer = new Timer(20, this); // 50 FPS for better performance and slower gameplay
-        gameTimer.start();
-    }
-    
-    private void loadImages() {
-        try {
-            asteroidSheet = ImageIO.read(new File("../Assets/Asteroids-0001.png"));
-            backgroundSheet = ImageIO.read(new File("../Assets/Background_Full-0001.png"));
-            playerSheet = ImageIO.read(new File("../Assets/SpaceShips_Player-0001.png"));
-            enemySheet = ImageIO.read(new File("../Assets/SpaceShips_Enemy-0001.png"));
-            exhaustSheet = ImageIO.read(new File("../Assets/Exhaust-0001.png"));
-            bulletSheet = ImageIO.read(new File("../Assets/Bullets-0001.png"));
-            uiSheet = ImageIO.read(new File("../Assets/UI_sprites-0001.png"));
-            explosionSheet = ImageIO.read(new File("../Assets/Explosion-0001.png"));
-            allSheet = ImageIO.read(new File("../Assets/All.png"));
-            
-            // Load custom font
-            Font baseFont = Font.createFont(Font.TRUETYPE_FONT, new File("../Assets/VT323-Regular.ttf"));
-            customFont = baseFont.deriveFont(Font.PLAIN, 24f);
-            scoreFont = baseFont.deriveFont(Font.BOLD, 36f);
-            pauseMenuFont = baseFont.deriveFont(Font.PLAIN, 32f);
-        } catch (Exception e) {
-            System.err.println("Error loading images: " + e.getMessage());
-            e.printStackTrace();
-            // Fallback fonts
-            customFont = new Font("Monospaced", Font.PLAIN, 24);
-            scoreFont = new Font("Monospaced", Font.BOLD, 36);
-            pauseMenuFont = new Font("Monospaced", Font.PLAIN, 32);
+        if (headless) {
+            return; // Driven by tick() from a tool loop
         }
+        
+        hitches = HitchDetector.fromProperty();
+        assets.addSheetListener(world); // Recut when a sheet is saved, only the interactive game watches
+        
+        musicClip = assets.themeClip;
+        bossMusicClip = assets.bossClip;
+        recoverAutoSave();
+        
+        // Started and stopped by resume() and suspend()
+        gameTimer = new Timer(20, this); // 50 FPS for better performance and slower gameplay
     }
     
-    private void playMusic() {
-        try {
-            // Load theme music
-            File musicFile = new File("../Assets/theme.wav");
-            AudioInputStream audioStream = AudioSystem.getAudioInputStream(musicFile);
-            musicClip = AudioSystem.getClip();
-            musicClip.open(audioStream);
-            musicClip.loop(Clip.LOOP_CONTINUOUSLY);
-            musicClip.start();
-            
-            // Load boss music (will be played when boss appears)
-            File bossMusicFile = new File("../Assets/boss music.wav");
-            AudioInputStream bossAudioStream = AudioSystem.getAudioInputStream(bossMusicFile);
-            bossMusicClip = AudioSystem.getClip();
-            bossMusicClip.open(bossAudioStream);
-        } catch (Exception e) {
-            System.err.println("Error loading music: " + e.getMessage());
-            e.printStackTrace();
-        }
+    private void loadImages(GameAssets assets) {
+        // Shared with the menu, loaded once by GameWindow
+        asteroidSheet = assets.asteroidSheet;
+        backgroundSheet = assets.backgroundSheet;
+        playerSheet = assets.playerSheet;
+        enemySheet = assets.enemySheet;
+        exhaustSheet = assets.exhaustSheet;
+        bulletSheet = assets.bulletSheet;
+        uiSheet = assets.uiSheet;
+        allSheet = assets.allSheet;
+        
+        tagFont = assets.bitmapFont(Font.PLAIN, 24f, false);
+        scoreFont = assets.bitmapFont(Font.BOLD, 36f, false);
+        pauseMenuFont = assets.bitmapFont(Font.PLAIN, 32f, false);
+        pauseTitleFont = assets.bitmapFont(Font.BOLD, 50f, false);
+        bannerFont = assets.bitmapFont(Font.BOLD, 60f, false);
+        messageFont = assets.bitmapFont(Font.PLAIN, 28f, false);
+        footerFont = assets.bitmapFont(Font.PLAIN, 18f, false);
+        scoreLine = new NumberLine(scoreFont, "SCORE: ");
+        finalScoreLine = new NumberLine(scoreFont, "FINAL SCORE: ");
+        killsLine = new NumberLine(tagFont, "Enemies Destroyed: ");
+        pauseFooterLine = new NumberLine(footerFont, "UP/DOWN arrows to navigate | ENTER to select | Score: ");
+        sectorLine = new NumberLine(tagFont, "SECTOR ");
     }
     
     private void switchToBossMusic() {
+        if (resimulating) return;
+        MusicEvent event = new MusicEvent();
+        event.begin();
         try {
             if (musicClip != null && musicClip.isRunning()) {
                 musicClip.stop();
@@ -164,9 +220,18 @@ public class SpaceGame extends JPanel implements ActionListener, KeyListener {
         } catch (Exception e) {
             System.err.println("Error switching to boss music: " + e.getMessage());
         }
+        event.track = "boss";
+        event.commit();
+    }
+    
+    private boolean isBossMusicPlaying() {
+        return bossMusicClip != null && bossMusicClip.isRunning();
     }
     
     private void switchToThemeMusic() {
+        if (resimulating) return;
+        MusicEvent event = new MusicEvent();
+        event.begin();
         try {
             if (bossMusicClip != null && bossMusicClip.isRunning()) {
                 bossMusicClip.stop();
@@ -179,31 +244,123 @@ public class SpaceGame extends JPanel implements ActionListener, KeyListener {
         } catch (Exception e) {
             System.err.println("Error switching to theme music: " + e.getMessage());
         }
+        event.track = "theme";
+        event.commit();
     }
     
     @Override
     public void actionPerformed(ActionEvent e) {
-        update();
+        if (hitches != null) {
+            hitches.begin();
+        }
+        tick();
+        if (hitches != null) {
+            hitches.end(HitchDetector.TICK, this);
+        }
         repaint();
     }
     
+    // One simulation step: bot input, input sampling, menus, then the world
+    void tick() {
+        if (spectating != null) {
+            watch();
+            return;
+        }
+        if (bot != null) {
+            bot.drive(this, input);
+        }
+        input.sample();
+        handleInput();
+        if (net != null) {
+            // The session decides which frames run, possibly re-running a few after a rollback
+            net.advance(this, input.heldMask());
+        } else {
+            update();
+        }
+        updateParticles();
+        if (broadcast != null) {
+            broadcast.publish(this);
+        }
+    }
+    
+    // Once per real tick, however many frames a rollback re-ran, and on past the end of a game
+    private void updateParticles() {
+        if (gameState != GameState.PLAYING) return;
+        if (!gameOver && !gameWon && !rewinding) {
+            particles.exhaust(player, player.left || player.right || player.up || player.down);
+            if (player2 != null) {
+                particles.exhaust(player2, player2.left || player2.right || player2.up || player2.down);
+            }
+        }
+        particles.update(camera);
+    }
+    
+    // Spectator tick: show the newest frame that arrived, ESC leaves
+    private void watch() {
+        input.sample();
+        if (input.wasPressed(InputAction.PAUSE)) {
+            returnToMenu();
+            return;
+        }
+        if (spectating.copyLatest(snapshotBuffer)) {
+            readState(snapshotBuffer);
+        }
+    }
+    
+    // One deterministic netplay frame, each ship follows its own held-action mask
+    void simulate(int mask1, int mask2) {
+        player.applyMask(mask1);
+        if (player2 != null) {
+            player2.applyMask(mask2);
+        }
+        update();
+    }
+    
     private void update() {
         if (gameState != GameState.PLAYING) {
             return; // Don't update if not playing
         }
         
+        // Step back through recorded ticks while rewinding (also works from the game over screen)
+        if (rewinding) {
+            if (rewindBuffer.size() > 1) {
+                rewindBuffer.rewind(this, 1);
+            }
+            return;
+        }
+        
         if (gameOver || gameWon) {
             return; // Don't update if game is over or won
         }
         
+        // A reloaded tuning applies from this tick on. Netplay keeps the one the session started
+        // with, peers changing numbers mid-game would desync
+        if (net == null) {
+            tuning = tuningSource.get();
+        }
+        
+        TickEvent tickEvent = new TickEvent();
+        tickEvent.begin();
+        
+        // Remember the state right before the boss sequence so a lost fight can be retried. At or
+        // past, not equal: a reloaded boss_time can drop below the current time
+        if (!endless && net == null && gameTime + 1 >= tuning.bossTime && boss == null && bossSpawnDelay == 0 && !bossDefeated) {
+            saveBossCheckpoint();
+        }
+        
         // Update game time (50 FPS, so 50 frames = 1 second)
         gameTime++;
         
-        // Trigger boss spawn sequence at 30 seconds (30 * 50 = 1500 frames)
-        if (gameTime == 1500 && boss == null && !bossDefeated) {
+        // Periodic autosave for crash recovery
+        if (!headless && net == null && gameTime % AUTO_SAVE_INTERVAL == 0) {
+            saveSnapshot(GameSnapshot.AUTO_SAVE);
+        }
+        
+        // Trigger boss spawn sequence, 30 seconds in by default
+        if (!endless && gameTime >= tuning.bossTime && boss == null && bossSpawnDelay == 0 && !bossDefeated) {
             // Start clearing enemies and rocks with explosions
             clearEnemiesForBoss();
-            bossSpawnDelay = 50; // 1 second delay before boss appears
+            bossSpawnDelay = tuning.bossSpawnDelay; // Delay before boss appears
         }
         
         // Spawn boss after delay
@@ -220,379 +377,443 @@ public class SpaceGame extends JPanel implements ActionListener, KeyListener {
         }
         
         // Update player
-        player.update();
+        player.speed = tuning.playerSpeed;
+        player.update(camera);
+        if (player2 != null) {
+            player2.speed = tuning.playerSpeed;
+            player2.update(camera);
+        }
+        
+        // The camera follows the ships, whatever ends up far from it sleeps this tick
+        camera.follow(player, player2);
+        world.sleep(camera);
         
         // Auto fire
         autoFireTimer++;
-        if (autoFireTimer > 30) { // Fire every ~0.6 seconds
+        if (autoFireTimer > tuning.autoFireInterval) {
             autoFireTimer = 0;
-            shootBullets();
+            shootBullets(player);
+            if (player2 != null) {
+                shootBullets(player2);
+            }
         }
         
         // Update background scroll
-        backgroundOffsetY += 1.5;
+        backgroundOffsetY += tuning.backgroundScroll;
         if (backgroundOffsetY >= WINDOW_HEIGHT) {
             backgroundOffsetY = 0;
         }
         
-        // Update rocks
-        for (int i = rocks.size() - 1; i >= 0; i--) {
-            Rock rock = rocks.get(i);
-            rock.update();
-            
-            // Remove rocks that are off screen
-            if (rock.y > WINDOW_HEIGHT + 100) {
-                rocks.remove(i);
-            }
-        }
+        // Movement system
+        world.move(world.rocks);
+        world.move(world.bullets);
         
-        // Update bullets
-        for (int i = bullets.size() - 1; i >= 0; i--) {
-            Bullet bullet = bullets.get(i);
-            bullet.update();
-            
-            // Remove bullets that are off screen
-            if (bullet.y < -50) {
-                bullets.remove(i);
-            }
-        }
-        
-        // Limit bullets to prevent lag
-        while (bullets.size() > 30) {
-            bullets.remove(0);
-        }
-        
-        // Update explosions
-        for (int i = explosions.size() - 1; i >= 0; i--) {
-            Explosion explosion = explosions.get(i);
-            explosion.update();
-            if (explosion.isFinished()) {
-                explosions.remove(i);
-            }
-        }
+        // Drop finished explosions
+        explosions.update(animations, gameTime);
         
         // Update boss if active
         if (boss != null) {
-            boss.update();
+            boss.update(camera);
             
-            // Boss shoots bullets frequently (increased rate)
-            if (random.nextInt(30) < 1 && bossBullets.size() < 30) { // Fire more often, limit to 30 boss bullets
-                boss.shoot(bossBullets, bulletSheet);
-            }
+            // Boss runs its bullet patterns
+            boss.shoot(world.bossBullets, bossPatterns, player, player2);
             
             // Boss throws sub-enemies occasionally
-            if (random.nextInt(240) < 1 && subEnemies.size() < 5) { // Less frequent, max 5 sub-enemies
-                boss.throwSubEnemy(subEnemies, enemySheet);
-            }
-        }
-        
-        // Update boss bullets
-        for (int i = bossBullets.size() - 1; i >= 0; i--) {
-            BossBullet bullet = bossBullets.get(i);
-            bullet.update();
-            
-            // Remove bullets that are off screen
-            if (bullet.y > WINDOW_HEIGHT + 50) {
-                bossBullets.remove(i);
-            }
-        }
-        
-        // Limit boss bullets to prevent lag
-        while (bossBullets.size() > 35) {
-            bossBullets.remove(0);
-        }
-        
-        // Update sub-enemies
-        for (int i = subEnemies.size() - 1; i >= 0; i--) {
-            SubEnemy subEnemy = subEnemies.get(i);
-            subEnemy.update();
-            
-            // Remove sub-enemies that are off screen
-            if (subEnemy.y > WINDOW_HEIGHT + 100) {
-                subEnemies.remove(i);
+            if (random.nextInt(tuning.subEnemyOdds) < 1 && world.subEnemies.count < tuning.maxSubEnemies) {
+                boss.throwSubEnemy(world.subEnemies);
             }
         }
         
-        // Update health power-ups
-        for (int i = healthPowerUps.size() - 1; i >= 0; i--) {
-            HealthPowerUp powerUp = healthPowerUps.get(i);
-            powerUp.update();
-            
-            // Remove power-ups that are off screen
-            if (powerUp.y > WINDOW_HEIGHT + 50) {
-                healthPowerUps.remove(i);
-            }
-        }
+        bossPatterns.steer(world.bossBullets);
+        world.move(world.bossBullets);
+        world.move(world.subEnemies);
+        world.move(world.healthPowerUps);
         
         // Spawn health power-ups randomly (only when boss is not active)
-        if (boss == null && random.nextInt(1200) < 1) { // Much rarer spawn
-            int x = random.nextInt(WINDOW_WIDTH - 50) + 25;
-            healthPowerUps.add(new HealthPowerUp(x, -30, allSheet));
+        if (!endless && boss == null && random.nextInt(tuning.powerUpOdds) < 1) {
+            int x = camera.x + random.nextInt(camera.width - 50) + 25;
+            world.healthPowerUps.spawn(x, camera.y - 30, 0, tuning.powerUpSpeed, 32, 32, 0, 1);
         }
         
         // Update enemies (only if boss is not present)
         if (boss == null) {
-            for (int i = enemies.size() - 1; i >= 0; i--) {
-                Enemy enemy = enemies.get(i);
-                enemy.update();
-                
-                // Enemy shoots occasionally (reduced frequency)
-                if (random.nextInt(200) < 2) { // 1% chance per frame (was 2%)
-                    enemy.shoot(enemyBullets, bulletSheet);
-                }
-                
-                // Remove enemies that are off screen
-                if (enemy.y > WINDOW_HEIGHT + 100) {
-                    enemies.remove(i);
-                }
-            }
-        }
-        
-        // Update enemy bullets
-        for (int i = enemyBullets.size() - 1; i >= 0; i--) {
-            EnemyBullet bullet = enemyBullets.get(i);
-            bullet.update();
+            world.move(world.enemies);
+            paths.follow(world.enemies);
             
-            // Remove bullets that are off screen
-            if (bullet.y > WINDOW_HEIGHT + 50) {
-                enemyBullets.remove(i);
-            }
-        }
-        
-        // Check collisions between player bullets and rocks
-        for (int i = bullets.size() - 1; i >= 0; i--) {
-            if (i >= bullets.size()) continue;
-            Bullet bullet = bullets.get(i);
-            for (int j = rocks.size() - 1; j >= 0; j--) {
-                Rock rock = rocks.get(j);
-                if (checkCollision(bullet.x, bullet.y, 16, 16, rock.x, rock.y, rock.width, rock.height)) {
-                    bullets.remove(i);
-                    rock.health--;
-                    if (rock.health <= 0) {
-                        explosions.add(new Explosion(rock.x, rock.y, rock.level, explosionSheet));
-                        // Add points based on rock level
-                        if (rock.level == 1) score += 15;      // Small rock
-                        else if (rock.level == 2) score += 25; // Medium rock
-                        else if (rock.level == 3) score += 50; // Big rock
-                        rocks.remove(j);
-                    }
-                    break;
+            // Enemies shoot occasionally from their center
+            Archetype enemies = world.enemies;
+            for (int i = 0; i < enemies.count; i++) {
+                int chance = enemies.kind[i] == 1 ? tuning.miniBossFireChance : tuning.enemyFireChance;
+                if (!enemies.asleep[i] && random.nextInt(tuning.enemyFireOdds) < chance) {
+                    world.enemyBullets.spawn(enemies.x[i] + enemies.width[i] / 2 - 8, enemies.y[i] + enemies.height[i], 0, tuning.enemyBulletSpeed, 16, 16, 0, 1);
                 }
             }
         }
         
-        // Check collisions between player bullets and enemies
-        for (int i = bullets.size() - 1; i >= 0; i--) {
-            Bullet bullet = bullets.get(i);
-            for (int j = enemies.size() - 1; j >= 0; j--) {
-                Enemy enemy = enemies.get(j);
-                if (checkCollision(bullet.x, bullet.y, 16, 16, enemy.x, enemy.y, enemy.width, enemy.height)) {
-                    bullets.remove(i);
-                    enemies.remove(j);
-                    killCount++;
-                    score += 10; // Enemy destroyed
-                    break;
-                }
-            }
-        }
-        
-        // Check collisions between player bullets and boss
-        if (boss != null) {
-            for (int i = bullets.size() - 1; i >= 0; i--) {
-                if (i >= bullets.size()) continue;
-                Bullet bullet = bullets.get(i);
-                if (boss == null) break; // Boss was destroyed, exit loop
-                if (checkCollision(bullet.x, bullet.y, 16, 16, boss.x, boss.y, boss.width, boss.height)) {
-                    bullets.remove(i);
-                    boss.health--;
-                    if (boss.health <= 0) {
-                        // Boss defeated!
-                        explosions.add(new BossExplosion(boss.x, boss.y, explosionSheet));
-                        boss = null;
-                        bossDefeated = true;
-                        gameWon = true;
-                        // Switch back to theme music
-                        switchToThemeMusic();
-                        break; // Exit loop after boss is defeated
-                    }
-                }
-            }
-        }
+        world.move(world.enemyBullets);
         
-        // Check collisions between player bullets and sub-enemies
-        for (int i = bullets.size() - 1; i >= 0; i--) {
-            if (i >= bullets.size()) continue;
-            Bullet bullet = bullets.get(i);
-            for (int j = subEnemies.size() - 1; j >= 0; j--) {
-                SubEnemy subEnemy = subEnemies.get(j);
-                if (checkCollision(bullet.x, bullet.y, 16, 16, subEnemy.x, subEnemy.y, subEnemy.width, subEnemy.height)) {
-                    bullets.remove(i);
-                    subEnemies.remove(j);
-                    killCount++;
-                    score += 10; // Sub-enemy destroyed (same points as regular enemy)
-                    break;
-                }
-            }
-        }
+        // Lifetime system: remove everything that left the world
+        world.cull();
         
-        // Check collisions between player and enemies
-        if (invincibilityTimer == 0) {
-            // Check collision with boss
-            if (boss != null) {
-                if (checkCollision(player.x, player.y, player.width, player.height, boss.x, boss.y, boss.width, boss.height)) {
-                    loseLife();
-                }
-            }
+        // Player bullets against rocks, enemies, the boss and sub-enemies, first hit wins
+        CollisionEvent bulletPass = new CollisionEvent();
+        bulletPass.begin();
+        Archetype bullets = world.bullets;
+        int bulletHits = 0;
+        for (int i = bullets.count - 1; i >= 0; i--) {
+            if (bullets.dead[i]) continue;
+            float bx = bullets.x[i];
+            float by = bullets.y[i];
             
-            // Check collision with sub-enemies
-            for (int i = subEnemies.size() - 1; i >= 0; i--) {
-                SubEnemy subEnemy = subEnemies.get(i);
-                if (checkCollision(player.x, player.y, player.width, player.height, subEnemy.x, subEnemy.y, subEnemy.width, subEnemy.height)) {
-                    subEnemies.remove(i);
-                    loseLife();
-                    break;
+            Archetype rocks = world.rocks;
+            int j = World.hit(rocks, bx, by, 16, 16);
+            if (j >= 0) {
+                bulletHits++;
+                bullets.kill(i);
+                particles.sparks(bx + 8, by + 8, 4);
+                rocks.health[j]--;
+                if (rocks.health[j] <= 0) {
+                    int level = rocks.kind[j];
+                    explosions.play(explosionClips[level], (int)rocks.x[j], (int)rocks.y[j], gameTime);
+                    particles.debris(rocks.x[j] + rocks.width[j] / 2, rocks.y[j] + rocks.height[j] / 2, level * level * 12, ParticleSystem.ROCK);
+                    score += tuning.rockScore(level);
+                    rocks.kill(j);
                 }
+                continue;
             }
             
-            for (int i = enemies.size() - 1; i >= 0; i--) {
-                Enemy enemy = enemies.get(i);
-                if (checkCollision(player.x, player.y, player.width, player.height, enemy.x, enemy.y, enemy.width, enemy.height)) {
-                    enemies.remove(i);
-                    loseLife();
-                    break;
+            j = World.hit(world.enemies, bx, by, 16, 16);
+            if (j >= 0) {
+                bulletHits++;
+                bullets.kill(i);
+                Archetype enemies = world.enemies;
+                enemies.health[j]--; // Only mini-bosses take more than one hit
+                if (enemies.health[j] > 0) {
+                    particles.sparks(bx + 8, by + 8, 4);
+                } else if (enemies.kind[j] == 1) {
+                    explosions.play(explosionClips[3], (int)enemies.x[j], (int)enemies.y[j], gameTime);
+                    hullDestroyed(enemies, j, 60);
+                    enemies.kill(j);
+                    killCount++;
+                    score += tuning.miniBossScore;
+                } else {
+                    hullDestroyed(enemies, j, 24);
+                    enemies.kill(j);
+                    killCount++;
+                    score += tuning.enemyScore;
                 }
+                continue;
             }
             
-            // Check collisions between player and rocks
-            for (int i = rocks.size() - 1; i >= 0; i--) {
-                Rock rock = rocks.get(i);
-                if (checkCollision(player.x, player.y, player.width, player.height, rock.x, rock.y, rock.width, rock.height)) {
-                    rocks.remove(i);
-                    loseLife();
-                    break;
+            if (boss != null && checkCollision((int)bx, (int)by, 16, 16, boss.x, boss.y, boss.width, boss.height)) {
+                bulletHits++;
+                bullets.kill(i);
+                particles.sparks(bx + 8, by + 8, 5);
+                boss.health--;
+                if (boss.health <= 0) {
+                    // Boss defeated!
+                    explosions.play(bossExplosionClip, boss.x, boss.y, gameTime);
+                    particles.bossDeath(boss.x + boss.width / 2, boss.y + boss.height / 2);
+                    boss = null;
+                    bossDefeated = true;
+                    gameWon = true;
+                    gameOverMenuOptions = net != null ? NET_GAME_OVER_OPTIONS : GAME_OVER_OPTIONS;
+                    deleteAutoSave();
+                    recordHighScore();
+                    // Switch back to theme music
+                    switchToThemeMusic();
                 }
+                continue;
             }
             
-            // Check collisions between player and enemy bullets
-            for (int i = enemyBullets.size() - 1; i >= 0; i--) {
-                EnemyBullet bullet = enemyBullets.get(i);
-                if (checkCollision(player.x, player.y, player.width, player.height, bullet.x, bullet.y, 16, 16)) {
-                    enemyBullets.remove(i);
-                    loseLife();
-                    break;
-                }
+            j = World.hit(world.subEnemies, bx, by, 16, 16);
+            if (j >= 0) {
+                bulletHits++;
+                bullets.kill(i);
+                hullDestroyed(world.subEnemies, j, 16);
+                world.subEnemies.kill(j);
+                killCount++;
+                score += tuning.enemyScore; // Sub-enemies are worth the same as regular ones
             }
-            
-            // Check collisions between player and boss bullets
-            for (int i = bossBullets.size() - 1; i >= 0; i--) {
-                BossBullet bullet = bossBullets.get(i);
-                if (checkCollision(player.x, player.y, player.width, player.height, bullet.x, bullet.y, 16, 16)) {
-                    bossBullets.remove(i);
-                    loseLife();
-                    break;
-                }
+        }
+        
+        bulletPass.end();
+        if (bulletPass.shouldCommit()) {
+            bulletPass.pass = "bullets";
+            bulletPass.candidates = bullets.count;
+            bulletPass.hits = bulletHits;
+            bulletPass.commit();
+        }
+        
+        // Check collisions between the ships and everything hostile
+        if (invincibilityTimer == 0) {
+            CollisionEvent shipPass = new CollisionEvent();
+            shipPass.begin();
+            int livesBefore = lives;
+            checkShipHits(player);
+            if (player2 != null) {
+                checkShipHits(player2);
             }
-            
-            // Check collisions between player and health power-ups
-            for (int i = healthPowerUps.size() - 1; i >= 0; i--) {
-                HealthPowerUp powerUp = healthPowerUps.get(i);
-                if (checkCollision(player.x, player.y, player.width, player.height, powerUp.x, powerUp.y, 32, 32)) {
-                    healthPowerUps.remove(i);
-                    // Add life, max 10 (5 hearts)
-                    if (lives < 10) {
-                        lives++;
-                    }
-                    break;
+            shipPass.end();
+            if (shipPass.shouldCommit()) {
+                shipPass.pass = "ships";
+                for (Archetype hostile : world.hostiles) {
+                    shipPass.candidates += hostile.count;
                 }
+                shipPass.hits = livesBefore - lives;
+                shipPass.commit();
             }
         }
         
+        // Drop dead entities, then cap the bullet counts to prevent lag
+        world.compact();
+        world.bullets.trimOldest(tuning.maxBullets);
+        world.bossBullets.trimOldest(BulletPatterns.MAX_BULLETS);
+        
+        // Endless mode plays its sectors instead of the spawn timers below
+        if (endless) {
+            updateSector();
+        }
+        
         // Spawn new rocks (not when boss is active or spawning)
-        if (boss == null && bossSpawnDelay == 0) {
+        if (!endless && boss == null && bossSpawnDelay == 0) {
             spawnTimer++;
-            if (spawnTimer > 120 && rocks.size() < 10) { // Spawn every ~2 seconds, max 10 rocks
+            if (spawnTimer > tuning.rockSpawnInterval && world.rocks.count < tuning.maxRocks) {
                 spawnTimer = 0;
                 spawnRock();
             }
         }
         
         // Spawn new enemies (not when boss is active or spawning)
-        if (boss == null && bossSpawnDelay == 0) {
+        if (!endless && boss == null && bossSpawnDelay == 0) {
             enemySpawnTimer++;
-            if (enemySpawnTimer > 120 && enemies.size() < 8) { // Slower spawn, max 8 enemies
+            if (enemySpawnTimer > tuning.enemySpawnInterval && world.enemies.count < tuning.maxEnemies) {
                 enemySpawnTimer = 0;
                 spawnEnemy();
             }
         }
+        
+        // Record this tick so it can be rewound
+        if (net == null && recordRewind) {
+            rewindBuffer.record(this, gameTime);
+        }
+        
+        tickEvent.end();
+        if (tickEvent.shouldCommit()) {
+            tickEvent.gameTime = gameTime;
+            tickEvent.rocks = world.rocks.count;
+            tickEvent.enemies = world.enemies.count;
+            tickEvent.subEnemies = world.subEnemies.count;
+            tickEvent.bullets = world.bullets.count;
+            tickEvent.enemyBullets = world.enemyBullets.count;
+            tickEvent.bossBullets = world.bossBullets.count;
+            tickEvent.explosions = explosions.count;
+            tickEvent.boss = boss != null;
+            tickEvent.resimulated = resimulating;
+            tickEvent.commit();
+        }
+    }
+    
+    // Sector system: spawn whatever the current sector has for this tick, then move on a tick
+    private void updateSector() {
+        if (gameTime == 1) {
+            endlessSeed = random.nextLong(); // Once per run, at a point every replay and peer agrees on
+        }
+        if (sector == null || sector.index != sectorIndex || sector.seed != endlessSeed) {
+            sector = sectors.get(endlessSeed, sectorIndex);
+        }
+        for (int k = sector.first[sectorTick]; k < sector.first[sectorTick + 1]; k++) {
+            spawnFromSector(sector, k);
+        }
+        sectorTick++;
+        if (sectorTick == Sector.LENGTH) {
+            sectorTick = 0;
+            sectorIndex++;
+        }
+    }
+    
+    private void spawnFromSector(Sector s, int k) {
+        int x = camera.x + s.x[k];
+        int y = camera.y - s.y[k];
+        int level = s.level[k];
+        switch (s.type[k]) {
+            case Sector.ROCK:
+                if (world.rocks.count < tuning.maxEndlessRocks) {
+                    int size = 16 * level * ROCK_SCALE;
+                    world.rocks.spawn(x, y, 0, s.speed[k], size, size, level, s.health[k]);
+                }
+                break;
+            case Sector.ENEMY:
+                if (world.enemies.count < tuning.maxEndlessEnemies) {
+                    int i = world.enemies.spawn(x, y, 0, s.speed[k], 64, 64, 0, 1);
+                    world.enemies.path[i] = s.path[k];
+                }
+                break;
+            case Sector.MINI_BOSS: {
+                SpawnEvent event = new SpawnEvent();
+                event.begin();
+                int i = world.enemies.spawn(x, y, 0, s.speed[k], 96, 96, 1, s.health[k]); // Kind 1 is drawn at 3x
+                world.enemies.path[i] = s.path[k];
+                event.what = "mini-boss";
+                event.count = 1;
+                event.commit();
+                break;
+            }
+            case Sector.POWER_UP:
+                world.healthPowerUps.spawn(x, y, 0, s.speed[k], 32, 32, 0, 1);
+                break;
+        }
+    }
+    
+    private void hullDestroyed(Archetype ships, int i, int debris) {
+        float cx = ships.x[i] + ships.width[i] / 2;
+        float cy = ships.y[i] + ships.height[i] / 2;
+        particles.debris(cx, cy, debris, ParticleSystem.HULL);
+        particles.sparks(cx, cy, debris / 3);
+    }
+    
+    // Hits and pickups for one ship, both ships share lives and invincibility
+    private void checkShipHits(Player ship) {
+        // Check collision with boss
+        if (boss != null) {
+            if (checkCollision(ship.x, ship.y, ship.width, ship.height, boss.x, boss.y, boss.width, boss.height)) {
+                loseLife(ship);
+            }
+        }
+        
+        // Sub-enemies, enemies, rocks, enemy bullets and boss bullets, one hit each at most
+        for (Archetype hostile : world.hostiles) {
+            int j = World.hit(hostile, ship.x, ship.y, ship.width, ship.height);
+            if (j >= 0) {
+                hostile.kill(j);
+                loseLife(ship);
+            }
+        }
+        
+        // Check collisions between ship and health power-ups
+        int j = World.hit(world.healthPowerUps, ship.x, ship.y, ship.width, ship.height);
+        if (j >= 0) {
+            world.healthPowerUps.kill(j);
+            // Add life, up to the maximum
+            if (lives < tuning.maxLives) {
+                lives++;
+            }
+        }
     }
     
     private boolean checkCollision(int x1, int y1, int w1, int h1, int x2, int y2, int w2, int h2) {
         return x1 < x2 + w2 && x1 + w1 > x2 && y1 < y2 + h2 && y1 + h1 > y2;
     }
     
-    private void loseLife() {
+    private void loseLife(Player ship) {
+        particles.sparks(ship.x + ship.width / 2, ship.y + ship.height / 2, 24);
         lives--;
-        invincibilityTimer = 60; // 1 second of invincibility
+        invincibilityTimer = tuning.invincibleTicks;
         if (lives <= 0) {
             gameOver = true;
+            if (net != null) {
+                gameOverMenuOptions = NET_GAME_OVER_OPTIONS;
+            } else {
+                gameOverMenuOptions = hasBossCheckpoint ? GAME_OVER_CHECKPOINT_OPTIONS : GAME_OVER_OPTIONS;
+            }
+            gameOverMenuSelection = 0;
+            deleteAutoSave(); // A finished run should not be recovered
+            recordHighScore();
             // Switch to theme music on game over
             switchToThemeMusic();
         }
     }
     
     private void spawnEnemy() {
+        SpawnEvent event = new SpawnEvent();
+        event.begin();
+        int before = world.enemies.count;
         int pattern = random.nextInt(5);
         
+        // Formations enter from just above the camera
+        int left = camera.x;
+        int top = camera.y - 50;
+        int width = camera.width;
         switch(pattern) {
             case 0: // Single enemy from top
-                enemies.add(new Enemy(random.nextInt(WINDOW_WIDTH - 50), -50, enemySheet, 1));
+                addEnemy(left + random.nextInt(width - 50), top, 0);
                 break;
             case 1: // Two enemies side by side
-                enemies.add(new Enemy(random.nextInt(WINDOW_WIDTH / 2), -50, enemySheet, 1));
-                enemies.add(new Enemy(WINDOW_WIDTH / 2 + random.nextInt(WINDOW_WIDTH / 2 - 50), -50, enemySheet, 1));
+                addEnemy(left + random.nextInt(width / 2), top, 0);
+                addEnemy(left + width / 2 + random.nextInt(width / 2 - 50), top, 0);
                 break;
             case 2: // Three enemies in a row
-                int startX = random.nextInt(WINDOW_WIDTH / 2);
+                int startX = left + random.nextInt(width / 2);
                 for (int i = 0; i < 3; i++) {
-                    enemies.add(new Enemy(startX + i * 60, -50 - i * 30, enemySheet, 1));
+                    addEnemy(startX + i * 60, top - i * 30, 0);
                 }
                 break;
             case 3: // V formation
-                int centerX = WINDOW_WIDTH / 2;
-                enemies.add(new Enemy(centerX, -50, enemySheet, 1));
-                enemies.add(new Enemy(centerX - 60, -80, enemySheet, 1));
-                enemies.add(new Enemy(centerX + 60, -80, enemySheet, 1));
+                int centerX = left + width / 2;
+                addEnemy(centerX, top, 0);
+                addEnemy(centerX - 60, top - 30, 0);
+                addEnemy(centerX + 60, top - 30, 0);
                 break;
             case 4: // Diagonal line
-                int diagX = random.nextInt(WINDOW_WIDTH / 2);
+                int diagX = left + random.nextInt(width / 2);
                 for (int i = 0; i < 3; i++) {
-                    enemies.add(new Enemy(diagX + i * 50, -50 - i * 40, enemySheet, 2));
+                    addEnemy(diagX + i * 50, top - i * 40, zigzagPath);
                 }
                 break;
         }
+        
+        event.end();
+        if (event.shouldCommit()) {
+            event.what = FORMATIONS[pattern];
+            event.count = world.enemies.count - before;
+            event.commit();
+        }
+    }
+    
+    private void addEnemy(int x, int y, int path) {
+        int speed = tuning.enemySpeedMin + random.nextInt(tuning.enemySpeedSpread);
+        int i = world.enemies.spawn(x, y, 0, speed, 64, 64, 0, 1); // 2x2 grid * 16 * 2 scale
+        world.enemies.path[i] = path;
     }
     
     private void clearEnemiesForBoss() {
+        BossClearEvent event = new BossClearEvent();
+        event.begin();
+        event.enemies = world.enemies.count;
+        event.rocks = world.rocks.count;
+        event.enemyBullets = world.enemyBullets.count;
+        
         // Create explosions for all existing enemies
-        for (Enemy enemy : enemies) {
-            explosions.add(new Explosion(enemy.x, enemy.y, 1, explosionSheet));
+        Archetype enemies = world.enemies;
+        for (int i = 0; i < enemies.count; i++) {
+            explosions.play(explosionClips[1], (int)enemies.x[i], (int)enemies.y[i], gameTime);
+            hullDestroyed(enemies, i, 24);
         }
         enemies.clear();
         
         // Create explosions for all existing rocks
-        for (Rock rock : rocks) {
-            explosions.add(new Explosion(rock.x, rock.y, rock.level, explosionSheet));
+        Archetype rocks = world.rocks;
+        for (int i = 0; i < rocks.count; i++) {
+            explosions.play(explosionClips[rocks.kind[i]], (int)rocks.x[i], (int)rocks.y[i], gameTime);
+            particles.debris(rocks.x[i] + rocks.width[i] / 2, rocks.y[i] + rocks.height[i] / 2, rocks.kind[i] * rocks.kind[i] * 12, ParticleSystem.ROCK);
         }
         rocks.clear();
         
         // Clear bullets
-        enemyBullets.clear();
+        world.enemyBullets.clear();
+        event.commit();
     }
     
     private void spawnBoss() {
-        // Spawn boss in the center top
-        boss = new Boss(WINDOW_WIDTH / 2 - 72, -150, enemySheet);
-        boss.setAllSheet(allSheet);
+        SpawnEvent event = new SpawnEvent();
+        event.begin();
+        
+        // Spawn boss in the center, above the camera
+        boss = newBoss(camera.x + camera.width / 2 - 72, camera.y - 150);
+        
+        event.what = "boss";
+        event.count = 1;
+        event.commit();
         
         // Switch to boss music
         switchToBossMusic();
@@ -600,101 +821,133 @@ public class SpaceGame extends JPanel implements ActionListener, KeyListener {
     
     private void spawnRock() {
         int level = random.nextInt(3) + 1; // 1, 2, or 3
-        int x = random.nextInt(WINDOW_WIDTH - 100) + 50;
-        rocks.add(new Rock(x, -50, level, asteroidSheet));
+        int x = camera.x + random.nextInt(camera.width - 100) + 50;
+        int size = 16 * level * ROCK_SCALE; // 1x1, 2x2 or 3x3 tiles
+        int speed = tuning.rockSpeedMin + random.nextInt(tuning.rockSpeedSpread);
+        world.rocks.spawn(x, camera.y - 50, 0, speed, size, size, level, tuning.rockHealth(level));
     }
     
-    private void shootBullets() {
+    private void shootBullets(Player ship) {
         // Left bullet - fires from position 16,32 on the spaceship
-        int leftX = player.x + (int)(16 * 1.5);
-        int leftY = player.y + (int)(32 * 1.5);
-        bullets.add(new Bullet(leftX, leftY, bulletSheet));
+        int leftX = ship.x + (int)(16 * 1.5);
+        int leftY = ship.y + (int)(32 * 1.5);
+        world.bullets.spawn(leftX, leftY, 0, -tuning.bulletSpeed, 16, 16, 0, 1);
         
         // Right bullet - fires from position 32,32 on the spaceship
-        int rightX = player.x + (int)(32 * 1.5);
-        int rightY = player.y + (int)(32 * 1.5);
-        bullets.add(new Bullet(rightX, rightY, bulletSheet));
+        int rightX = ship.x + (int)(32 * 1.5);
+        int rightY = ship.y + (int)(32 * 1.5);
+        world.bullets.spawn(rightX, rightY, 0, -tuning.bulletSpeed, 16, 16, 0, 1);
     }
     
     @Override
     protected void paintComponent(Graphics g) {
-        super.paintComponent(g);
-        Graphics2D g2d = (Graphics2D) g;
+        PaintEvent event = new PaintEvent();
+        event.begin();
+        if (hitches != null) {
+            hitches.begin();
+        }
+        
+        // Render at the internal resolution, then present with one scaled blit
+        if (frame == null) {
+            GraphicsConfiguration config = getGraphicsConfiguration();
+            frame = config != null
+                ? config.createCompatibleImage(WINDOW_WIDTH, WINDOW_HEIGHT)
+                : new BufferedImage(WINDOW_WIDTH, WINDOW_HEIGHT, BufferedImage.TYPE_INT_RGB);
+        }
+        Graphics2D frameGraphics = frame.createGraphics();
+        render(frameGraphics, frame);
+        frameGraphics.dispose();
+        
+        scaler.present((Graphics2D) g, frame, getWidth(), getHeight());
+        if (hitches != null) {
+            hitches.end(HitchDetector.PAINT, this);
+        }
+        
+        event.width = getWidth();
+        event.height = getHeight();
+        event.commit();
+    }
+    
+    // Draw the whole game in internal coordinates, target is the image g2d draws to if known
+    void render(Graphics2D g2d, BufferedImage target) {
+        g2d.setColor(Color.BLACK);
+        g2d.fillRect(0, 0, WINDOW_WIDTH, WINDOW_HEIGHT);
         
         // Draw scrolling background
         drawBackground(g2d);
         
+        // Everything in the world is drawn relative to the camera, the HUD after it is not
+        g2d.translate(-camera.x, -camera.y);
+        
         // Draw rocks
-        for (Rock rock : rocks) {
-            rock.draw(g2d);
-        }
+        world.draw(g2d, world.rocks, camera);
         
         // Draw explosions
-        for (Explosion explosion : explosions) {
-            explosion.draw(g2d);
-        }
+        explosions.draw(g2d, animations, gameTime);
+        
+        // Debris and sparks over what they came from, exhaust under the ships
+        particles.draw(g2d, target, camera);
         
         // Draw boss
         if (boss != null) {
             boss.draw(g2d);
         }
         
-        // Draw sub-enemies
-        for (SubEnemy subEnemy : subEnemies) {
-            subEnemy.draw(g2d);
-        }
-        
-        // Draw enemies
-        for (Enemy enemy : enemies) {
-            enemy.draw(g2d);
-        }
-        
-        // Draw bullets
-        for (Bullet bullet : bullets) {
-            bullet.draw(g2d);
-        }
-        
-        // Draw enemy bullets
-        for (EnemyBullet bullet : enemyBullets) {
-            bullet.draw(g2d);
-        }
-        
-        // Draw boss bullets
-        for (BossBullet bullet : bossBullets) {
-            bullet.draw(g2d);
-        }
-        
-        // Draw health power-ups
-        for (HealthPowerUp powerUp : healthPowerUps) {
-            powerUp.draw(g2d);
-        }
+        // Draw the rest back to front
+        world.draw(g2d, world.subEnemies, camera);
+        world.draw(g2d, world.enemies, camera);
+        world.draw(g2d, world.bullets, camera);
+        world.draw(g2d, world.enemyBullets, camera);
+        world.draw(g2d, world.bossBullets, camera);
+        world.draw(g2d, world.healthPowerUps, camera);
         
         // Draw player
-        player.draw(g2d);
+        boolean tileExhaust = particles.getQuality() == ParticleQuality.OFF;
+        player.draw(g2d, tileExhaust);
+        if (player2 != null) {
+            player2.draw(g2d, tileExhaust);
+            drawShipTag(g2d, player, "P1");
+            drawShipTag(g2d, player2, "P2");
+        }
+        g2d.translate(camera.x, camera.y);
         
         // Draw lives
         drawLives(g2d);
         
         // Draw score in top right corner with beautiful styling
-        g2d.setFont(scoreFont);
-        String scoreText = "SCORE: " + score;
-        FontMetrics fm = g2d.getFontMetrics();
-        int scoreWidth = fm.stringWidth(scoreText);
-        int scoreX = WINDOW_WIDTH - scoreWidth - 20;
+        scoreLine.set(score);
+        int scoreX = WINDOW_WIDTH - scoreLine.width() - 20;
         int scoreY = 40;
         
         // Shadow effect
-        g2d.setColor(new Color(0, 0, 0, 150));
-        g2d.drawString(scoreText, scoreX + 2, scoreY + 2);
+        g2d.setColor(Palette.SHADE);
+        scoreLine.draw(g2d, scoreX + 2, scoreY + 2);
         
         // Glow effect
-        g2d.setColor(new Color(138, 43, 226, 100));
-        g2d.drawString(scoreText, scoreX - 1, scoreY - 1);
-        g2d.drawString(scoreText, scoreX + 1, scoreY + 1);
+        g2d.setColor(Palette.GLOW);
+        scoreLine.draw(g2d, scoreX - 1, scoreY - 1);
+        scoreLine.draw(g2d, scoreX + 1, scoreY + 1);
         
         // Main text
-        g2d.setColor(new Color(200, 150, 255));
-        g2d.drawString(scoreText, scoreX, scoreY);
+        g2d.setColor(Palette.LAVENDER);
+        scoreLine.draw(g2d, scoreX, scoreY);
+        
+        // Endless mode shows how far the run got
+        if (endless) {
+            sectorLine.set(sectorIndex + 1);
+            int sectorX = (WINDOW_WIDTH - sectorLine.width()) / 2;
+            g2d.setColor(Palette.SHADE);
+            sectorLine.draw(g2d, sectorX + 2, 32);
+            g2d.setColor(Palette.LAVENDER);
+            sectorLine.draw(g2d, sectorX, 30);
+        }
+        
+        if (net != null) {
+            drawNetStatus(g2d);
+        }
+        if (spectating != null) {
+            drawSpectatorStatus(g2d);
+        }
         
         // Draw game over menu
         if (gameOver) {
@@ -714,7 +967,7 @@ public class SpaceGame extends JPanel implements ActionListener, KeyListener {
     
     private void drawPauseOverlay(Graphics2D g2d) {
         // Semi-transparent dark overlay
-        g2d.setColor(new Color(0, 0, 0, 180));
+        g2d.setColor(Palette.SHADE_DARK);
         g2d.fillRect(0, 0, WINDOW_WIDTH, WINDOW_HEIGHT);
         
         // Pause box - larger to accommodate menu
@@ -724,28 +977,21 @@ public class SpaceGame extends JPanel implements ActionListener, KeyListener {
         int boxY = (WINDOW_HEIGHT - boxHeight) / 2;
         
         // Box background
-        g2d.setColor(new Color(40, 20, 60, 220));
+        g2d.setColor(Palette.PANEL);
         g2d.fillRoundRect(boxX, boxY, boxWidth, boxHeight, 20, 20);
         
         // Box border
-        g2d.setColor(new Color(200, 150, 255));
+        g2d.setColor(Palette.LAVENDER);
         g2d.setStroke(new BasicStroke(3));
         g2d.drawRoundRect(boxX, boxY, boxWidth, boxHeight, 20, 20);
         
         // PAUSED text
-        if (customFont != null) {
-            g2d.setFont(customFont.deriveFont(Font.BOLD, 50f));
-        } else {
-            g2d.setFont(new Font("Monospaced", Font.BOLD, 50));
-        }
-        g2d.setColor(new Color(255, 200, 100));
+        g2d.setColor(Palette.GOLD);
         String pauseText = "PAUSED";
-        FontMetrics fm = g2d.getFontMetrics();
-        int textX = (WINDOW_WIDTH - fm.stringWidth(pauseText)) / 2;
-        g2d.drawString(pauseText, textX, boxY + 70);
+        int textX = (WINDOW_WIDTH - pauseTitleFont.stringWidth(pauseText)) / 2;
+        pauseTitleFont.drawString(g2d, pauseText, textX, boxY + 70);
         
         // Menu options
-        g2d.setFont(pauseMenuFont);
         int startY = boxY + 140;
         int spacing = 60;
         
@@ -754,8 +1000,7 @@ public class SpaceGame extends JPanel implements ActionListener, KeyListener {
             boolean isSelected = (i == pauseMenuSelection);
             
             String option = pauseMenuOptions[i];
-            fm = g2d.getFontMetrics();
-            int textWidth = fm.stringWidth(option);
+            int textWidth = pauseMenuFont.stringWidth(option);
             
             // For selected music volume, position text to accommodate volume bar
             int x;
@@ -773,22 +1018,22 @@ public class SpaceGame extends JPanel implements ActionListener, KeyListener {
                     selBoxWidth = textWidth + 190;
                 }
                 
-                g2d.setColor(new Color(138, 43, 226, 150));
+                g2d.setColor(Palette.HIGHLIGHT);
                 g2d.fillRoundRect(x - 20, y - 35, selBoxWidth, 50, 10, 10);
                 
                 // Border
-                g2d.setColor(new Color(255, 255, 255));
+                g2d.setColor(Color.WHITE);
                 g2d.setStroke(new BasicStroke(2));
                 g2d.drawRoundRect(x - 20, y - 35, selBoxWidth, 50, 10, 10);
                 
                 // Arrow indicator
-                g2d.setColor(new Color(255, 200, 100));
+                g2d.setColor(Palette.GOLD);
                 g2d.fillPolygon(new int[]{x - 40, x - 50, x - 40}, 
                                new int[]{y - 15, y - 10, y - 5}, 3);
                 
                 // Text
                 g2d.setColor(Color.WHITE);
-                g2d.drawString(option, x, y);
+                pauseMenuFont.drawString(g2d, option, x, y);
                 
                 // Volume bar for music option
                 if (option.equals("MUSIC VOLUME")) {
@@ -796,22 +1041,16 @@ public class SpaceGame extends JPanel implements ActionListener, KeyListener {
                 }
             } else {
                 // Unselected option
-                g2d.setColor(new Color(150, 150, 180));
-                g2d.drawString(option, x, y);
+                g2d.setColor(Palette.MUTED);
+                pauseMenuFont.drawString(g2d, option, x, y);
             }
         }
         
         // Footer instructions
-        if (customFont != null) {
-            g2d.setFont(customFont.deriveFont(18f));
-        } else {
-            g2d.setFont(new Font("Monospaced", Font.PLAIN, 18));
-        }
-        g2d.setColor(new Color(120, 120, 140));
-        String footer = "UP/DOWN arrows to navigate | ENTER to select | Score: " + score;
-        fm = g2d.getFontMetrics();
-        int footerX = (WINDOW_WIDTH - fm.stringWidth(footer)) / 2;
-        g2d.drawString(footer, footerX, boxY + boxHeight - 30);
+        g2d.setColor(Palette.HINT);
+        pauseFooterLine.set(score);
+        int footerX = (WINDOW_WIDTH - pauseFooterLine.width()) / 2;
+        pauseFooterLine.draw(g2d, footerX, boxY + boxHeight - 30);
     }
     
     private void drawPauseVolumeBar(Graphics2D g2d, int x, int y) {
@@ -820,21 +1059,21 @@ public class SpaceGame extends JPanel implements ActionListener, KeyListener {
         int filledWidth = (int)(barWidth * gameVolume);
         
         // Background
-        g2d.setColor(new Color(50, 50, 70));
+        g2d.setColor(Palette.BAR_BACK);
         g2d.fillRect(x, y, barWidth, barHeight);
         
         // Filled portion
-        g2d.setColor(new Color(100, 200, 100));
+        g2d.setColor(Palette.BAR_FILL);
         g2d.fillRect(x, y, filledWidth, barHeight);
         
         // Border
-        g2d.setColor(new Color(150, 150, 180));
+        g2d.setColor(Palette.MUTED);
         g2d.drawRect(x, y, barWidth, barHeight);
     }
     
     private void drawGameOverMenu(Graphics2D g2d) {
         // Semi-transparent dark overlay
-        g2d.setColor(new Color(0, 0, 0, 200));
+        g2d.setColor(Palette.SHADE_DARKER);
         g2d.fillRect(0, 0, WINDOW_WIDTH, WINDOW_HEIGHT);
         
         // Menu box
@@ -844,52 +1083,33 @@ public class SpaceGame extends JPanel implements ActionListener, KeyListener {
         int boxY = (WINDOW_HEIGHT - boxHeight) / 2;
         
         // Box background
-        g2d.setColor(new Color(60, 20, 40, 230));
+        g2d.setColor(Palette.PANEL_LOST);
         g2d.fillRoundRect(boxX, boxY, boxWidth, boxHeight, 20, 20);
         
         // Box border
-        g2d.setColor(new Color(255, 80, 80));
+        g2d.setColor(Palette.RED);
         g2d.setStroke(new BasicStroke(3));
         g2d.drawRoundRect(boxX, boxY, boxWidth, boxHeight, 20, 20);
         
         // GAME OVER text
-        if (customFont != null) {
-            g2d.setFont(customFont.deriveFont(Font.BOLD, 60f));
-        } else {
-            g2d.setFont(new Font("Monospaced", Font.BOLD, 60));
-        }
-        g2d.setColor(new Color(255, 100, 100));
+        g2d.setColor(Palette.SOFT_RED);
         String gameOverText = "GAME OVER";
-        FontMetrics fm = g2d.getFontMetrics();
-        int textX = (WINDOW_WIDTH - fm.stringWidth(gameOverText)) / 2;
-        g2d.drawString(gameOverText, textX, boxY + 80);
+        int textX = (WINDOW_WIDTH - bannerFont.stringWidth(gameOverText)) / 2;
+        bannerFont.drawString(g2d, gameOverText, textX, boxY + 80);
         
         // Score display
-        if (scoreFont != null) {
-            g2d.setFont(scoreFont.deriveFont(36f));
-        } else {
-            g2d.setFont(new Font("Monospaced", Font.BOLD, 36));
-        }
-        g2d.setColor(new Color(200, 150, 255));
-        String finalScore = "FINAL SCORE: " + score;
-        fm = g2d.getFontMetrics();
-        int scoreTextX = (WINDOW_WIDTH - fm.stringWidth(finalScore)) / 2;
-        g2d.drawString(finalScore, scoreTextX, boxY + 150);
+        g2d.setColor(Palette.LAVENDER);
+        finalScoreLine.set(score);
+        int scoreTextX = (WINDOW_WIDTH - finalScoreLine.width()) / 2;
+        finalScoreLine.draw(g2d, scoreTextX, boxY + 150);
         
         // Stats
-        if (customFont != null) {
-            g2d.setFont(customFont.deriveFont(24f));
-        } else {
-            g2d.setFont(new Font("Monospaced", Font.PLAIN, 24));
-        }
-        g2d.setColor(new Color(180, 180, 200));
-        String kills = "Enemies Destroyed: " + killCount;
-        fm = g2d.getFontMetrics();
-        int killsX = (WINDOW_WIDTH - fm.stringWidth(kills)) / 2;
-        g2d.drawString(kills, killsX, boxY + 200);
+        g2d.setColor(Palette.LABEL);
+        killsLine.set(killCount);
+        int killsX = (WINDOW_WIDTH - killsLine.width()) / 2;
+        killsLine.draw(g2d, killsX, boxY + 200);
         
         // Menu options
-        g2d.setFont(pauseMenuFont);
         int startY = boxY + 270;
         int spacing = 60;
         
@@ -898,48 +1118,41 @@ public class SpaceGame extends JPanel implements ActionListener, KeyListener {
             boolean isSelected = (i == gameOverMenuSelection);
             
             String option = gameOverMenuOptions[i];
-            fm = g2d.getFontMetrics();
-            int textWidth = fm.stringWidth(option);
+            int textWidth = pauseMenuFont.stringWidth(option);
             int x = (WINDOW_WIDTH - textWidth) / 2;
             
             if (isSelected) {
                 // Selected option
-                g2d.setColor(new Color(200, 50, 50, 150));
+                g2d.setColor(Palette.HIGHLIGHT_LOST);
                 g2d.fillRoundRect(x - 20, y - 35, textWidth + 40, 50, 10, 10);
                 
-                g2d.setColor(new Color(255, 255, 255));
+                g2d.setColor(Color.WHITE);
                 g2d.setStroke(new BasicStroke(2));
                 g2d.drawRoundRect(x - 20, y - 35, textWidth + 40, 50, 10, 10);
                 
                 // Arrow
-                g2d.setColor(new Color(255, 200, 100));
+                g2d.setColor(Palette.GOLD);
                 g2d.fillPolygon(new int[]{x - 40, x - 50, x - 40}, 
                                new int[]{y - 15, y - 10, y - 5}, 3);
                 
                 g2d.setColor(Color.WHITE);
-                g2d.drawString(option, x, y);
+                pauseMenuFont.drawString(g2d, option, x, y);
             } else {
-                g2d.setColor(new Color(150, 150, 180));
-                g2d.drawString(option, x, y);
+                g2d.setColor(Palette.MUTED);
+                pauseMenuFont.drawString(g2d, option, x, y);
             }
         }
         
         // Footer
-        if (customFont != null) {
-            g2d.setFont(customFont.deriveFont(18f));
-        } else {
-            g2d.setFont(new Font("Monospaced", Font.PLAIN, 18));
-        }
-        g2d.setColor(new Color(120, 120, 140));
+        g2d.setColor(Palette.HINT);
         String footer = "UP/DOWN to navigate | ENTER to select";
-        fm = g2d.getFontMetrics();
-        int footerX = (WINDOW_WIDTH - fm.stringWidth(footer)) / 2;
-        g2d.drawString(footer, footerX, boxY + boxHeight - 30);
+        int footerX = (WINDOW_WIDTH - footerFont.stringWidth(footer)) / 2;
+        footerFont.drawString(g2d, footer, footerX, boxY + boxHeight - 30);
     }
     
     private void drawWinMenu(Graphics2D g2d) {
         // Semi-transparent dark overlay
-        g2d.setColor(new Color(0, 0, 0, 200));
+        g2d.setColor(Palette.SHADE_DARKER);
         g2d.fillRect(0, 0, WINDOW_WIDTH, WINDOW_HEIGHT);
         
         // Menu box
@@ -949,52 +1162,33 @@ public class SpaceGame extends JPanel implements ActionListener, KeyListener {
         int boxY = (WINDOW_HEIGHT - boxHeight) / 2;
         
         // Box background
-        g2d.setColor(new Color(20, 60, 40, 230));
+        g2d.setColor(Palette.PANEL_WON);
         g2d.fillRoundRect(boxX, boxY, boxWidth, boxHeight, 20, 20);
         
         // Box border
-        g2d.setColor(new Color(100, 255, 100));
+        g2d.setColor(Palette.GREEN);
         g2d.setStroke(new BasicStroke(3));
         g2d.drawRoundRect(boxX, boxY, boxWidth, boxHeight, 20, 20);
         
         // YOU WIN text
-        if (customFont != null) {
-            g2d.setFont(customFont.deriveFont(Font.BOLD, 60f));
-        } else {
-            g2d.setFont(new Font("Monospaced", Font.BOLD, 60));
-        }
-        g2d.setColor(new Color(100, 255, 100));
+        g2d.setColor(Palette.GREEN);
         String winText = "YOU WIN!";
-        FontMetrics fm = g2d.getFontMetrics();
-        int textX = (WINDOW_WIDTH - fm.stringWidth(winText)) / 2;
-        g2d.drawString(winText, textX, boxY + 80);
+        int textX = (WINDOW_WIDTH - bannerFont.stringWidth(winText)) / 2;
+        bannerFont.drawString(g2d, winText, textX, boxY + 80);
         
         // Victory message
-        if (customFont != null) {
-            g2d.setFont(customFont.deriveFont(28f));
-        } else {
-            g2d.setFont(new Font("Monospaced", Font.PLAIN, 28));
-        }
-        g2d.setColor(new Color(150, 255, 150));
+        g2d.setColor(Palette.SOFT_GREEN);
         String victoryMsg = "Boss Defeated!";
-        fm = g2d.getFontMetrics();
-        int victoryX = (WINDOW_WIDTH - fm.stringWidth(victoryMsg)) / 2;
-        g2d.drawString(victoryMsg, victoryX, boxY + 130);
+        int victoryX = (WINDOW_WIDTH - messageFont.stringWidth(victoryMsg)) / 2;
+        messageFont.drawString(g2d, victoryMsg, victoryX, boxY + 130);
         
         // Score display
-        if (scoreFont != null) {
-            g2d.setFont(scoreFont.deriveFont(36f));
-        } else {
-            g2d.setFont(new Font("Monospaced", Font.BOLD, 36));
-        }
-        g2d.setColor(new Color(200, 150, 255));
-        String finalScore = "FINAL SCORE: " + score;
-        fm = g2d.getFontMetrics();
-        int scoreTextX = (WINDOW_WIDTH - fm.stringWidth(finalScore)) / 2;
-        g2d.drawString(finalScore, scoreTextX, boxY + 190);
+        g2d.setColor(Palette.LAVENDER);
+        finalScoreLine.set(score);
+        int scoreTextX = (WINDOW_WIDTH - finalScoreLine.width()) / 2;
+        finalScoreLine.draw(g2d, scoreTextX, boxY + 190);
         
         // Menu options
-        g2d.setFont(pauseMenuFont);
         int startY = boxY + 270;
         int spacing = 60;
         
@@ -1003,47 +1197,41 @@ public class SpaceGame extends JPanel implements ActionListener, KeyListener {
             boolean isSelected = (i == gameOverMenuSelection);
             
             String option = gameOverMenuOptions[i];
-            fm = g2d.getFontMetrics();
-            int textWidth = fm.stringWidth(option);
+            int textWidth = pauseMenuFont.stringWidth(option);
             int x = (WINDOW_WIDTH - textWidth) / 2;
             
             if (isSelected) {
                 // Selected option
-                g2d.setColor(new Color(50, 200, 50, 150));
+                g2d.setColor(Palette.HIGHLIGHT_WON);
                 g2d.fillRoundRect(x - 20, y - 35, textWidth + 40, 50, 10, 10);
                 
-                g2d.setColor(new Color(255, 255, 255));
+                g2d.setColor(Color.WHITE);
                 g2d.setStroke(new BasicStroke(2));
                 g2d.drawRoundRect(x - 20, y - 35, textWidth + 40, 50, 10, 10);
                 
                 // Arrow
-                g2d.setColor(new Color(255, 200, 100));
+                g2d.setColor(Palette.GOLD);
                 g2d.fillPolygon(new int[]{x - 40, x - 50, x - 40}, 
                                new int[]{y - 15, y - 10, y - 5}, 3);
                 
                 g2d.setColor(Color.WHITE);
-                g2d.drawString(option, x, y);
+                pauseMenuFont.drawString(g2d, option, x, y);
             } else {
-                g2d.setColor(new Color(150, 150, 180));
-                g2d.drawString(option, x, y);
+                g2d.setColor(Palette.MUTED);
+                pauseMenuFont.drawString(g2d, option, x, y);
             }
         }
         
         // Footer
-        if (customFont != null) {
-            g2d.setFont(customFont.deriveFont(18f));
-        } else {
-            g2d.setFont(new Font("Monospaced", Font.PLAIN, 18));
-        }
-        g2d.setColor(new Color(120, 120, 140));
+        g2d.setColor(Palette.HINT);
         String footer = "UP/DOWN to navigate | ENTER to select";
-        fm = g2d.getFontMetrics();
-        int footerX = (WINDOW_WIDTH - fm.stringWidth(footer)) / 2;
-        g2d.drawString(footer, footerX, boxY + boxHeight - 30);
+        int footerX = (WINDOW_WIDTH - footerFont.stringWidth(footer)) / 2;
+        footerFont.drawString(g2d, footer, footerX, boxY + boxHeight - 30);
     }
     
     private void drawBackground(Graphics2D g2d) {
-        if (backgroundSheet == null) return;
+        BufferedImage background = backgroundSheet.get();
+        if (background == null) return;
         
         // Scale background to fill entire screen width and loop vertically
         int bgHeight = WINDOW_HEIGHT;
@@ -1053,12 +1241,48 @@ public class SpaceGame extends JPanel implements ActionListener, KeyListener {
         int y1 = (int)backgroundOffsetY;
         int y2 = (int)(backgroundOffsetY - bgHeight);
         
-        g2d.drawImage(backgroundSheet, 0, y1, bgWidth, bgHeight, null);
-        g2d.drawImage(backgroundSheet, 0, y2, bgWidth, bgHeight, null);
+        g2d.drawImage(background, 0, y1, bgWidth, bgHeight, null);
+        g2d.drawImage(background, 0, y2, bgWidth, bgHeight, null);
+    }
+    
+    private void drawShipTag(Graphics2D g2d, Player ship, String tag) {
+        int tagX = ship.x + (ship.width - tagFont.stringWidth(tag)) / 2;
+        int tagY = Math.min(ship.y + ship.height + tagFont.getAscent(), camera.y + camera.height - 4);
+        g2d.setColor(Palette.SHADE);
+        tagFont.drawString(g2d, tag, tagX + 2, tagY + 2);
+        g2d.setColor(tag.equals("P1") ? Palette.P1_TAG : Palette.P2_TAG);
+        tagFont.drawString(g2d, tag, tagX, tagY);
+    }
+    
+    // Shown until the peer answers, or once it stops answering
+    private void drawNetStatus(Graphics2D g2d) {
+        String status;
+        if (net.isDisconnected()) {
+            status = "CONNECTION LOST - ESC FOR MENU";
+        } else if (!net.isStarted()) {
+            status = net.isHost() ? "WAITING FOR PLAYER 2 ON PORT " + net.getLocalPort() : "CONNECTING TO HOST...";
+        } else {
+            return;
+        }
+        g2d.setColor(Palette.SHADE_DARK);
+        g2d.fillRect(0, 0, WINDOW_WIDTH, WINDOW_HEIGHT);
+        g2d.setColor(Color.WHITE);
+        tagFont.drawString(g2d, status, (WINDOW_WIDTH - tagFont.stringWidth(status)) / 2, WINDOW_HEIGHT / 2);
+    }
+    
+    private void drawSpectatorStatus(Graphics2D g2d) {
+        boolean live = spectating.isConnected() && spectating.getNewestFrame() >= 0;
+        String status = live ? "SPECTATING - ESC FOR MENU" : "CONNECTING TO GAME...";
+        int statusX = (WINDOW_WIDTH - tagFont.stringWidth(status)) / 2;
+        g2d.setColor(Palette.SHADE);
+        tagFont.drawString(g2d, status, statusX + 2, WINDOW_HEIGHT - 18);
+        g2d.setColor(live ? Palette.LAVENDER : Color.WHITE);
+        tagFont.drawString(g2d, status, statusX, WINDOW_HEIGHT - 20);
     }
     
     private void drawLives(Graphics2D g2d) {
-        if (uiSheet == null) return;
+        BufferedImage ui = uiSheet.get();
+        if (ui == null) return;
         
         int heartSize = 32; // Double size from 16 to 32
         int startX = 10; // Top-left corner
@@ -1075,10 +1299,10 @@ public class SpaceGame extends JPanel implements ActionListener, KeyListener {
                 BufferedImage heart;
                 if (i < fullHearts) {
                     // Full heart at 0,80
-                    heart = uiSheet.getSubimage(0, 80, 16, 16);
+                    heart = ui.getSubimage(0, 80, 16, 16);
                 } else {
                     // Gray heart at 16,80 (for the partial heart)
-                    heart = uiSheet.getSubimage(16, 80, 16, 16);
+                    heart = ui.getSubimage(16, 80, 16, 16);
                 }
                 g2d.drawImage(heart, startX + (i * 36), startY, heartSize, heartSize, null);
             } catch (Exception e) {
@@ -1091,101 +1315,123 @@ public class SpaceGame extends JPanel implements ActionListener, KeyListener {
     
     @Override
     public void keyPressed(KeyEvent e) {
-        int key = e.getKeyCode();
-        
+        // Queued and handled on the next tick
+        input.keyPressed(e);
+    }
+    
+    // Apply this tick's sampled input to the menus and the player
+    private void handleInput() {
         // Handle game over/win menu navigation
-        if ((gameOver || gameWon) && key != KeyEvent.VK_R) {
-            switch (key) {
-                case KeyEvent.VK_UP:
-                    gameOverMenuSelection = (gameOverMenuSelection - 1 + gameOverMenuOptions.length) % gameOverMenuOptions.length;
-                    return;
-                case KeyEvent.VK_DOWN:
-                    gameOverMenuSelection = (gameOverMenuSelection + 1) % gameOverMenuOptions.length;
-                    return;
-                case KeyEvent.VK_ENTER:
-                    handleGameOverMenuSelection();
-                    return;
+        if (gameOver || gameWon) {
+            if (input.wasPressed(InputAction.MOVE_UP)) {
+                gameOverMenuSelection = (gameOverMenuSelection - 1 + gameOverMenuOptions.length) % gameOverMenuOptions.length;
+            } else if (input.wasPressed(InputAction.MOVE_DOWN)) {
+                gameOverMenuSelection = (gameOverMenuSelection + 1) % gameOverMenuOptions.length;
+            } else if (input.wasPressed(InputAction.CONFIRM)) {
+                handleGameOverMenuSelection();
+                return;
+            } else if (net == null && input.wasPressed(InputAction.RESTART)) {
+                restartGame();
+                return;
+            }
+        }
+        
+        // A shared game can't be paused or rewound, ESC leaves the session
+        if (net != null) {
+            if (input.wasPressed(InputAction.PAUSE)) {
+                returnToMenu();
             }
+            return;
         }
         
         // Handle pause menu navigation
         if (gameState == GameState.PAUSED && !gameOver && !gameWon) {
-            switch (key) {
-                case KeyEvent.VK_UP:
-                    pauseMenuSelection = (pauseMenuSelection - 1 + pauseMenuOptions.length) % pauseMenuOptions.length;
-                    return;
-                case KeyEvent.VK_DOWN:
-                    pauseMenuSelection = (pauseMenuSelection + 1) % pauseMenuOptions.length;
-                    return;
-                case KeyEvent.VK_LEFT:
-                    if (pauseMenuOptions[pauseMenuSelection].equals("MUSIC VOLUME")) {
-                        gameVolume = Math.max(0.0f, gameVolume - 0.1f);
-                        updateGameVolume();
-                    }
-                    return;
-                case KeyEvent.VK_RIGHT:
-                    if (pauseMenuOptions[pauseMenuSelection].equals("MUSIC VOLUME")) {
-                        gameVolume = Math.min(1.0f, gameVolume + 0.1f);
-                        updateGameVolume();
-                    }
-                    return;
-                case KeyEvent.VK_ENTER:
-                    handlePauseMenuSelection();
-                    return;
-                case KeyEvent.VK_ESCAPE:
-                    gameState = GameState.PLAYING;
-                    return;
+            if (input.wasPressed(InputAction.MOVE_UP)) {
+                pauseMenuSelection = (pauseMenuSelection - 1 + pauseMenuOptions.length) % pauseMenuOptions.length;
+            } else if (input.wasPressed(InputAction.MOVE_DOWN)) {
+                pauseMenuSelection = (pauseMenuSelection + 1) % pauseMenuOptions.length;
+            } else if (input.wasPressed(InputAction.MOVE_LEFT)) {
+                if (pauseMenuOptions[pauseMenuSelection].equals("MUSIC VOLUME")) {
+                    gameVolume = Math.max(0.0f, gameVolume - 0.1f);
+                    updateGameVolume();
+                }
+            } else if (input.wasPressed(InputAction.MOVE_RIGHT)) {
+                if (pauseMenuOptions[pauseMenuSelection].equals("MUSIC VOLUME")) {
+                    gameVolume = Math.min(1.0f, gameVolume + 0.1f);
+                    updateGameVolume();
+                }
+            } else if (input.wasPressed(InputAction.CONFIRM)) {
+                handlePauseMenuSelection();
+            } else if (input.wasPressed(InputAction.PAUSE)) {
+                gameState = GameState.PLAYING;
             }
+            return;
         }
         
         // Toggle pause with ESC
-        if (key == KeyEvent.VK_ESCAPE && !gameOver && !gameWon) {
-            if (gameState == GameState.PLAYING) {
-                gameState = GameState.PAUSED;
-                pauseMenuSelection = 0; // Reset to first option
-            }
+        if (input.wasPressed(InputAction.PAUSE) && !gameOver && !gameWon && gameState == GameState.PLAYING) {
+            gameState = GameState.PAUSED;
+            pauseMenuSelection = 0; // Reset to first option
             return;
         }
         
-        // Restart from game over or game won
-        if ((gameOver || gameWon) && key == KeyEvent.VK_R) {
-            restartGame();
-            return;
+        // Quick-save and quick-load
+        if (input.wasPressed(InputAction.QUICK_SAVE) && !gameOver && !gameWon) {
+            saveSnapshot(GameSnapshot.QUICK_SAVE);
+        }
+        if (input.wasPressed(InputAction.QUICK_LOAD)) {
+            loadSnapshot(GameSnapshot.QUICK_SAVE);
         }
         
+        // Hold to rewind time
+        rewinding = input.isHeld(InputAction.REWIND) && gameState == GameState.PLAYING;
+        
         // Only allow player controls when playing
         if (gameState == GameState.PLAYING) {
-            player.keyPressed(e);
+            player.applyInput(input);
         }
     }
     
-    private void restartGame() {
+    void restartGame() {
         // Reset all game state
-        rocks.clear();
-        bullets.clear();
-        enemies.clear();
-        enemyBullets.clear();
+        world.clear();
         explosions.clear();
-        bossBullets.clear();
-        subEnemies.clear();
-        healthPowerUps.clear();
+        particles.clear();
         boss = null;
         bossDefeated = false;
         gameWon = false;
         gameOver = false;
         gameTime = 0;
         killCount = 0;
-        lives = 10;
+        score = 0;
+        scoreRecorded = false;
+        tuning = tuningSource.get();
+        lives = tuning.startLives;
         invincibilityTimer = 0;
         spawnTimer = 0;
         enemySpawnTimer = 0;
         bossSpawnDelay = 0;
+        endlessSeed = 0;
+        sectorIndex = 0;
+        sectorTick = 0;
+        sector = null;
+        autoFireTimer = 0; // Left over from the last game it shifted every shot, a seed must replay the same
+        backgroundOffsetY = 0;
         gameState = GameState.PLAYING;
         gameOverMenuSelection = 0; // Reset menu selection
+        gameOverMenuOptions = net != null ? NET_GAME_OVER_OPTIONS : GAME_OVER_OPTIONS;
+        hasBossCheckpoint = false;
+        rewindBuffer.clear();
         
-        // Reset player position
-        player.x = WINDOW_WIDTH / 2 - 32;
-        player.y = WINDOW_HEIGHT - 100;
+        // Reset player position, co-op ships start side by side
+        player.x = WORLD_WIDTH / 2 - 32;
+        player.y = WORLD_HEIGHT - 100;
+        if (player2 != null) {
+            player.x -= 100;
+            player2.x = WORLD_WIDTH / 2 - 32 + 100;
+            player2.y = WORLD_HEIGHT - 100;
+        }
+        camera.follow(player, player2);
         
         // Make sure theme music is playing
         switchToThemeMusic();
@@ -1211,6 +1457,9 @@ public class SpaceGame extends JPanel implements ActionListener, KeyListener {
         String selected = gameOverMenuOptions[gameOverMenuSelection];
         
         switch (selected) {
+            case "RETRY BOSS":
+                restoreBossCheckpoint();
+                break;
             case "PLAY AGAIN":
                 restartGame();
                 break;
@@ -1234,7 +1483,7 @@ public class SpaceGame extends JPanel implements ActionListener, KeyListener {
     }
     
     private void returnToMenu() {
-        // Cleanup will be called by GameWindow.showMenu()
+        // Suspend will be called by GameWindow.showMenu()
         // Just trigger the menu switch
         if (gameWindow != null) {
             SwingUtilities.invokeLater(() -> {
@@ -1243,34 +1492,364 @@ public class SpaceGame extends JPanel implements ActionListener, KeyListener {
         }
     }
     
-    public void cleanup() {
+    // Single place where key presses enter the game, bots and replays inject here too
+    public InputSystem getInput() {
+        return input;
+    }
+    
+    public void setBot(BotPolicy bot) {
+        this.bot = bot;
+    }
+    
+    void setRewindRecording(boolean enabled) {
+        recordRewind = enabled;
+        rewindBuffer.clear();
+    }
+    
+    // Endless mode for the next game, set after reset(). Netplay peers must both pick it
+    void setEndless(boolean endless) {
+        this.endless = endless;
+        if (endless && sectors == null) {
+            sectors = new SectorFeed(zigzagPath);
+        } else if (!endless) {
+            sectors = null; // Its generator stops once idle
+            sector = null;
+        }
+    }
+    
+    // Reseed after restartGame(), the same seed and inputs replay the same game
+    void setSeed(long seed) {
+        random.setSeed(seed);
+    }
+    
+    // Attach an online session, the game waits for the peer before the first frame runs
+    public void setNetplay(RollbackSession session) {
+        if (net != null) {
+            net.close();
+        }
+        net = session;
+        if (session != null && player2 == null) {
+            player2 = new Player(0, 0, playerSheet, exhaustSheet);
+        } else if (session == null) {
+            player2 = null;
+        }
+        restartGame();
+    }
+    
+    // Called by the session once both sides agree on the seed, frame 0 starts here
+    void startNetplay(long seed) {
+        restartGame();
+        random.setSeed(seed);
+    }
+    
+    void setResimulating(boolean resimulating) {
+        this.resimulating = resimulating;
+        particles.setMuted(resimulating); // Re-run frames already showed their effects
+    }
+    
+    RollbackSession getNetplay() {
+        return net;
+    }
+    
+    public void setBroadcast(SpectatorServer server) {
+        broadcast = server;
+    }
+    
+    public void setSpectating(SpectatorClient client) {
+        if (spectating != null) {
+            spectating.close();
+        }
+        spectating = client;
+        if (client == null && net == null) {
+            player2 = null;
+        }
+        restartGame();
+    }
+    
+    // Game section of a hitch report, only built when one is written
+    String describeForReport() {
+        StringBuilder out = new StringBuilder();
+        out.append(String.format("state     %s, game time %d, %s%s%s%n", gameState, gameTime,
+            endless ? "endless sector " + (sectorIndex + 1) : "normal",
+            net != null ? ", netplay" : "", spectating != null ? ", spectating" : ""));
+        out.append(String.format("boss      %s%n", boss != null ? "health " + boss.health + ", " + boss.emitters.count + " emitters" : bossSpawnDelay > 0 ? "spawning" : "none"));
+        out.append(String.format("entities  rocks %d, enemies %d, sub-enemies %d, bullets %d, enemy bullets %d, boss bullets %d, power-ups %d%n",
+            world.rocks.count, world.enemies.count, world.subEnemies.count, world.bullets.count,
+            world.enemyBullets.count, world.bossBullets.count, world.healthPowerUps.count));
+        out.append(String.format("effects   explosions %d, particles %d%n", explosions.count, particles.count));
+        out.append(String.format("music     %s", isBossMusicPlaying() ? "boss" : "theme"));
+        return out.toString();
+    }
+    
+    // Read-only views of the world for bots and tools
+    Player getPlayer() { return player; }
+    Boss getBoss() { return boss; }
+    World getWorld() { return world; }
+    boolean isGameOver() { return gameOver; }
+    boolean isGameWon() { return gameWon; }
+    int getScore() { return score; }
+    int getKillCount() { return killCount; }
+    int getLives() { return lives; }
+    Tuning getTuning() { return tuning; }
+    int getGameTime() { return gameTime; }
+    boolean isBossDefeated() { return bossDefeated; }
+    boolean isEndless() { return endless; }
+    int getSectorIndex() { return sectorIndex; }
+    SectorFeed getSectorFeed() { return sectors; }
+    boolean isRecovered() { return recovered; }
+    
+    @Override
+    public void reset() {
+        restartGame();
+        input.reset();
+    }
+    
+    @Override
+    public void resume() {
+        // Pick up the music matching the current state (a recovered game may be mid boss fight)
+        updateGameVolume();
+        if (boss != null && !gameOver && !gameWon) {
+            switchToBossMusic();
+        } else {
+            switchToThemeMusic();
+        }
+        
+        if (gameTimer != null) {
+            gameTimer.start();
+        }
+    }
+    
+    @Override
+    public void suspend() {
         // Stop game timer
         if (gameTimer != null) {
             gameTimer.stop();
         }
         
-        // Stop all music
-        if (musicClip != null) {
-            if (musicClip.isRunning()) {
-                musicClip.stop();
+        // Leaving normally, so there is nothing to recover next time
+        deleteAutoSave();
+        input.reset();
+        if (net != null) {
+            setNetplay(null);
+        }
+        if (spectating != null) {
+            setSpectating(null);
+        }
+        
+        // Stop all music, the clips are shared and stay open
+        if (musicClip != null && musicClip.isRunning()) {
+            musicClip.stop();
+        }
+        if (bossMusicClip != null && bossMusicClip.isRunning()) {
+            bossMusicClip.stop();
+        }
+    }
+    
+    private void recordHighScore() {
+        if (scoreRecorded || gameWindow == null || resimulating) return;
+        scoreRecorded = true;
+        gameWindow.getHighScoreStore().submit(score, killCount, gameWon);
+    }
+    
+    private void saveSnapshot(Path file) {
+        try {
+            GameSnapshot.save(this, file, snapshotBuffer);
+        } catch (IOException e) {
+            System.err.println("Error saving game: " + e.getMessage());
+        }
+    }
+    
+    private void loadSnapshot(Path file) {
+        if (!Files.exists(file)) return;
+        try {
+            GameSnapshot.load(this, file, snapshotBuffer, undoBuffer());
+            rewindBuffer.clear();
+        } catch (IOException e) {
+            System.err.println("Error loading game: " + e.getMessage());
+        }
+    }
+    
+    private void recoverAutoSave() {
+        // An autosave left behind means the last session didn't exit cleanly
+        if (Files.exists(GameSnapshot.AUTO_SAVE)) {
+            loadSnapshot(GameSnapshot.AUTO_SAVE);
+            gameState = GameState.PAUSED; // Give the player a moment before resuming
+            recovered = true;
+        }
+    }
+    
+    private void deleteAutoSave() {
+        try {
+            Files.deleteIfExists(GameSnapshot.AUTO_SAVE);
+        } catch (IOException e) {
+            System.err.println("Error deleting autosave: " + e.getMessage());
+        }
+    }
+    
+    private Boss newBoss(int x, int y) {
+        Boss b = new Boss(x, y, enemySheet);
+        b.setAnimations(animations);
+        b.setSway(paths.get(bossSwayPath));
+        spareBoss = b;
+        return b;
+    }
+    
+    private ByteBuffer undoBuffer() {
+        if (undoBuffer == null) {
+            undoBuffer = GameSnapshot.createBuffer();
+        }
+        return undoBuffer;
+    }
+    
+    private void saveBossCheckpoint() {
+        if (bossCheckpoint == null) {
+            bossCheckpoint = GameSnapshot.createBuffer();
+        }
+        GameSnapshot.capture(this, bossCheckpoint);
+        hasBossCheckpoint = true;
+    }
+    
+    private void restoreBossCheckpoint() {
+        if (!hasBossCheckpoint) return;
+        try {
+            GameSnapshot.restore(this, bossCheckpoint, undoBuffer());
+            rewindBuffer.clear();
+        } catch (IOException e) {
+            System.err.println("Error restoring checkpoint: " + e.getMessage());
+        }
+    }
+    
+    // Write the whole simulation state (see GameSnapshot for the file header)
+    // Indexed loops keep this allocation-free, it runs every tick for the rewind buffer
+    void writeState(ByteBuffer buf) {
+        buf.putLong(random.getState());
+        buf.putInt(gameTime);
+        buf.putInt(bossSpawnDelay);
+        buf.putInt(invincibilityTimer);
+        buf.putInt(spawnTimer);
+        buf.putInt(enemySpawnTimer);
+        buf.putInt(autoFireTimer);
+        buf.putInt(killCount);
+        buf.putInt(lives);
+        buf.putInt(score);
+        buf.put((byte)((gameOver ? 1 : 0) | (gameWon ? 2 : 0) | (bossDefeated ? 4 : 0) | (endless ? 8 : 0)));
+        if (endless) {
+            buf.putLong(endlessSeed);
+            buf.putInt(sectorIndex);
+            buf.putInt(sectorTick);
+        }
+        buf.putDouble(backgroundOffsetY);
+        buf.putInt(player.x);
+        buf.putInt(player.y);
+        buf.put((byte)(player2 != null ? 1 : 0));
+        if (player2 != null) {
+            buf.putInt(player2.x);
+            buf.putInt(player2.y);
+        }
+        
+        world.write(buf);
+        
+        explosions.write(buf);
+        
+        buf.put((byte)(boss != null ? 1 : 0));
+        if (boss != null) {
+            buf.putInt(boss.x);
+            buf.putInt(boss.y);
+            buf.putInt(boss.health);
+            buf.putInt(boss.moveCounter);
+            buf.putInt(boss.swayFraction);
+            boss.emitters.write(buf);
+        }
+    }
+    
+    // Read back the state written by writeState
+    void readState(ByteBuffer buf) {
+        readSimulation(buf);
+        followRestoredState();
+    }
+    
+    // Everything readState restores but the menus and music, so a broken snapshot can be undone
+    // without leaving the menu it was loaded from
+    void readSimulation(ByteBuffer buf) {
+        random.setState(buf.getLong());
+        gameTime = buf.getInt();
+        bossSpawnDelay = buf.getInt();
+        invincibilityTimer = buf.getInt();
+        spawnTimer = buf.getInt();
+        enemySpawnTimer = buf.getInt();
+        autoFireTimer = buf.getInt();
+        killCount = buf.getInt();
+        lives = buf.getInt();
+        score = buf.getInt();
+        int flags = buf.get();
+        gameOver = (flags & 1) != 0;
+        gameWon = (flags & 2) != 0;
+        bossDefeated = (flags & 4) != 0;
+        setEndless((flags & 8) != 0);
+        if (endless) {
+            endlessSeed = buf.getLong();
+            sectorIndex = buf.getInt();
+            sectorTick = buf.getInt();
+        }
+        backgroundOffsetY = buf.getDouble();
+        player.x = buf.getInt();
+        player.y = buf.getInt();
+        if (buf.get() == 1) {
+            int x = buf.getInt();
+            int y = buf.getInt();
+            if (player2 == null && spectating != null) {
+                player2 = new Player(x, y, playerSheet, exhaustSheet); // Watching a co-op game
+            }
+            if (player2 != null) {
+                player2.x = x;
+                player2.y = y;
             }
-            musicClip.close();
         }
         
-        if (bossMusicClip != null) {
-            if (bossMusicClip.isRunning()) {
-                bossMusicClip.stop();
+        world.read(buf);
+        camera.follow(player, player2); // Not stored, it only depends on the ships
+        
+        explosions.read(buf);
+        
+        if (buf.get() == 1) {
+            // The boss (or the last one there was) is reused, restores run every tick in rollback
+            if (boss == null) {
+                boss = spareBoss != null ? spareBoss : newBoss(0, 0);
+            }
+            boss.x = buf.getInt();
+            boss.y = buf.getInt();
+            boss.health = buf.getInt();
+            boss.moveCounter = buf.getInt();
+            boss.swayFraction = buf.getInt();
+            boss.emitters.read(buf);
+        } else {
+            boss = null;
+        }
+    }
+    
+    // Menus and music follow the restored state
+    void followRestoredState() {
+        gameState = GameState.PLAYING;
+        gameOverMenuSelection = 0;
+        pauseMenuSelection = 0;
+        syncMusic();
+    }
+    
+    // Play whichever track the current state calls for, without restarting one that already plays
+    void syncMusic() {
+        boolean wantBossMusic = boss != null && !gameOver && !gameWon;
+        if (wantBossMusic != isBossMusicPlaying()) {
+            if (wantBossMusic) {
+                switchToBossMusic();
+            } else {
+                switchToThemeMusic();
             }
-            bossMusicClip.close();
         }
     }
     
     @Override
     public void keyReleased(KeyEvent e) {
-        // Only allow player controls when playing
-        if (gameState == GameState.PLAYING) {
-            player.keyReleased(e);
-        }
+        input.keyReleased(e);
     }
     
     @Override
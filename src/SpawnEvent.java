@@ -0,0 +1,15 @@
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+// Flight Recorder event for one spawn
+@Name("void.Spawn")
+@Label("Spawn")
+@Category({"VOID", "Simulation"})
+@Description("A burst of entities: an enemy formation or the boss")
+class SpawnEvent extends Event {
+    @Label("What") String what;
+    @Label("Count") int count;
+}
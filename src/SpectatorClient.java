@@ -0,0 +1,149 @@
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.SocketChannel;
+
+// Spectator client class
+// Receives and decodes the delta stream on its own thread.
+class SpectatorClient implements Runnable {
+    private final byte[][] frames = new byte[SpectatorServer.HISTORY][];
+    private final int[] frameNumber = new int[SpectatorServer.HISTORY];
+    private final int[] frameLength = new int[SpectatorServer.HISTORY];
+    private int newest = -1;
+    private int taken = -1; // Newest frame handed to the game
+    
+    private SocketChannel channel;
+    private Thread thread;
+    private volatile boolean connected;
+    private volatile boolean closed;
+    
+    // Decoder only, for tools that do their own networking
+    public SpectatorClient() {
+        for (int i = 0; i < frameNumber.length; i++) {
+            frameNumber[i] = -1;
+        }
+    }
+    
+    static SpectatorClient connect(InetSocketAddress address) {
+        SpectatorClient client = new SpectatorClient();
+        client.thread = new Thread(() -> client.connectAndRun(address), "spectator-client");
+        client.thread.setDaemon(true);
+        client.thread.start();
+        return client;
+    }
+    
+    private void connectAndRun(InetSocketAddress address) {
+        try {
+            channel = SocketChannel.open(address);
+            channel.socket().setTcpNoDelay(true);
+            connected = true;
+            run();
+        } catch (IOException e) {
+            if (!closed) {
+                System.err.println("Error connecting to spectator server: " + e.getMessage());
+            }
+        }
+        connected = false;
+    }
+    
+    @Override
+    public void run() {
+        ByteBuffer header = ByteBuffer.allocate(4);
+        ByteBuffer body = ByteBuffer.allocate(SpectatorServer.HEADER_SIZE + DeltaCodec.maxEncodedSize(GameSnapshot.MAX_SIZE));
+        ByteBuffer ack = ByteBuffer.allocate(4);
+        try {
+            while (!closed) {
+                header.clear();
+                readFully(header);
+                int size = header.getInt(0);
+                body.clear();
+                body.limit(size);
+                readFully(body);
+                body.flip();
+                
+                int frame = accept(body);
+                if (frame >= 0) {
+                    ack.clear();
+                    ack.putInt(frame);
+                    ack.flip();
+                    while (ack.hasRemaining()) {
+                        channel.write(ack);
+                    }
+                }
+            }
+        } catch (IOException e) {
+            if (!closed) {
+                System.err.println("Error reading spectator stream: " + e.getMessage());
+            }
+        }
+    }
+    
+    private void readFully(ByteBuffer buf) throws IOException {
+        while (buf.hasRemaining()) {
+            if (channel.read(buf) < 0) {
+                throw new IOException("server closed the stream");
+            }
+        }
+    }
+    
+    // Decode one message (frame, base frame, delta), returns the frame to acknowledge or -1
+    synchronized int accept(ByteBuffer message) {
+        int frame = message.getInt();
+        int baseFrame = message.getInt();
+        int slot = frame % SpectatorServer.HISTORY;
+        
+        int baseLength = 0;
+        int baseSlot = baseFrame % SpectatorServer.HISTORY;
+        if (baseFrame >= 0) {
+            if (frameNumber[baseSlot] != baseFrame) {
+                return -1; // Base already forgotten, the server falls back to a full frame
+            }
+            baseLength = frameLength[baseSlot];
+        }
+        
+        // Frames are sized to what the game actually writes, not the snapshot maximum
+        int needed = Math.max(DeltaCodec.peekLength(message), baseLength);
+        byte[] target = frames[slot];
+        if (target == null || target.length < needed) {
+            target = frames[slot] = new byte[Math.max(needed, 4096)];
+        }
+        if (baseFrame >= 0) {
+            System.arraycopy(frames[baseSlot], 0, target, 0, baseLength);
+        }
+        
+        frameLength[slot] = DeltaCodec.decode(message, target, baseLength);
+        frameNumber[slot] = frame;
+        newest = Math.max(newest, frame);
+        return frame;
+    }
+    
+    // Copy the newest frame into out (ready to read) if it wasn't taken yet
+    synchronized boolean copyLatest(ByteBuffer out) {
+        if (newest < 0 || newest == taken) return false;
+        int slot = newest % SpectatorServer.HISTORY;
+        out.clear();
+        out.put(frames[slot], 0, frameLength[slot]);
+        out.flip();
+        taken = newest;
+        return true;
+    }
+    
+    boolean isConnected() {
+        return connected;
+    }
+    
+    synchronized int getNewestFrame() {
+        return newest;
+    }
+    
+    public void close() {
+        closed = true;
+        try {
+            if (channel != null) {
+                channel.close();
+            }
+        } catch (IOException e) {
+            System.err.println("Error closing spectator client: " + e.getMessage());
+        }
+    }
+}
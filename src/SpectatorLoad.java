@@ -0,0 +1,166 @@
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.SocketChannel;
+import java.util.Arrays;
+import java.util.Iterator;
+
+// Spectator load test
+//   java SpectatorLoad [viewers] [ticks]
+public class SpectatorLoad {
+    private static final long TICK_NANOS = 20_000_000L;
+    
+    public static void main(String[] args) throws Exception {
+        int viewers = args.length > 0 ? Integer.parseInt(args[0]) : 300;
+        int ticks = args.length > 1 ? Integer.parseInt(args[1]) : 1000;
+        
+        SpaceGame game = new SpaceGame(null, GameAssets.load(false), true);
+        game.setBot(new AutoPilot());
+        SpectatorServer server = new SpectatorServer(0);
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        
+        Viewers crowd = new Viewers(viewers, new InetSocketAddress("127.0.0.1", server.getPort()));
+        Thread crowdThread = new Thread(crowd, "spectators");
+        crowdThread.setDaemon(true);
+        crowdThread.start();
+        while (server.getClientCount() < viewers) {
+            Thread.sleep(10);
+        }
+        
+        // Keep the host's own copy of recent frames to check the viewers against
+        byte[][] hostFrames = new byte[SpectatorServer.HISTORY][];
+        int[] hostLength = new int[SpectatorServer.HISTORY];
+        ByteBuffer capture = ByteBuffer.allocate(GameSnapshot.MAX_SIZE);
+        
+        long[] publishNanos = new long[ticks];
+        long publishCpuNanos = 0;
+        long next = System.nanoTime();
+        for (int t = 0; t < ticks; t++) {
+            game.tick();
+            // Same call the game makes at the end of tick() with a broadcast attached
+            long cpu = threads.getCurrentThreadCpuTime();
+            long before = server.totalPublishNanos;
+            server.publish(game);
+            publishNanos[t] = server.totalPublishNanos - before;
+            publishCpuNanos += threads.getCurrentThreadCpuTime() - cpu;
+            if (game.isGameOver() || game.isGameWon()) {
+                game.restartGame();
+            }
+            
+            capture.clear();
+            game.writeState(capture);
+            int slot = t % SpectatorServer.HISTORY;
+            hostFrames[slot] = Arrays.copyOf(capture.array(), capture.position());
+            hostLength[slot] = capture.position();
+            
+            next += TICK_NANOS;
+            long sleep = next - System.nanoTime();
+            if (sleep > 0) {
+                Thread.sleep(sleep / 1_000_000, (int)(sleep % 1_000_000));
+            }
+        }
+        Thread.sleep(500); // Let the last frames arrive
+        
+        // Every viewer should hold exactly the host's state for the newest frame it got
+        int matching = 0;
+        int behind = 0;
+        ByteBuffer latest = ByteBuffer.allocate(GameSnapshot.MAX_SIZE);
+        for (SpectatorClient viewer : crowd.decoders) {
+            int frame = viewer.getNewestFrame();
+            if (frame < ticks - SpectatorServer.HISTORY) {
+                behind++;
+                continue;
+            }
+            viewer.copyLatest(latest);
+            int slot = frame % SpectatorServer.HISTORY;
+            if (latest.remaining() == hostLength[slot]
+                && Arrays.equals(Arrays.copyOf(latest.array(), latest.remaining()), hostFrames[slot])) {
+                matching++;
+            }
+        }
+        
+        long[] sorted = publishNanos.clone();
+        Arrays.sort(sorted);
+        System.out.printf("viewers=%d ticks=%d%n", viewers, ticks);
+        System.out.printf("publish per tick: avg %.3f ms, p99 %.3f ms, max %.3f ms, cpu avg %.3f ms (%d cores)%n",
+            server.totalPublishNanos / 1e6 / server.publishes, sorted[(int)(ticks * 0.99)] / 1e6, sorted[ticks - 1] / 1e6,
+            publishCpuNanos / 1e6 / ticks, Runtime.getRuntime().availableProcessors());
+        System.out.printf("sent %.1f MB, %d full frames, %d deltas, %d dropped from full queues%n",
+            server.bytesSent / 1e6, server.keyframesSent, server.deltasSent, server.framesDropped);
+        System.out.printf("viewers in sync: %d of %d (%d fell behind)%n", matching, viewers, behind);
+        
+        crowd.running = false;
+        server.close();
+    }
+    
+    // All spectators on one selector, each with its own decoder
+    private static class Viewers implements Runnable {
+        final SpectatorClient[] decoders;
+        private final Selector selector;
+        volatile boolean running = true;
+        
+        Viewers(int count, InetSocketAddress address) throws IOException {
+            selector = Selector.open();
+            decoders = new SpectatorClient[count];
+            for (int i = 0; i < count; i++) {
+                decoders[i] = new SpectatorClient();
+                SocketChannel channel = SocketChannel.open(address);
+                channel.configureBlocking(false);
+                channel.register(selector, SelectionKey.OP_READ, new Viewer(decoders[i]));
+            }
+        }
+        
+        @Override
+        public void run() {
+            try {
+                while (running) {
+                    selector.select(100);
+                    Iterator<SelectionKey> keys = selector.selectedKeys().iterator();
+                    while (keys.hasNext()) {
+                        SelectionKey key = keys.next();
+                        keys.remove();
+                        ((Viewer) key.attachment()).read((SocketChannel) key.channel());
+                    }
+                }
+            } catch (IOException e) {
+                System.err.println("Error in spectator load: " + e.getMessage());
+            }
+        }
+    }
+    
+    private static class Viewer {
+        private final SpectatorClient decoder;
+        private final ByteBuffer in = ByteBuffer.allocate(1 << 20);
+        private final ByteBuffer ack = ByteBuffer.allocate(4);
+        
+        Viewer(SpectatorClient decoder) {
+            this.decoder = decoder;
+        }
+        
+        void read(SocketChannel channel) throws IOException {
+            if (channel.read(in) < 0) {
+                channel.close();
+                return;
+            }
+            in.flip();
+            while (in.remaining() >= 4 && in.remaining() >= 4 + in.getInt(in.position())) {
+                int size = in.getInt();
+                ByteBuffer message = in.slice();
+                message.limit(size);
+                in.position(in.position() + size);
+                int frame = decoder.accept(message);
+                if (frame >= 0) {
+                    ack.clear();
+                    ack.putInt(frame);
+                    ack.flip();
+                    channel.write(ack);
+                }
+            }
+            in.compact();
+        }
+    }
+}
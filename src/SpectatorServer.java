@@ -0,0 +1,294 @@
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Iterator;
+
+// Spectator server class
+// Streams the running game to spectators over TCP as deltas.
+class SpectatorServer implements Runnable {
+    static final int HISTORY = 64;   // Frames a client may lag behind before it gets a full frame again
+    static final int MAX_QUEUE = 4;  // Messages waiting per client
+    static final int HEADER_SIZE = 12; // Length, frame, base frame
+    
+    private final ServerSocketChannel server;
+    private final Selector selector;
+    private final Thread thread;
+    private volatile boolean running = true;
+    
+    // Written by publish() on the game thread, read by the selector thread, guarded by history
+    private final byte[][] history = new byte[HISTORY][];
+    private final int[] historyLength = new int[HISTORY];
+    private final int[] historyFrame = new int[HISTORY];
+    private volatile int publishedFrame = -1;
+    private final ByteBuffer publishBuffer = ByteBuffer.allocate(GameSnapshot.MAX_SIZE);
+    
+    // Selector thread only
+    private final ArrayList<SpectatorConnection> connections = new ArrayList<>();
+    private volatile int clientCount;
+    private int sentFrame = -1;
+    private final byte[] current = new byte[GameSnapshot.MAX_SIZE];
+    private final byte[] base = new byte[GameSnapshot.MAX_SIZE];
+    private final ByteBuffer[] encoded = new ByteBuffer[HISTORY + 1]; // Per base slot, plus one for full frames
+    private final int[] encodedBase = new int[HISTORY + 1];
+    
+    // Stats
+    long publishes;
+    long totalPublishNanos;
+    long maxPublishNanos;
+    long bytesSent;
+    long keyframesSent;
+    long deltasSent;
+    long framesDropped;
+    
+    public SpectatorServer(int port) throws IOException {
+        for (int i = 0; i < HISTORY; i++) {
+            historyFrame[i] = -1;
+        }
+        selector = Selector.open();
+        server = ServerSocketChannel.open();
+        server.bind(new InetSocketAddress(port));
+        server.configureBlocking(false);
+        server.register(selector, SelectionKey.OP_ACCEPT);
+        thread = new Thread(this, "spectator-server");
+        thread.setDaemon(true);
+        thread.start();
+    }
+    
+    int getPort() {
+        try {
+            return ((InetSocketAddress) server.getLocalAddress()).getPort();
+        } catch (IOException e) {
+            return -1;
+        }
+    }
+    
+    int getClientCount() {
+        return clientCount;
+    }
+    
+    // Game thread: capture this tick's state, everything else happens on the selector thread
+    public void publish(SpaceGame game) {
+        long start = System.nanoTime();
+        publishBuffer.clear();
+        game.writeState(publishBuffer);
+        int length = publishBuffer.position();
+        int frame = publishedFrame + 1;
+        int slot = frame % HISTORY;
+        synchronized (history) {
+            if (history[slot] == null || history[slot].length < length) {
+                history[slot] = new byte[Math.max(length, 4096)];
+            }
+            System.arraycopy(publishBuffer.array(), 0, history[slot], 0, length);
+            historyLength[slot] = length;
+            historyFrame[slot] = frame;
+        }
+        publishedFrame = frame;
+        selector.wakeup();
+        
+        long nanos = System.nanoTime() - start;
+        publishes++;
+        totalPublishNanos += nanos;
+        maxPublishNanos = Math.max(maxPublishNanos, nanos);
+    }
+    
+    @Override
+    public void run() {
+        try {
+            while (running) {
+                selector.select();
+                Iterator<SelectionKey> keys = selector.selectedKeys().iterator();
+                while (keys.hasNext()) {
+                    SelectionKey key = keys.next();
+                    keys.remove();
+                    if (!key.isValid()) continue;
+                    if (key.isAcceptable()) {
+                        accept();
+                    } else {
+                        SpectatorConnection connection = (SpectatorConnection) key.attachment();
+                        try {
+                            if (key.isReadable()) connection.readAcks();
+                            if (key.isValid() && key.isWritable()) bytesSent += connection.flush();
+                        } catch (IOException e) {
+                            drop(connection);
+                        }
+                    }
+                }
+                
+                int frame = publishedFrame;
+                if (frame > sentFrame) {
+                    broadcast(frame);
+                    sentFrame = frame;
+                }
+            }
+        } catch (IOException e) {
+            System.err.println("Error in spectator server: " + e.getMessage());
+        }
+    }
+    
+    private void accept() throws IOException {
+        SocketChannel channel = server.accept();
+        if (channel == null) return;
+        channel.configureBlocking(false);
+        channel.socket().setTcpNoDelay(true);
+        SpectatorConnection connection = new SpectatorConnection(channel);
+        connection.key = channel.register(selector, SelectionKey.OP_READ, connection);
+        connections.add(connection);
+        clientCount = connections.size();
+    }
+    
+    private void drop(SpectatorConnection connection) {
+        connections.remove(connection);
+        clientCount = connections.size();
+        connection.close();
+    }
+    
+    private void broadcast(int frame) {
+        int currentLength;
+        synchronized (history) {
+            int slot = frame % HISTORY;
+            if (historyFrame[slot] != frame) return; // Overtaken by newer frames already
+            currentLength = historyLength[slot];
+            System.arraycopy(history[slot], 0, current, 0, currentLength);
+        }
+        for (int i = 0; i < encodedBase.length; i++) {
+            encodedBase[i] = Integer.MIN_VALUE;
+        }
+        
+        for (int i = connections.size() - 1; i >= 0; i--) {
+            SpectatorConnection connection = connections.get(i);
+            int baseFrame = connection.acked;
+            if (baseFrame >= frame || frame - baseFrame >= HISTORY) {
+                baseFrame = -1; // Nothing usable acknowledged, send the whole frame
+            }
+            ByteBuffer message = encodeFor(frame, currentLength, baseFrame);
+            if (message == null) {
+                message = encodeFor(frame, currentLength, -1);
+            }
+            if (connection.enqueue(message.duplicate())) {
+                framesDropped++;
+            }
+            try {
+                bytesSent += connection.flush();
+            } catch (IOException e) {
+                drop(connection);
+            }
+        }
+    }
+    
+    // Encoded message for this frame against a base, built once and shared by every client on that base
+    private ByteBuffer encodeFor(int frame, int currentLength, int baseFrame) {
+        int cache = baseFrame < 0 ? HISTORY : baseFrame % HISTORY;
+        if (encodedBase[cache] == baseFrame) {
+            return encoded[cache];
+        }
+        
+        int baseLength = 0;
+        if (baseFrame >= 0) {
+            synchronized (history) {
+                int slot = baseFrame % HISTORY;
+                if (historyFrame[slot] != baseFrame) return null;
+                baseLength = historyLength[slot];
+                System.arraycopy(history[slot], 0, base, 0, baseLength);
+            }
+        }
+        
+        ByteBuffer out = ByteBuffer.allocate(HEADER_SIZE + DeltaCodec.maxEncodedSize(currentLength));
+        out.position(HEADER_SIZE);
+        DeltaCodec.encode(current, currentLength, base, baseLength, out);
+        out.putInt(0, out.position() - 4);
+        out.putInt(4, frame);
+        out.putInt(8, baseFrame);
+        out.flip();
+        
+        encoded[cache] = out;
+        encodedBase[cache] = baseFrame;
+        if (baseFrame < 0) keyframesSent++; else deltasSent++;
+        return out;
+    }
+    
+    public void close() {
+        running = false;
+        selector.wakeup();
+        try {
+            thread.join(1000);
+            for (SpectatorConnection connection : connections) {
+                connection.close();
+            }
+            server.close();
+            selector.close();
+        } catch (IOException | InterruptedException e) {
+            System.err.println("Error closing spectator server: " + e.getMessage());
+        }
+    }
+}
+
+// One connected spectator: its acknowledged frame and bounded outgoing queue
+class SpectatorConnection {
+    final SocketChannel channel;
+    SelectionKey key;
+    int acked = -1;
+    private final ByteBuffer ackBuffer = ByteBuffer.allocate(64);
+    private final ArrayDeque<ByteBuffer> queue = new ArrayDeque<>();
+    
+    public SpectatorConnection(SocketChannel channel) {
+        this.channel = channel;
+    }
+    
+    // Acks are plain 4-byte frame numbers
+    public void readAcks() throws IOException {
+        if (channel.read(ackBuffer) < 0) {
+            throw new IOException("spectator left");
+        }
+        ackBuffer.flip();
+        while (ackBuffer.remaining() >= 4) {
+            acked = Math.max(acked, ackBuffer.getInt());
+        }
+        ackBuffer.compact();
+    }
+    
+    // Returns true if an older message had to make room
+    public boolean enqueue(ByteBuffer message) {
+        boolean dropped = false;
+        if (queue.size() >= SpectatorServer.MAX_QUEUE) {
+            // Never drop the head once it is partly written, the stream would lose its framing
+            ByteBuffer head = queue.pollFirst();
+            if (head.position() > 0) {
+                queue.pollFirst();
+                queue.addFirst(head);
+            }
+            dropped = true;
+        }
+        queue.addLast(message);
+        return dropped;
+    }
+    
+    // Write as much as the socket takes, returns the number of bytes written
+    public int flush() throws IOException {
+        int written = 0;
+        while (!queue.isEmpty()) {
+            ByteBuffer head = queue.peekFirst();
+            written += channel.write(head);
+            if (head.hasRemaining()) {
+                key.interestOps(SelectionKey.OP_READ | SelectionKey.OP_WRITE);
+                return written;
+            }
+            queue.pollFirst();
+        }
+        key.interestOps(SelectionKey.OP_READ);
+        return written;
+    }
+    
+    public void close() {
+        try {
+            channel.close();
+        } catch (IOException e) {
+            System.err.println("Error closing spectator connection: " + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,70 @@
+import java.awt.*;
+import java.awt.image.BufferedImage;
+
+// Sprite layout class
+// Sprite parts for one entity kind, cut out of the sheet once instead of every frame
+class SpriteLayout {
+    private static final int TILE = 16;
+    
+    final Texture sheet;
+    final int scale;
+    final Color fallback;
+    final int[] parts;
+    final int[] offsetX, offsetY;
+    BufferedImage[] images; // null where the sheet is missing or too small, replaced whole on reload
+    
+    // parts: column, row, srcX, srcY for each 16x16 tile
+    public SpriteLayout(Texture sheet, int scale, Color fallback, int... parts) {
+        this.sheet = sheet;
+        this.scale = scale;
+        this.fallback = fallback;
+        this.parts = parts;
+        int n = parts.length / 4;
+        offsetX = new int[n];
+        offsetY = new int[n];
+        for (int p = 0; p < n; p++) {
+            offsetX[p] = parts[p * 4] * TILE * scale;
+            offsetY[p] = parts[p * 4 + 1] * TILE * scale;
+        }
+        images = cut(sheet.load());
+    }
+    
+    // The tiles of this layout from one version of the sheet
+    BufferedImage[] cut(BufferedImage sheetImage) {
+        BufferedImage[] tiles = new BufferedImage[parts.length / 4];
+        if (sheetImage == null) return tiles;
+        for (int p = 0; p < tiles.length; p++) {
+            try {
+                tiles[p] = copyTile(sheetImage.getSubimage(parts[p * 4 + 2], parts[p * 4 + 3], TILE, TILE));
+            } catch (Exception e) {
+                System.err.println("Error cutting sprite: " + e.getMessage());
+            }
+        }
+        return tiles;
+    }
+    
+    // Own copy of the tile in a premultiplied format, a subimage of the decoded sheet keeps the
+    // sheet's pixel layout and goes through Java2D's slow generic blit
+    private static BufferedImage copyTile(BufferedImage tile) {
+        BufferedImage copy = new BufferedImage(TILE, TILE, BufferedImage.TYPE_INT_ARGB_PRE);
+        Graphics2D g = copy.createGraphics();
+        g.drawImage(tile, 0, 0, null);
+        g.dispose();
+        return copy;
+    }
+    
+    public void draw(Graphics2D g, int x, int y) {
+        int size = TILE * scale;
+        BufferedImage[] images = this.images;
+        for (int p = 0; p < images.length; p++) {
+            if (images[p] == null) {
+                g.setColor(fallback);
+                g.fillRect(x + offsetX[p], y + offsetY[p], size, size);
+            } else if (scale == 1) {
+                g.drawImage(images[p], x + offsetX[p], y + offsetY[p], null); // Unscaled blit, boss bullets come by the thousand
+            } else {
+                g.drawImage(images[p], x + offsetX[p], y + offsetY[p], size, size, null);
+            }
+        }
+    }
+}
@@ -0,0 +1,19 @@
+import java.awt.image.BufferedImage;
+
+// Text line class
+// Laid out text in one color, and the box its glyphs actually painted
+class TextLine {
+    final BufferedImage image;
+    int left, top, right, bottom;
+    
+    public TextLine(BufferedImage image) {
+        this.image = image;
+    }
+    
+    void set(int left, int top, int right, int bottom) {
+        this.left = left;
+        this.top = top;
+        this.right = right;
+        this.bottom = bottom;
+    }
+}
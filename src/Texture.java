@@ -0,0 +1,34 @@
+import java.awt.image.BufferedImage;
+
+// Texture class
+// Handle to one managed image, ask for the image each time it is needed
+class Texture {
+    final TextureManager manager;
+    final String name;
+    BufferedImage image;  // Null while evicted, or if the file could not be read
+    boolean missing;
+    boolean loading;      // Queued for the loader thread
+    long bytes;
+    long lastUsed;
+    
+    Texture(TextureManager manager, String name) {
+        this.manager = manager;
+        this.name = name;
+    }
+    
+    // For drawing: the image, or null while an evicted one is read back or if it can't be loaded
+    public BufferedImage get() {
+        return manager.use(this);
+    }
+    
+    public boolean isMissing() {
+        synchronized (manager) {
+            return missing;
+        }
+    }
+    
+    // For cutting sprites: the image, read back first if it was evicted, null if it can't be loaded
+    public BufferedImage load() {
+        return manager.load(this);
+    }
+}
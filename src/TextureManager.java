@@ -0,0 +1,165 @@
+import javax.imageio.ImageIO;
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBuffer;
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+// Texture manager
+// Every sprite sheet, converted for fast drawing and kept under -Dvoid.textureBudget MB.
+class TextureManager {
+    private final long budget;
+    private final GraphicsConfiguration config; // Null when headless
+    private final List<Texture> textures = new ArrayList<>();
+    private long used;     // Bytes of every resident texture
+    private long clock;    // Ticks once per use, for least recently used
+    private final ExecutorService loader = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "texture-loader");
+        t.setDaemon(true);
+        return t;
+    });
+    int loads;             // Reads from disk so far, reloads after eviction included
+    int evictions;
+    int replacements;      // Sheets swapped for a newer file
+    
+    public TextureManager() {
+        this(Long.getLong("void.textureBudget", 64) * 1024 * 1024);
+    }
+    
+    public TextureManager(long budget) {
+        this.budget = budget;
+        this.config = GraphicsEnvironment.isHeadless() ? null
+            : GraphicsEnvironment.getLocalGraphicsEnvironment().getDefaultScreenDevice().getDefaultConfiguration();
+    }
+    
+    // Load an image from Assets now, under a handle that reloads it if it is ever evicted
+    public Texture add(String name) {
+        Texture texture = new Texture(this, name);
+        synchronized (this) {
+            textures.add(texture);
+        }
+        load(texture);
+        return texture;
+    }
+    
+    // Never waits: an evicted texture is queued for the loader thread and null returned meanwhile
+    synchronized BufferedImage use(Texture texture) {
+        texture.lastUsed = ++clock;
+        if (texture.image == null && !texture.missing && !texture.loading) {
+            texture.loading = true;
+            loader.execute(() -> install(texture, decode(texture.name)));
+        }
+        return texture.image;
+    }
+    
+    // Reads an evicted texture back on the calling thread, so never from a paint
+    BufferedImage load(Texture texture) {
+        synchronized (this) {
+            texture.lastUsed = ++clock;
+            if (texture.image != null || texture.missing) return texture.image;
+        }
+        return install(texture, decode(texture.name));
+    }
+    
+    private synchronized BufferedImage install(Texture texture, BufferedImage image) {
+        texture.loading = false;
+        if (texture.image != null) return texture.image; // Loaded or replaced meanwhile
+        loads++;
+        if (image == null) {
+            texture.missing = true; // Not retried every frame
+            return null;
+        }
+        texture.image = image;
+        texture.bytes = bytes(image);
+        used += texture.bytes;
+        evict(texture);
+        return image;
+    }
+    
+    // Drop least recently used textures until back under the budget, never the one just asked for
+    private void evict(Texture keep) {
+        while (used > budget) {
+            Texture oldest = null;
+            for (Texture t : textures) {
+                if (t != keep && t.image != null && (oldest == null || t.lastUsed < oldest.lastUsed)) {
+                    oldest = t;
+                }
+            }
+            if (oldest == null) return; // Only keep is left, it stays even when bigger than the budget
+            used -= oldest.bytes;
+            oldest.image = null;
+            oldest.bytes = 0;
+            evictions++;
+        }
+    }
+    
+    // Put a newer version of the file in place of the current image, e.g. one the artist just saved
+    public synchronized void replace(Texture texture, BufferedImage image) {
+        used -= texture.bytes;
+        texture.image = image;
+        texture.missing = false;
+        texture.bytes = bytes(image);
+        texture.lastUsed = ++clock;
+        used += texture.bytes;
+        replacements++;
+        evict(texture);
+    }
+    
+    public synchronized List<Texture> all() {
+        return new ArrayList<>(textures);
+    }
+    
+    // Read and convert an image without holding the lock, null if it can't be read
+    public BufferedImage decode(String name) {
+        AssetLoadEvent event = new AssetLoadEvent();
+        event.begin();
+        BufferedImage image = null;
+        try {
+            BufferedImage decoded = ImageIO.read(new File("../Assets/" + name));
+            if (decoded != null) {
+                image = convert(decoded);
+            }
+        } catch (Exception e) {
+            System.err.println("Error loading image " + name + ": " + e.getMessage());
+        }
+        GameAssets.commit(event, name, "image", image != null);
+        return image;
+    }
+    
+    private BufferedImage convert(BufferedImage decoded) {
+        int w = decoded.getWidth();
+        int h = decoded.getHeight();
+        BufferedImage image = config != null
+            ? config.createCompatibleImage(w, h, Transparency.TRANSLUCENT)
+            : new BufferedImage(w, h, BufferedImage.TYPE_INT_ARGB_PRE);
+        Graphics2D g = image.createGraphics();
+        g.setComposite(AlphaComposite.Src);
+        g.drawImage(decoded, 0, 0, null);
+        g.dispose();
+        return image;
+    }
+    
+    private static long bytes(BufferedImage image) {
+        DataBuffer data = image.getRaster().getDataBuffer();
+        return (long)data.getSize() * data.getNumBanks() * DataBuffer.getDataTypeSize(data.getDataType()) / 8;
+    }
+    
+    public synchronized long usedBytes() {
+        return used;
+    }
+    
+    public long budgetBytes() {
+        return budget;
+    }
+    
+    public synchronized int residentCount() {
+        int n = 0;
+        for (Texture t : textures) {
+            if (t.image != null) n++;
+        }
+        return n;
+    }
+}
@@ -0,0 +1,26 @@
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+// Flight Recorder events, one per file; record with
+//   java -XX:StartFlightRecording=filename=void.jfr,settings=profile App
+@Name("void.Tick")
+@StackTrace(false)
+@Label("Game Tick")
+@Category({"VOID", "Simulation"})
+@Description("One SpaceGame.update, with the entity counts after it")
+class TickEvent extends Event {
+    @Label("Game Time") int gameTime;
+    @Label("Rocks") int rocks;
+    @Label("Enemies") int enemies;
+    @Label("Sub-Enemies") int subEnemies;
+    @Label("Bullets") int bullets;
+    @Label("Enemy Bullets") int enemyBullets;
+    @Label("Boss Bullets") int bossBullets;
+    @Label("Explosions") int explosions;
+    @Label("Boss Active") boolean boss;
+    @Label("Resimulated") @Description("Replayed by a netplay rollback") boolean resimulated;
+}
@@ -0,0 +1,168 @@
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+
+// Tuning class
+// The balancing numbers from Assets/tuning.txt, never modified once published.
+class Tuning {
+    static final Path FILE = Paths.get("../Assets/tuning.txt");
+    
+    // Ships
+    int startLives = 10;          // 2 per heart
+    int maxLives = 10;
+    int invincibleTicks = 60;
+    int playerSpeed = 5;
+    int autoFireInterval = 30;
+    int bulletSpeed = 10;
+    int maxBullets = 30;
+    
+    // Rocks
+    int rockSpawnInterval = 120;
+    int maxRocks = 10;
+    int rockSpeedMin = 1;
+    int rockSpeedSpread = 2;      // Speed is min + 0..spread-1
+    int rockHealthSmall = 3;
+    int rockHealthMedium = 4;
+    int rockHealthLarge = 5;
+    int rockScoreSmall = 15;
+    int rockScoreMedium = 25;
+    int rockScoreLarge = 50;
+    
+    // Enemies
+    int enemySpawnInterval = 120;
+    int maxEnemies = 8;
+    int enemySpeedMin = 1;
+    int enemySpeedSpread = 2;
+    int enemyFireOdds = 200;
+    int enemyFireChance = 2;
+    int miniBossFireChance = 8;
+    int enemyBulletSpeed = 5;
+    int enemyScore = 10;
+    int miniBossScore = 100;
+    
+    // Boss and the rest
+    int bossTime = 1500;          // Ticks into the game when the arena is cleared
+    int bossSpawnDelay = 50;
+    int subEnemyOdds = 240;
+    int maxSubEnemies = 5;
+    int powerUpOdds = 1200;
+    int powerUpSpeed = 2;
+    float backgroundScroll = 1.5f;
+    
+    // Endless mode caps, sectors decide everything else
+    int maxEndlessRocks = 24;
+    int maxEndlessEnemies = 16;
+    
+    public int rockHealth(int level) {
+        return level == 1 ? rockHealthSmall : level == 2 ? rockHealthMedium : rockHealthLarge;
+    }
+    
+    public int rockScore(int level) {
+        return level == 1 ? rockScoreSmall : level == 2 ? rockScoreMedium : rockScoreLarge;
+    }
+    
+    public static Tuning load() {
+        AssetLoadEvent event = new AssetLoadEvent();
+        event.begin();
+        try {
+            Tuning tuning = parse(Files.readAllLines(FILE));
+            GameAssets.commit(event, FILE.getFileName().toString(), "tuning", true);
+            return tuning;
+        } catch (IOException | IllegalArgumentException e) {
+            System.err.println("Error loading tuning: " + e.getMessage());
+            GameAssets.commit(event, FILE.getFileName().toString(), "tuning", false);
+            return new Tuning();
+        }
+    }
+    
+    // "key = value" per line, blank lines and # comments skipped
+    public static Tuning parse(List<String> lines) {
+        Tuning t = new Tuning();
+        for (String line : lines) {
+            int comment = line.indexOf('#');
+            if (comment >= 0) {
+                line = line.substring(0, comment);
+            }
+            if (line.trim().isEmpty()) continue;
+            int eq = line.indexOf('=');
+            if (eq < 0) {
+                throw new IllegalArgumentException("expected key = value, got " + line.trim());
+            }
+            t.set(line.substring(0, eq).trim(), line.substring(eq + 1).trim());
+        }
+        if (t.startLives > t.maxLives) {
+            throw new IllegalArgumentException("start_lives " + t.startLives + " is more than max_lives " + t.maxLives);
+        }
+        return t;
+    }
+    
+    private void set(String key, String value) {
+        switch (key) {
+            case "start_lives": startLives = parseInt(key, value, 1, 100); break;
+            case "max_lives": maxLives = parseInt(key, value, 1, 100); break;
+            case "invincible_ticks": invincibleTicks = parseInt(key, value, 0, 1000); break;
+            case "player_speed": playerSpeed = parseInt(key, value, 1, 50); break;
+            case "auto_fire_interval": autoFireInterval = parseInt(key, value, 1, 1000); break;
+            case "bullet_speed": bulletSpeed = parseInt(key, value, 1, 50); break;
+            case "max_bullets": maxBullets = parseInt(key, value, 2, 1000); break;
+            case "rock_spawn_interval": rockSpawnInterval = parseInt(key, value, 1, 10000); break;
+            case "max_rocks": maxRocks = parseInt(key, value, 0, 1000); break;
+            case "rock_speed_min": rockSpeedMin = parseInt(key, value, 1, 50); break;
+            case "rock_speed_spread": rockSpeedSpread = parseInt(key, value, 1, 50); break;
+            case "rock_health_small": rockHealthSmall = parseInt(key, value, 1, 1000); break;
+            case "rock_health_medium": rockHealthMedium = parseInt(key, value, 1, 1000); break;
+            case "rock_health_large": rockHealthLarge = parseInt(key, value, 1, 1000); break;
+            case "rock_score_small": rockScoreSmall = parseInt(key, value, 0, 100000); break;
+            case "rock_score_medium": rockScoreMedium = parseInt(key, value, 0, 100000); break;
+            case "rock_score_large": rockScoreLarge = parseInt(key, value, 0, 100000); break;
+            case "enemy_spawn_interval": enemySpawnInterval = parseInt(key, value, 1, 10000); break;
+            case "max_enemies": maxEnemies = parseInt(key, value, 0, 1000); break;
+            case "enemy_speed_min": enemySpeedMin = parseInt(key, value, 1, 50); break;
+            case "enemy_speed_spread": enemySpeedSpread = parseInt(key, value, 1, 50); break;
+            case "enemy_fire_odds": enemyFireOdds = parseInt(key, value, 1, 100000); break;
+            case "enemy_fire_chance": enemyFireChance = parseInt(key, value, 0, 100000); break;
+            case "mini_boss_fire_chance": miniBossFireChance = parseInt(key, value, 0, 100000); break;
+            case "enemy_bullet_speed": enemyBulletSpeed = parseInt(key, value, 1, 50); break;
+            case "enemy_score": enemyScore = parseInt(key, value, 0, 100000); break;
+            case "mini_boss_score": miniBossScore = parseInt(key, value, 0, 100000); break;
+            case "boss_time": bossTime = parseInt(key, value, 1, 1000000); break;
+            case "boss_spawn_delay": bossSpawnDelay = parseInt(key, value, 1, 10000); break;
+            case "sub_enemy_odds": subEnemyOdds = parseInt(key, value, 1, 100000); break;
+            case "max_sub_enemies": maxSubEnemies = parseInt(key, value, 0, 1000); break;
+            case "power_up_odds": powerUpOdds = parseInt(key, value, 1, 1000000); break;
+            case "power_up_speed": powerUpSpeed = parseInt(key, value, 1, 50); break;
+            case "background_scroll": backgroundScroll = parseFloat(key, value, 0, 50); break;
+            case "max_endless_rocks": maxEndlessRocks = parseInt(key, value, 0, 1000); break;
+            case "max_endless_enemies": maxEndlessEnemies = parseInt(key, value, 0, 1000); break;
+            default: throw new IllegalArgumentException("unknown tuning key " + key);
+        }
+    }
+    
+    private static int parseInt(String key, String value, int min, int max) {
+        int n;
+        try {
+            n = Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException(key + " must be a whole number, got " + value);
+        }
+        if (n < min || n > max) {
+            throw new IllegalArgumentException(key + " must be " + min + "-" + max + ", got " + n);
+        }
+        return n;
+    }
+    
+    private static float parseFloat(String key, String value, float min, float max) {
+        float f;
+        try {
+            f = Float.parseFloat(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException(key + " must be a number, got " + value);
+        }
+        if (!(f >= min && f <= max)) {
+            throw new IllegalArgumentException(key + " must be " + min + "-" + max + ", got " + value);
+        }
+        return f;
+    }
+}
@@ -0,0 +1,32 @@
+import java.util.Arrays;
+
+// Tuning reload test
+//   java TuningReload [bossTime] [reloadAt]
+public class TuningReload {
+    public static void main(String[] args) {
+        int reloadAt = args.length > 1 ? Integer.parseInt(args[1]) : 300;
+        int bossTime = args.length > 0 ? Integer.parseInt(args[0]) : reloadAt / 2;
+        
+        GameAssets assets = GameAssets.load(false);
+        SpaceGame game = new SpaceGame(null, assets, true);
+        game.setBot(new AutoPilot());
+        while (game.getGameTime() < reloadAt && !game.isGameOver()) {
+            game.tick();
+        }
+        
+        // The file is saved with a boss time the game has already passed
+        Tuning tuning = Tuning.parse(Arrays.asList("boss_time = " + bossTime));
+        assets.tuning.set(tuning);
+        game.tick();
+        for (int t = 0; t < tuning.bossSpawnDelay && game.getBoss() == null; t++) {
+            game.tick();
+        }
+        
+        if (game.getBoss() != null) {
+            System.out.println("boss_time " + bossTime + " reloaded at tick " + reloadAt + ": boss spawned at tick " + game.getGameTime() + ", OK");
+        } else {
+            System.out.println("boss_time " + bossTime + " reloaded at tick " + reloadAt + ": no boss by tick " + game.getGameTime() + ", FAILED");
+            System.exit(1);
+        }
+    }
+}
@@ -0,0 +1,83 @@
+import jdk.incubator.vector.FloatVector;
+import jdk.incubator.vector.IntVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+// SIMD integration backend
+// ScalarIntegrator's loops in vector lanes, bit for bit the same results.
+class VectorIntegrator implements Integrator {
+    private static final VectorSpecies<Float> FLOATS = FloatVector.SPECIES_PREFERRED;
+    private static final VectorSpecies<Integer> INTS = IntVector.SPECIES_PREFERRED; // Same lane count as FLOATS
+    
+    @Override
+    public void move(Archetype a) {
+        float[] x = a.x, y = a.y, vx = a.vx, vy = a.vy;
+        int[] age = a.age;
+        boolean[] asleep = a.asleep;
+        int bound = FLOATS.loopBound(a.count);
+        int i = 0;
+        for (; i < bound; i += FLOATS.length()) {
+            VectorMask<Float> awake = VectorMask.fromArray(FLOATS, asleep, i).not();
+            FloatVector.fromArray(FLOATS, x, i).add(FloatVector.fromArray(FLOATS, vx, i), awake).intoArray(x, i);
+            FloatVector.fromArray(FLOATS, y, i).add(FloatVector.fromArray(FLOATS, vy, i), awake).intoArray(y, i);
+            IntVector.fromArray(INTS, age, i).add(1, awake.cast(INTS)).intoArray(age, i);
+        }
+        for (; i < a.count; i++) {
+            if (asleep[i]) continue;
+            age[i]++;
+            x[i] += vx[i];
+            y[i] += vy[i];
+        }
+    }
+    
+    @Override
+    public void cull(Archetype a) {
+        float minX = a.minX, maxX = a.maxX, minY = a.minY, maxY = a.maxY; // Same int to float rounding as the scalar compares
+        int bound = FLOATS.loopBound(a.count);
+        int i = 0;
+        for (; i < bound; i += FLOATS.length()) {
+            FloatVector x = FloatVector.fromArray(FLOATS, a.x, i);
+            FloatVector y = FloatVector.fromArray(FLOATS, a.y, i);
+            VectorMask<Float> out = y.lt(minY).or(y.compare(VectorOperators.GT, maxY))
+                .or(x.lt(minX)).or(x.compare(VectorOperators.GT, maxX));
+            if (out.anyTrue()) {
+                VectorMask.fromArray(FLOATS, a.dead, i).or(out).intoArray(a.dead, i);
+            }
+        }
+        for (; i < a.count; i++) {
+            if (a.y[i] < a.minY || a.y[i] > a.maxY || a.x[i] < a.minX || a.x[i] > a.maxX) {
+                a.dead[i] = true;
+            }
+        }
+    }
+    
+    // Newest first like the scalar scan: the partial vector at the end, then whole vectors downwards
+    @Override
+    public int hit(Archetype a, float x, float y, int w, int h) {
+        int bound = FLOATS.loopBound(a.count);
+        for (int i = a.count - 1; i >= bound; i--) {
+            if (!a.dead[i] && !a.asleep[i] && x < a.x[i] + a.width[i] && x + w > a.x[i] && y < a.y[i] + a.height[i] && y + h > a.y[i]) {
+                return i;
+            }
+        }
+        float right = x + w;
+        float bottom = y + h;
+        for (int i = bound - FLOATS.length(); i >= 0; i -= FLOATS.length()) {
+            FloatVector ex = FloatVector.fromArray(FLOATS, a.x, i);
+            FloatVector ey = FloatVector.fromArray(FLOATS, a.y, i);
+            FloatVector ew = (FloatVector) IntVector.fromArray(INTS, a.width, i).convert(VectorOperators.I2F, 0);
+            FloatVector eh = (FloatVector) IntVector.fromArray(INTS, a.height, i).convert(VectorOperators.I2F, 0);
+            VectorMask<Float> overlap = ex.add(ew).compare(VectorOperators.GT, x)
+                .and(ex.lt(right))
+                .and(ey.add(eh).compare(VectorOperators.GT, y))
+                .and(ey.lt(bottom));
+            if (!overlap.anyTrue()) continue;
+            overlap = overlap.andNot(VectorMask.fromArray(FLOATS, a.dead, i)).andNot(VectorMask.fromArray(FLOATS, a.asleep, i));
+            if (overlap.anyTrue()) {
+                return i + overlap.lastTrue();
+            }
+        }
+        return -1;
+    }
+}
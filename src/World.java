@@ -0,0 +1,164 @@
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+// World class
+// One archetype per entity kind plus the systems that walk them.
+class World implements SheetListener {
+    static final Integrator INTEGRATOR = Integrator.select(); // Scalar or SIMD loops, picked once per JVM
+    
+    final Archetype rocks;
+    final Archetype enemies;
+    final Archetype subEnemies;
+    final Archetype bullets;
+    final Archetype enemyBullets;
+    final Archetype bossBullets;
+    final Archetype healthPowerUps;
+    final Archetype[] all;      // Fixed order, also the snapshot order
+    final Archetype[] hostiles; // Cost the player a life on contact, in collision order
+    final Archetype[] sleepers; // Can fall asleep far from the camera, bullets never live that long
+    final Archetype[] targets;  // Worth shooting, what the auto pilot lines its guns up with
+    
+    public World(Texture asteroidSheet, Texture enemySheet, Texture bulletSheet, Texture allSheet) {
+        int below = SpaceGame.WORLD_HEIGHT;
+        
+        // Rocks, kind is the level: 1 = small, 2 = medium, 3 = big
+        rocks = new Archetype(16, Integer.MIN_VALUE, below + 100,
+            null,
+            new SpriteLayout(asteroidSheet, SpaceGame.ROCK_SCALE, Color.GRAY,
+                0, 0, 32, 16),
+            new SpriteLayout(asteroidSheet, SpaceGame.ROCK_SCALE, Color.GRAY,
+                0, 0, 16, 32,   1, 0, 32, 32,
+                0, 1, 16, 48,   1, 1, 32, 48),
+            new SpriteLayout(asteroidSheet, SpaceGame.ROCK_SCALE, Color.GRAY,
+                0, 0, 0, 64,    1, 0, 16, 64,   2, 0, 32, 64,
+                0, 1, 0, 80,    1, 1, 16, 80,   2, 1, 32, 80,
+                0, 2, 0, 96,    1, 2, 16, 96,   2, 2, 32, 96));
+        
+        // Enemies, how they weave is their path. Kind 1 is the endless mode mini-boss, the same
+        // ship drawn bigger
+        enemies = new Archetype(16, Integer.MIN_VALUE, below + 100,
+            new SpriteLayout(enemySheet, 2, Color.RED,
+                0, 0, 192, 112,   1, 0, 208, 112,
+                0, 1, 192, 128,   1, 1, 208, 128),
+            new SpriteLayout(enemySheet, 3, Color.MAGENTA,
+                0, 0, 192, 112,   1, 0, 208, 112,
+                0, 1, 192, 128,   1, 1, 208, 128));
+        
+        subEnemies = new Archetype(8, Integer.MIN_VALUE, below + 100,
+            new SpriteLayout(enemySheet, 2, Color.YELLOW,
+                0, 0, 208, 224,   1, 0, 224, 224));
+        
+        bullets = new Archetype(64, -50, Integer.MAX_VALUE,
+            new SpriteLayout(bulletSheet, 1, Color.YELLOW, 0, 0, 176, 112));
+        
+        enemyBullets = new Archetype(32, Integer.MIN_VALUE, below + 50,
+            new SpriteLayout(bulletSheet, 1, Color.RED, 0, 0, 176, 144));
+        
+        // Boss bullets, kind picks one of 6 sprites. Patterns fire in every direction, so they
+        // are culled on all four sides
+        bossBullets = new Archetype(1024, -50, SpaceGame.WORLD_WIDTH + 50, -50, below + 50,
+            new SpriteLayout(bulletSheet, 1, Color.ORANGE, 0, 0, 176, 16),
+            new SpriteLayout(bulletSheet, 1, Color.ORANGE, 0, 0, 176, 48),
+            new SpriteLayout(bulletSheet, 1, Color.ORANGE, 0, 0, 176, 176),
+            new SpriteLayout(bulletSheet, 1, Color.ORANGE, 0, 0, 48, 16),
+            new SpriteLayout(bulletSheet, 1, Color.ORANGE, 0, 0, 48, 48),
+            new SpriteLayout(bulletSheet, 1, Color.ORANGE, 0, 0, 48, 176));
+        
+        healthPowerUps = new Archetype(4, Integer.MIN_VALUE, below + 50,
+            new SpriteLayout(allSheet, 2, Color.GREEN, 0, 0, 64, 112));
+        
+        all = new Archetype[] {rocks, enemies, subEnemies, bullets, enemyBullets, bossBullets, healthPowerUps};
+        hostiles = new Archetype[] {subEnemies, enemies, rocks, enemyBullets, bossBullets};
+        sleepers = new Archetype[] {rocks, enemies, subEnemies, healthPowerUps};
+        targets = new Archetype[] {enemies, subEnemies, rocks};
+    }
+    
+    // Watcher thread: recut only the layouts taken from the changed sheet
+    @Override
+    public Runnable sheetChanged(Texture texture, BufferedImage image) {
+        List<SpriteLayout> changed = new ArrayList<>();
+        List<BufferedImage[]> tiles = new ArrayList<>();
+        for (Archetype a : all) {
+            for (SpriteLayout layout : a.layouts) {
+                if (layout != null && layout.sheet == texture) {
+                    changed.add(layout);
+                    tiles.add(layout.cut(image));
+                }
+            }
+        }
+        if (changed.isEmpty()) return null;
+        return () -> {
+            for (int i = 0; i < changed.size(); i++) {
+                changed.get(i).images = tiles.get(i);
+            }
+        };
+    }
+    
+    // Sleep system: entities far outside the camera stop moving and colliding until it comes
+    // near again. Worked out fresh each tick from positions alone, so waking up is free and
+    // a rolled back or restored game gets the same flags without storing them
+    public void sleep(Camera camera) {
+        for (Archetype a : sleepers) {
+            float[] x = a.x, y = a.y;
+            int[] width = a.width, height = a.height;
+            boolean[] asleep = a.asleep;
+            for (int i = 0; i < a.count; i++) {
+                asleep[i] = !camera.awake(x[i], y[i], width[i], height[i]);
+            }
+        }
+    }
+    
+    // Movement system: straight-line integration, dead entries move too, sleeping ones don't
+    public void move(Archetype a) {
+        INTEGRATOR.move(a);
+    }
+    
+    // Lifetime system: kill whatever left its archetype's box
+    public void cull() {
+        for (Archetype a : all) {
+            INTEGRATOR.cull(a);
+        }
+    }
+    
+    public void compact() {
+        for (Archetype a : all) {
+            a.compact();
+        }
+    }
+    
+    public void clear() {
+        for (Archetype a : all) {
+            a.clear();
+        }
+    }
+    
+    // Collision system: newest live, awake entity overlapping the box, or -1
+    public static int hit(Archetype a, float x, float y, int w, int h) {
+        return INTEGRATOR.hit(a, x, y, w, h);
+    }
+    
+    // Rendering system, in world coordinates (the caller translates by the camera), skipping
+    // whatever is outside the view
+    public void draw(Graphics2D g, Archetype a, Camera camera) {
+        for (int i = 0; i < a.count; i++) {
+            if (!a.dead[i] && camera.visible(a.x[i], a.y[i], a.width[i], a.height[i])) {
+                a.layouts[a.kind[i]].draw(g, (int)a.x[i], (int)a.y[i]);
+            }
+        }
+    }
+    
+    public void write(ByteBuffer buf) {
+        for (Archetype a : all) {
+            a.write(buf);
+        }
+    }
+    
+    public void read(ByteBuffer buf) {
+        for (Archetype a : all) {
+            a.read(buf);
+        }
+    }
+}